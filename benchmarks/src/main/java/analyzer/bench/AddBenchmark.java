@@ -0,0 +1,53 @@
+package analyzer.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import analyzer.SearchableCollection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Measures filling an empty structure with size keys (one op = the whole fill)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AddBenchmark {
+    // The unbalanced BST is measured by UnbalancedBstBenchmark, at sizes where presorted keys finish
+    @Param({"UNSORTED_ARRAY", "UNSORTED_LINKED_LIST", "SORTED_ARRAY", "SORTED_LINKED_LIST",
+            "BST_AVL", "BST_RED_BLACK", "BST_TREAP"})
+    public StructureKind structure;
+
+    @Param({"512", "4096", "65536", "1048576", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "SORTED", "REVERSED", "FEW_UNIQUE"})
+    public KeyDistribution distribution;
+
+    private Integer[] keys;  // Keys to insert, boxed during setup
+
+    @Setup
+    public void setUp() {
+        keys = distribution.generateBoxed(size, 42);
+    }
+
+    @Benchmark
+    public Object add() {
+        SearchableCollection<Integer> target = structure.create(size);
+        for (Integer key : keys) {
+            target.add(key);
+        }
+        return target;  // Returned so the JIT cannot eliminate the fill
+    }
+}
@@ -0,0 +1,68 @@
+package analyzer.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import analyzer.SearchResult;
+import analyzer.SearchableCollection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost per key of searchAll on a batch of keys against the same keys searched one at a time
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BatchSearchBenchmark {
+    private static final int BATCH = 4096;  // Keys per batch
+
+    @Param({"UNSORTED_ARRAY", "SORTED_ARRAY", "SORTED_LINKED_LIST", "BST_RED_BLACK"})
+    public StructureKind structure;
+
+    @Param({"65536", "1048576"})
+    public int size;
+
+    private SearchableCollection<Integer> target;  // Structure under test
+    private Integer[] probes;  // Search keys, roughly half hits and half misses
+
+    @Setup
+    public void setUp() {
+        target = structure.build(KeyDistribution.UNIFORM.generateBoxed(size, 42));
+        int[] raw = KeyDistribution.UNIFORM.generate(BATCH, 7);
+        probes = new Integer[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            probes[i] = (int) ((long) raw[i] * 2 * size / BATCH);
+        }
+        target.searchAll(probes);  // Builds any index searchAll keeps between batches
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public SearchResult searchAll() {
+        return target.searchAll(probes);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int searchEach() {
+        int found = 0;
+        for (Integer probe : probes) {
+            if (target.search(probe)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
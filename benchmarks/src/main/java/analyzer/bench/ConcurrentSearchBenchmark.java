@@ -0,0 +1,49 @@
+package analyzer.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import analyzer.SearchableCollection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Lookup throughput of the thread-safe structures shared by every benchmark thread.
+// Run with -t 1, 2, 4, ... (or -t max) to see how throughput scales with the thread count
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConcurrentSearchBenchmark {
+    @Param({"CONCURRENT_SORTED_ARRAY", "CONCURRENT_SORTED_LINKED_LIST", "CONCURRENT_SKIP_LIST"})
+    public StructureKind structure;
+
+    @Param({"4096", "65536"})
+    public int size;
+
+    private SearchableCollection<Integer> target;  // Structure shared by all threads
+
+    @Setup
+    public void setUp() {
+        target = structure.build(KeyDistribution.UNIFORM.generateBoxed(size, 42));
+    }
+
+    // Search a random key over twice the key range, so about half of the lookups miss
+    @Benchmark
+    public boolean search() {
+        return target.search(ThreadLocalRandom.current().nextInt(2 * size));
+    }
+}
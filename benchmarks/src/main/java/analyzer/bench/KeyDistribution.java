@@ -0,0 +1,50 @@
+package analyzer.bench;
+
+import analyzer.generator.Distribution;
+import analyzer.generator.KeyGenerator;
+
+// Key distributions used to fill the structures under test. Each one is a setting of the
+// shared core KeyGenerator, so the benchmarks, the GUI and the workload runner draw their keys
+// from the same generators
+public enum KeyDistribution {
+    // Uniformly random keys in [0, n), the general case
+    UNIFORM(Distribution.UNIFORM, 0),
+    // Ascending keys, the worst case for an unbalanced BST
+    SORTED(Distribution.SORTED, 0),
+    // Descending keys
+    REVERSED(Distribution.REVERSE_SORTED, 0),
+    // Random keys in [0, 1000), the same data the GUI generates (many duplicates)
+    FEW_UNIQUE(Distribution.UNIFORM, 1000),
+    // A few hot keys and a long cold tail
+    ZIPFIAN(Distribution.ZIPFIAN, 0),
+    // Keys clustered around the middle of [0, n)
+    NORMAL(Distribution.NORMAL, 0),
+    // Ascending with one key in a hundred swapped out of place
+    NEARLY_SORTED(Distribution.NEARLY_SORTED, 0),
+    // Ascending runs of sqrt(n) keys
+    SAWTOOTH(Distribution.SAWTOOTH, 0),
+    // One key repeated n times
+    DUPLICATES(Distribution.DUPLICATES, 0);
+
+    private final Distribution distribution;  // Shape of the keys
+    private final int keyRange;  // Keys fall in [0, keyRange), or [0, n) when 0
+
+    KeyDistribution(Distribution distribution, int keyRange) {
+        this.distribution = distribution;
+        this.keyRange = keyRange;
+    }
+
+    // Generate n keys; the same seed always produces the same keys
+    int[] generate(int n, long seed) {
+        return generator(seed).generate(n);
+    }
+
+    // Generate n keys boxed up front, so boxing is not part of the measured operation
+    Integer[] generateBoxed(int n, long seed) {
+        return generator(seed).generateBoxed(n);
+    }
+
+    private KeyGenerator generator(long seed) {
+        return new KeyGenerator(distribution).setKeyRange(keyRange).setSeed(seed);
+    }
+}
@@ -0,0 +1,59 @@
+package analyzer.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import analyzer.SearchableCollection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Measures a single search against a prebuilt (and, where applicable, sorted) structure
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SearchBenchmark {
+    private static final int PROBES = 4096;  // Number of distinct search keys cycled through (power of two)
+
+    // The unbalanced BST is measured by UnbalancedBstBenchmark, at sizes where presorted keys finish
+    @Param({"UNSORTED_ARRAY", "UNSORTED_LINKED_LIST", "SORTED_ARRAY", "SORTED_LINKED_LIST",
+            "BST_AVL", "BST_RED_BLACK", "BST_TREAP"})
+    public StructureKind structure;
+
+    @Param({"512", "4096", "65536", "1048576", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "SORTED", "REVERSED", "FEW_UNIQUE", "ZIPFIAN", "NORMAL"})
+    public KeyDistribution distribution;
+
+    private SearchableCollection<Integer> target;  // Structure under test
+    private Integer[] probes;  // Search keys, roughly half hits and half misses
+    private int cursor;  // Index of the next probe
+
+    @Setup
+    public void setUp() {
+        target = structure.build(distribution.generateBoxed(size, 42));
+        // Uniform probes over twice the key range so about half of them miss
+        int[] raw = KeyDistribution.UNIFORM.generate(PROBES, 7);
+        probes = new Integer[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = (int) ((long) raw[i] * 2 * size / PROBES);
+        }
+    }
+
+    @Benchmark
+    public boolean search() {
+        return target.search(probes[cursor++ & (PROBES - 1)]);
+    }
+}
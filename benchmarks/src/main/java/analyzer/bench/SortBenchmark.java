@@ -0,0 +1,65 @@
+package analyzer.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import analyzer.SortableCollection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Measures sort() and parallelSort() on a freshly filled structure (one op = one full sort)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SortBenchmark {
+    // Only the sorted structures have a sort step
+    @Param({"SORTED_ARRAY", "SORTED_LINKED_LIST"})
+    public StructureKind structure;
+
+    @Param({"512", "4096", "65536", "1048576", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "SORTED", "REVERSED", "FEW_UNIQUE", "NEARLY_SORTED", "SAWTOOTH"})
+    public KeyDistribution distribution;
+
+    private Integer[] keys;  // Keys to insert, boxed once per trial
+    private SortableCollection<Integer> target;  // Unsorted structure rebuilt before every sort
+
+    @Setup(Level.Trial)
+    public void generateKeys() {
+        keys = distribution.generateBoxed(size, 42);
+    }
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        target = (SortableCollection<Integer>) structure.create(size);
+        for (Integer key : keys) {
+            target.add(key);
+        }
+    }
+
+    @Benchmark
+    public Object sort() {
+        target.sort();
+        return target;
+    }
+
+    @Benchmark
+    public Object parallelSort() {
+        target.parallelSort();
+        return target;
+    }
+}
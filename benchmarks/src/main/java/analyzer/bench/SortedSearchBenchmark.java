@@ -0,0 +1,82 @@
+package analyzer.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import analyzer.IntSortedArray;
+import analyzer.SearchStrategy;
+import analyzer.SortedArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Compares the SearchStrategy variants of SortedArray (boxed keys) and IntSortedArray (primitive keys)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SortedSearchBenchmark {
+    private static final int PROBES = 4096;  // Number of distinct search keys cycled through (power of two)
+
+    @Param({"BINARY", "BRANCHLESS", "EYTZINGER", "BLOCKED", "INTERPOLATION"})
+    public SearchStrategy strategy;
+
+    @Param({"4096", "1048576", "10000000"})
+    public int size;
+
+    @Param({"UNIFORM", "FEW_UNIQUE"})
+    public KeyDistribution distribution;
+
+    private SortedArray<Integer> boxed;  // Generic array under test
+    private IntSortedArray primitive;  // int array under test
+    private Integer[] boxedProbes;  // Search keys, roughly half hits and half misses
+    private int[] probes;  // The same keys unboxed
+    private int cursor;  // Index of the next probe
+
+    @Setup
+    public void setUp() {
+        int[] keys = distribution.generate(size, 42);
+        boxed = new SortedArray<>(size);
+        primitive = new IntSortedArray(size);
+        for (int key : keys) {
+            boxed.add(key);
+        }
+        primitive.addAll(keys);
+        boxed.sort();
+        primitive.sort();
+        boxed.setSearchStrategy(strategy);
+        primitive.setSearchStrategy(strategy);
+
+        // Uniform probes over twice the key range so about half of them miss
+        int[] raw = KeyDistribution.UNIFORM.generate(PROBES, 7);
+        probes = new int[PROBES];
+        boxedProbes = new Integer[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = (int) ((long) raw[i] * 2 * size / PROBES);
+            boxedProbes[i] = probes[i];
+        }
+        // Build the layouts outside the measurement
+        boxed.search(boxedProbes[0]);
+        primitive.search(probes[0]);
+    }
+
+    @Benchmark
+    public boolean searchBoxed() {
+        return boxed.search(boxedProbes[cursor++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public boolean searchPrimitive() {
+        return primitive.search(probes[cursor++ & (PROBES - 1)]);
+    }
+}
@@ -0,0 +1,99 @@
+package analyzer.bench;
+
+import analyzer.BST;
+import analyzer.BST.Balance;
+import analyzer.ConcurrentSkipList;
+import analyzer.ConcurrentSortedArray;
+import analyzer.ConcurrentSortedLinkedList;
+import analyzer.SearchableCollection;
+import analyzer.SortableCollection;
+import analyzer.SortedArray;
+import analyzer.SortedLinkedList;
+import analyzer.UnsortedArray;
+import analyzer.UnsortedLinkedList;
+
+// The structures under test (the five from the GUI, the balanced BST modes and the concurrent variants)
+public enum StructureKind {
+    UNSORTED_ARRAY {
+        @Override
+        SearchableCollection<Integer> create(int capacity) {
+            return new UnsortedArray<>(capacity);
+        }
+    },
+    UNSORTED_LINKED_LIST {
+        @Override
+        SearchableCollection<Integer> create(int capacity) {
+            return new UnsortedLinkedList<>();
+        }
+    },
+    SORTED_ARRAY {
+        @Override
+        SearchableCollection<Integer> create(int capacity) {
+            return new SortedArray<>(capacity);
+        }
+    },
+    SORTED_LINKED_LIST {
+        @Override
+        SearchableCollection<Integer> create(int capacity) {
+            return new SortedLinkedList<>();
+        }
+    },
+    BST {
+        @Override
+        SearchableCollection<Integer> create(int capacity) {
+            return new BST<>();
+        }
+    },
+    BST_AVL {
+        @Override
+        SearchableCollection<Integer> create(int capacity) {
+            return new BST<>(Balance.AVL);
+        }
+    },
+    BST_RED_BLACK {
+        @Override
+        SearchableCollection<Integer> create(int capacity) {
+            return new BST<>(Balance.RED_BLACK);
+        }
+    },
+    BST_TREAP {
+        @Override
+        SearchableCollection<Integer> create(int capacity) {
+            return new BST<>(Balance.TREAP);
+        }
+    },
+    // Thread-safe variants, used by ConcurrentSearchBenchmark
+    CONCURRENT_SORTED_ARRAY {
+        @Override
+        SearchableCollection<Integer> create(int capacity) {
+            return new ConcurrentSortedArray<>(capacity);
+        }
+    },
+    CONCURRENT_SORTED_LINKED_LIST {
+        @Override
+        SearchableCollection<Integer> create(int capacity) {
+            return new ConcurrentSortedLinkedList<>();
+        }
+    },
+    CONCURRENT_SKIP_LIST {
+        @Override
+        SearchableCollection<Integer> create(int capacity) {
+            return new ConcurrentSkipList<>();
+        }
+    };
+
+    // Create an empty structure able to hold at least capacity elements
+    abstract SearchableCollection<Integer> create(int capacity);
+
+    // Create a structure holding the given keys, sorted when the structure supports it
+    SearchableCollection<Integer> build(Integer[] keys) {
+        SearchableCollection<Integer> structure = create(keys.length);
+        for (Integer key : keys) {
+            structure.add(key);
+        }
+        if (structure instanceof SortableCollection<Integer> sortable) {
+            sortable.sort();
+        }
+        return structure;
+    }
+}
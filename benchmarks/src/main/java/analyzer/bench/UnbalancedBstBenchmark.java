@@ -0,0 +1,70 @@
+package analyzer.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import analyzer.SearchableCollection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Add and search for the unbalanced BST (Balance.NONE), kept out of AddBenchmark and
+// SearchBenchmark: sorted or reversed keys degenerate it into a linked list, so a fill costs
+// O(n^2) comparisons and the larger sizes of those benchmarks would never finish. Sizes stop
+// at 65536 here, which still shows the degenerate case next to the balanced modes
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class UnbalancedBstBenchmark {
+    private static final int PROBES = 4096;  // Number of distinct search keys cycled through (power of two)
+
+    @Param({"512", "4096", "65536"})
+    public int size;
+
+    @Param({"UNIFORM", "SORTED", "REVERSED", "FEW_UNIQUE", "ZIPFIAN", "NORMAL"})
+    public KeyDistribution distribution;
+
+    private Integer[] keys;  // Keys to insert, boxed during setup
+    private SearchableCollection<Integer> target;  // Tree holding keys, for search
+    private Integer[] probes;  // Search keys, roughly half hits and half misses
+    private int cursor;  // Index of the next probe
+
+    @Setup
+    public void setUp() {
+        keys = distribution.generateBoxed(size, 42);
+        target = StructureKind.BST.build(keys);
+        // Uniform probes over twice the key range so about half of them miss
+        int[] raw = KeyDistribution.UNIFORM.generate(PROBES, 7);
+        probes = new Integer[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = (int) ((long) raw[i] * 2 * size / PROBES);
+        }
+    }
+
+    // Fill an empty tree with size keys (one op = the whole fill), as AddBenchmark.add
+    @Benchmark
+    public Object add() {
+        SearchableCollection<Integer> tree = StructureKind.BST.create(size);
+        for (Integer key : keys) {
+            tree.add(key);
+        }
+        return tree;  // Returned so the JIT cannot eliminate the fill
+    }
+
+    // A single search, as SearchBenchmark.search
+    @Benchmark
+    public boolean search() {
+        return target.search(probes[cursor++ & (PROBES - 1)]);
+    }
+}
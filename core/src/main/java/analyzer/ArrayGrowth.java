@@ -0,0 +1,27 @@
+package analyzer;
+
+// Capacity arithmetic shared by the growable array structures
+final class ArrayGrowth {
+    static final double DEFAULT_GROWTH_FACTOR = 1.5;  // Grow by half again when full
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;  // Largest array length the JVM reliably allows
+
+    private ArrayGrowth() {
+    }
+
+    // Reject growth factors that would not actually grow the array
+    static void checkGrowthFactor(double growthFactor) {
+        if (!(growthFactor > 1.0)) {
+            throw new IllegalArgumentException("Growth factor must be greater than 1: " + growthFactor);
+        }
+    }
+
+    // Capacity to grow to: the current capacity times the growth factor (at least one more slot),
+    // or minCapacity if that is larger. Geometric growth keeps add amortized O(1)
+    static int newCapacity(int currentCapacity, int minCapacity, double growthFactor) {
+        if (minCapacity < 0 || minCapacity > MAX_ARRAY_LENGTH) {
+            throw new OutOfMemoryError("Required array length too large: " + Integer.toUnsignedString(minCapacity));
+        }
+        long grown = Math.max((long) Math.ceil(currentCapacity * growthFactor), currentCapacity + 1L);
+        return (int) Math.min(Math.max(grown, minCapacity), MAX_ARRAY_LENGTH);
+    }
+}
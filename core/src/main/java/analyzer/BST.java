@@ -0,0 +1,1105 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Binary search tree. Every operation walks the tree with a loop and an explicit path
+// stack instead of recursion, so even a degenerate tree of millions of nodes cannot
+// overflow the thread stack
+public class BST<T extends Comparable<T>> implements OrderedCollection<T>, Iterable<T> {
+    private static final int SEARCH_LANES = 16;  // Keys searchAll walks down the tree at the same time
+    private static final int HAS_LEFT = 1, HAS_RIGHT = 2, RED = 4;  // Bits of a node's flag byte in a snapshot
+    private static final int BUILD_THRESHOLD = 1 << 16;  // Subtrees at most this large are built by one task
+
+    // How the tree keeps itself balanced as values are added
+    public enum Balance {
+        NONE,       // Plain BST: sorted input degenerates into a linked list
+        AVL,        // AVL tree: subtree heights differ by at most one
+        RED_BLACK,  // Red-black tree: no red node has a red child, equal black height on every path
+        TREAP       // Treap: BST on values, max-heap on random priorities
+    }
+
+    // Inner class for representing a node in the Binary Search Tree (BST)
+    public class Node {
+        T value;   // Value stored in the node
+        Node left, right;  // References to left and right child nodes
+        int height;  // Height of the subtree rooted at this node (1 for a leaf), kept up to date on every change
+        int count;  // Number of nodes in the subtree rooted at this node, kept up to date with the height
+        boolean red;  // Node color, only meaningful in RED_BLACK mode
+        int priority;  // Heap priority, only meaningful in TREAP mode
+
+        // Constructor to initialize a new node with a given value
+        Node(T value) {
+            this.value = value;
+            left = right = null; // Initially, the node has no children
+            height = 1;  // A single node is a subtree of height 1
+            count = 1;
+            red = true;  // New red-black nodes start red
+            priority = balance == Balance.TREAP ? random.nextInt() : 0;
+        }
+
+        // Constructor for a node of a tree built from sorted values, whose height, subtree size
+        // and color are already known (the priority is set afterwards, see assignPriorities)
+        Node(T value, int height, int count, boolean red) {
+            this.value = value;
+            this.height = height;
+            this.count = count;
+            this.red = red;
+        }
+
+        // Getter for the value stored in the node
+        public T getValue() {
+            return value;
+        }
+
+        // Getter for the left child (null if there is none)
+        public Node getLeft() {
+            return left;
+        }
+
+        // Getter for the right child (null if there is none)
+        public Node getRight() {
+            return right;
+        }
+
+        // Getter for the cached height of the subtree rooted at this node
+        public int getHeight() {
+            return height;
+        }
+
+        // Whether the node is red (always false outside RED_BLACK mode)
+        public boolean isRed() {
+            return balance == Balance.RED_BLACK && red;
+        }
+    }
+
+    private Node root;  // Root node of the BST
+    private int comparisons;  // Counter for comparisons during search operations
+    private final Balance balance;  // Balancing scheme chosen at construction
+    private final Random random;  // Source of treap priorities
+    private int size;  // Number of values in the tree
+    private int modCount;  // Structural modification count, lets iterators fail fast
+    private Node[] path;  // Nodes from the root down to the current position, reused by add and delete
+    private int pathSize;  // Number of nodes on the path
+    private boolean[] wentLeft;  // wentLeft[i]: whether add went to the left child of path[i]
+    private final Metrics metrics;  // Operation counters, see Metrics
+    private BloomFilter filter;  // Membership filter checked before every search while filtering is on, else null
+    private double filterFalsePositiveRate = BloomFilter.DEFAULT_FALSE_POSITIVE_RATE;  // Rate the filter is sized for
+
+    // Constructor to initialize an empty, unbalanced BST
+    public BST() {
+        this(Balance.NONE);
+    }
+
+    // Constructor to initialize an empty BST that balances itself with the given scheme
+    public BST(Balance balance) {
+        root = null;  // Initially, the tree is empty (no root node)
+        comparisons = 0;  // No comparisons have been made yet
+        this.balance = balance;
+        random = new Random();
+        size = 0;
+        path = newPath(64);  // Enough for any balanced tree; grows for degenerate ones
+        pathSize = 0;
+        wentLeft = new boolean[path.length];
+        metrics = new Metrics("BST " + balance, false, this::size, this::footprintBytes, this::depthHistogram);
+    }
+
+    // Get the balancing scheme of this tree
+    public Balance getBalance() {
+        return balance;
+    }
+
+    // Get the root node of the tree (null if the tree is empty)
+    public Node getRoot() {
+        return root;
+    }
+
+    // Get the number of values in the tree
+    public int size() {
+        return size;
+    }
+
+    // Method to add a value to the tree (duplicates are ignored)
+    @Override
+    public void add(T value) {
+        long start = metrics.start();
+        // Walk down to the empty spot for the value, remembering the path and the direction
+        // taken at each node; one compareTo per level
+        pathSize = 0;
+        Node node = root;
+        int cost = 0;  // Comparisons made by this add
+        while (node != null) {
+            cost++;
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) {
+                metrics.record(Metrics.Operation.ADD, 1, cost, start);
+                return;  // Value already present, the tree is unchanged
+            }
+            pushPath(node);
+            if (wentLeft.length < path.length) {
+                wentLeft = Arrays.copyOf(wentLeft, path.length);
+            }
+            wentLeft[pathSize - 1] = cmp < 0;
+            node = cmp < 0 ? node.left : node.right;  // Go left if value is smaller, right if larger
+        }
+
+        Node child = new Node(value);  // Create a new node in the empty spot
+        size++;
+        modCount++;
+
+        // Walk back up the path: link the child in on the side recorded on the way down (rebalancing
+        // only rearranges the subtree below parent, so the side is unchanged), then restore the
+        // balance invariant at each ancestor
+        for (int i = pathSize - 1; i >= 0; i--) {
+            Node parent = path[i];
+            if (wentLeft[i]) {
+                parent.left = child;
+            } else {
+                parent.right = child;
+            }
+            child = rebalance(parent);
+        }
+        root = child;
+        root.red = false;  // The root of a red-black tree is always black
+        clearPath();
+        filterAdd(value);  // After linking, so a rebuild iterates over the new value too
+        metrics.record(Metrics.Operation.ADD, 1, cost, start);
+    }
+
+    // Method to remove a value from the tree; returns true if the value was present
+    public boolean delete(T value) {
+        long start = metrics.start();
+        // Find the node holding the value, remembering the path to its parent
+        pathSize = 0;
+        Node node = root;
+        int cost = 0;  // Comparisons made by this delete
+        while (node != null) {
+            cost++;
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) {
+                break;
+            }
+            pushPath(node);
+            node = cmp < 0 ? node.left : node.right;
+        }
+        if (node == null) {
+            clearPath();
+            metrics.record(Metrics.Operation.DELETE, 1, cost, start);
+            return false;  // Value not in the tree
+        }
+
+        // A node with two children takes its in-order successor's value, and the successor
+        // (which has no left child) is unlinked instead
+        Node removed = node;
+        if (node.left != null && node.right != null) {
+            pushPath(node);
+            removed = node.right;
+            while (removed.left != null) {
+                pushPath(removed);
+                removed = removed.left;
+            }
+            node.value = removed.value;
+        }
+
+        // Splice the removed node out, replacing it with its only child (possibly null)
+        Node child = removed.left != null ? removed.left : removed.right;
+        boolean removedLeft = pathSize > 0 && path[pathSize - 1].left == removed;
+        replaceChild(pathSize - 1, removed, child);
+        size--;
+        modCount++;
+
+        if (balance == Balance.RED_BLACK) {
+            if (!removed.red) {
+                fixDoubleBlack(child, removedLeft);
+            }
+            for (int i = pathSize - 1; i >= 0; i--) {
+                updateHeight(path[i]);
+            }
+            if (root != null) {
+                root.red = false;
+            }
+        } else {
+            // Recompute heights on the way up; AVL rotates where a subtree became too short
+            for (int i = pathSize - 1; i >= 0; i--) {
+                Node parent = path[i];
+                Node subtree = rebalance(parent);
+                if (subtree != parent) {
+                    replaceChild(i - 1, parent, subtree);
+                }
+            }
+        }
+        clearPath();
+        metrics.record(Metrics.Operation.DELETE, 1, cost, start);
+        return true;
+    }
+
+    // Red-black delete fix-up. A black node was removed from under path[pathSize - 1], so the
+    // subtree now in its place (the "double black" node, possibly null) is one black node
+    // short. Recolor or rotate around its sibling until the deficit is absorbed; each rotation
+    // inserts the sibling into the path so it stays a chain from the root
+    private void fixDoubleBlack(Node doubleBlack, boolean isLeft) {
+        int i = pathSize - 1;
+        while (i >= 0 && !isRed(doubleBlack)) {
+            Node parent = path[i];
+            Node sibling = isLeft ? parent.right : parent.left;
+
+            if (sibling.red) {
+                // Red sibling: rotate it above the parent so the new sibling is black
+                Node top = isLeft ? rotateLeft(parent) : rotateRight(parent);
+                top.red = false;
+                parent.red = true;
+                replaceChild(i - 1, parent, top);
+                insertPath(i, top);
+                i++;  // The parent moved one level down the path
+                continue;
+            }
+
+            Node near = isLeft ? sibling.left : sibling.right;  // Sibling's child closest to the double black node
+            Node far = isLeft ? sibling.right : sibling.left;  // Sibling's child furthest from it
+            if (!isRed(near) && !isRed(far)) {
+                // Both nephews black: make the sibling red and push the deficit up to the parent
+                sibling.red = true;
+                doubleBlack = parent;
+                i--;
+                if (i >= 0) {
+                    isLeft = path[i].left == parent;
+                }
+                continue;
+            }
+
+            if (!isRed(far)) {
+                // Only the near nephew is red: rotate it into the sibling's place
+                sibling = isLeft ? rotateRight(sibling) : rotateLeft(sibling);
+                if (isLeft) {
+                    parent.right = sibling;
+                } else {
+                    parent.left = sibling;
+                }
+                sibling.red = false;
+                far = isLeft ? sibling.right : sibling.left;
+                far.red = true;
+            }
+
+            // Far nephew red: rotate the sibling above the parent, which ends the fix-up
+            Node top = isLeft ? rotateLeft(parent) : rotateRight(parent);
+            top.red = parent.red;
+            parent.red = false;
+            far.red = false;
+            replaceChild(i - 1, parent, top);
+            insertPath(i, top);
+            return;
+        }
+        if (doubleBlack != null) {
+            doubleBlack.red = false;  // A red node absorbs the extra black
+        }
+    }
+
+    // Point path[parentIndex]'s link at oldChild to newChild (or the root if parentIndex is -1)
+    private void replaceChild(int parentIndex, Node oldChild, Node newChild) {
+        if (parentIndex < 0) {
+            root = newChild;
+        } else if (path[parentIndex].left == oldChild) {
+            path[parentIndex].left = newChild;
+        } else {
+            path[parentIndex].right = newChild;
+        }
+    }
+
+    // Append a node to the path, growing the path array if needed
+    private void pushPath(Node node) {
+        if (pathSize == path.length) {
+            path = Arrays.copyOf(path, pathSize * 2);
+        }
+        path[pathSize++] = node;
+    }
+
+    // Insert a node into the path at the given index, shifting the rest down one place
+    private void insertPath(int index, Node node) {
+        if (pathSize == path.length) {
+            path = Arrays.copyOf(path, pathSize * 2);
+        }
+        System.arraycopy(path, index, path, index + 1, pathSize - index);
+        path[index] = node;
+        pathSize++;
+    }
+
+    // Drop the references held by the path so removed nodes can be collected
+    private void clearPath() {
+        Arrays.fill(path, 0, pathSize, null);
+        pathSize = 0;
+    }
+
+    // Allocate a path array (generic arrays of the inner Node class need a cast)
+    @SuppressWarnings("unchecked")
+    private Node[] newPath(int capacity) {
+        return (Node[]) new BST<?>.Node[capacity];
+    }
+
+    // Fix up a node whose subtree just changed and return the (possibly new) subtree root
+    private Node rebalance(Node node) {
+        switch (balance) {
+            case AVL:
+                return rebalanceAvl(node);
+            case RED_BLACK:
+                return rebalanceRedBlack(node);
+            case TREAP:
+                return rebalanceTreap(node);
+            default:
+                updateHeight(node);
+                return node;
+        }
+    }
+
+    // AVL: rotate when one subtree is two levels taller than the other
+    private Node rebalanceAvl(Node node) {
+        updateHeight(node);
+        int balanceFactor = heightOf(node.left) - heightOf(node.right);
+        if (balanceFactor > 1) {
+            // Left-heavy; a left-right shape needs an extra rotation first
+            if (heightOf(node.left.left) < heightOf(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balanceFactor < -1) {
+            // Right-heavy; a right-left shape needs an extra rotation first
+            if (heightOf(node.right.right) < heightOf(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    // Red-black: a black node with a red child that itself has a red child is restructured
+    // so the middle of the three values becomes a red parent of two black nodes. A red
+    // subtree root can then only clash with its parent, which is fixed one level further up
+    private Node rebalanceRedBlack(Node node) {
+        Node result = node;
+        if (!node.red) {
+            if (isRed(node.left) && isRed(node.left.left)) {
+                result = rotateRight(node);
+            } else if (isRed(node.left) && isRed(node.left.right)) {
+                node.left = rotateLeft(node.left);
+                result = rotateRight(node);
+            } else if (isRed(node.right) && isRed(node.right.left)) {
+                node.right = rotateRight(node.right);
+                result = rotateLeft(node);
+            } else if (isRed(node.right) && isRed(node.right.right)) {
+                result = rotateLeft(node);
+            }
+        }
+        if (result != node) {
+            result.red = true;
+            result.left.red = false;
+            result.right.red = false;
+        } else {
+            updateHeight(node);
+        }
+        return result;
+    }
+
+    // Treap: rotate a child above its parent while it has the higher priority
+    private Node rebalanceTreap(Node node) {
+        if (node.left != null && node.left.priority > node.priority) {
+            return rotateRight(node);
+        }
+        if (node.right != null && node.right.priority > node.priority) {
+            return rotateLeft(node);
+        }
+        updateHeight(node);
+        return node;
+    }
+
+    // Rotate the left child up into the node's place and return it
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    // Rotate the right child up into the node's place and return it
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    // Recompute a node's cached height and subtree size from its children. Every change to the
+    // tree (links on the add and delete paths, rotations, loading) ends with this call on each
+    // node whose subtree changed, so both stay correct in every balancing mode
+    private void updateHeight(Node node) {
+        node.height = Math.max(heightOf(node.left), heightOf(node.right)) + 1;
+        node.count = countOf(node.left) + countOf(node.right) + 1;
+    }
+
+    // Cached height of a subtree (0 for an empty subtree)
+    private int heightOf(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    // Cached size of a subtree (0 for an empty subtree)
+    private int countOf(Node node) {
+        return node == null ? 0 : node.count;
+    }
+
+    // Null-safe check for a red node
+    private boolean isRed(Node node) {
+        return node != null && node.red;
+    }
+
+    // Turn the membership filter on or off. While it is on, a blocked Bloom filter over the
+    // values (see BloomFilter) is updated by every add and checked first by search, so most
+    // searches for absent values end without a full-depth descent. Values must have hash codes
+    // consistent with compareTo. getMetrics() counts the filter's hits, rejects and false positives
+    public void setFiltered(boolean filtered) {
+        if (!filtered) {
+            filter = null;
+        } else if (filter == null) {
+            rebuildFilter();
+        }
+    }
+
+    // Whether search checks the membership filter first
+    public boolean isFiltered() {
+        return filter != null;
+    }
+
+    // Set the false positive rate the filter is sized for (0.01 by default), rebuilding it if it is on
+    public void setFilterFalsePositiveRate(double falsePositiveRate) {
+        BloomFilter.checkFalsePositiveRate(falsePositiveRate);
+        filterFalsePositiveRate = falsePositiveRate;
+        if (filter != null) {
+            rebuildFilter();
+        }
+    }
+
+    // Record a value just added to the tree in the filter, rebuilding it twice as large once it is full
+    private void filterAdd(T value) {
+        if (filter != null) {
+            filter.add(value);
+            if (filter.isFull()) {
+                rebuildFilter();
+            }
+        }
+    }
+
+    // Replace the filter with one sized for twice the current values, holding all of them
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(2 * size, filterFalsePositiveRate);
+        for (T value : this) {
+            rebuilt.add(value);
+        }
+        filter = rebuilt;
+    }
+
+    // Method to search for a value in the tree, after the membership filter when it is on
+    @Override
+    public boolean search(T value) {
+        long start = metrics.start();
+        comparisons = 0;  // Each search is counted on its own
+        if (filter != null && !filter.mightContain(value)) {
+            metrics.recordFilter(false, false);  // Certainly absent: no comparisons at all
+            metrics.record(Metrics.Operation.SEARCH, 1, 0, start);
+            return false;
+        }
+        Node node = root;
+        boolean found;
+        while (true) {
+            comparisons++;  // Increment the comparison counter each time we check a node
+            if (node == null) {
+                found = false;  // Value not found if we hit a null node
+                break;
+            }
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) {
+                found = true;  // Value found
+                break;
+            }
+            // Continue the search in the left subtree if value is smaller, right if larger
+            node = cmp < 0 ? node.left : node.right;
+        }
+        if (filter != null) {
+            metrics.recordFilter(true, found);
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return found;
+    }
+
+    // Search for a batch of keys with interleaved descents: up to SEARCH_LANES keys walk down the
+    // tree together, each taking one step per round, and a lane that finishes picks up the next
+    // key. The steps of different lanes do not depend on each other, so the CPU can have several
+    // node loads in flight at once instead of waiting for one cache miss per level of one key.
+    // Each key is charged exactly what search() would charge it
+    @Override
+    public SearchResult searchAll(T[] keys) {
+        long start = metrics.start();
+        SearchResult result = new SearchResult(keys.length);
+        Node[] current = newPath(SEARCH_LANES);  // Node each lane is about to compare with
+        int[] lane = new int[SEARCH_LANES];  // Batch index of the key each lane is searching for
+        int active = 0;  // Lanes in use are [0, active)
+        int next = 0;  // Next key to start
+        while (active < SEARCH_LANES && next < keys.length) {
+            lane[active] = next++;
+            current[active++] = root;
+        }
+        while (active > 0) {
+            for (int l = 0; l < active; ) {
+                int index = lane[l];
+                Node node = current[l];
+                result.comparisons[index]++;
+                boolean done = true;
+                if (node != null) {
+                    int cmp = keys[index].compareTo(node.value);
+                    if (cmp == 0) {
+                        result.found.set(index);
+                    } else {
+                        current[l] = cmp < 0 ? node.left : node.right;
+                        done = false;
+                    }
+                }
+                if (!done) {
+                    l++;
+                } else if (next < keys.length) {
+                    lane[l] = next++;  // Reuse the lane for the next key
+                    current[l++] = root;
+                } else {
+                    active--;  // Retire the lane by moving the last active lane into it
+                    lane[l] = lane[active];
+                    current[l] = current[active];
+                    current[active] = null;
+                }
+            }
+        }
+        comparisons = (int) result.getTotalComparisons();  // The batch counts as the last search
+        metrics.record(Metrics.Operation.SEARCH, keys.length, result.getTotalComparisons(), start);
+        return result;
+    }
+
+    // Iterate over the values in ascending order, using an explicit stack instead of recursion
+    @Override
+    public Iterator<T> iterator() {
+        return new InOrderIterator();
+    }
+
+    // In-order iterator: the stack holds the nodes whose left subtree is being visited
+    private class InOrderIterator implements Iterator<T> {
+        private final ArrayDeque<Node> stack;
+        private final int expectedModCount = modCount;
+        private int remaining;  // Values still to return
+
+        // Iterate over the whole tree
+        InOrderIterator() {
+            stack = new ArrayDeque<>();
+            pushLeftSpine(root);
+            remaining = size;
+        }
+
+        // Iterate over count values, starting from a stack prepared by the caller (see range)
+        InOrderIterator(ArrayDeque<Node> stack, int count) {
+            this.stack = stack;
+            remaining = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            Node node = stack.pop();
+            pushLeftSpine(node.right);  // The right subtree comes next, smallest value first
+            return node.value;
+        }
+
+        // Push a node and all of its left descendants
+        private void pushLeftSpine(Node node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+    }
+
+    // Number of values smaller than value. Every node caches the size of its subtree, so one
+    // descent adds up the left subtrees it passes: O(height) comparisons
+    @Override
+    public int rank(T value) {
+        long start = metrics.start();
+        comparisons = 0;
+        int rank = countBelow(value, false);
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return rank;
+    }
+
+    // Value with the given rank, found by steering with the subtree sizes; no comparisons
+    @Override
+    public T select(int k) {
+        long start = metrics.start();
+        if (k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException("Invalid rank: " + k);
+        }
+        comparisons = 0;
+        Node node = root;
+        while (true) {
+            int left = countOf(node.left);
+            if (k == left) {
+                break;
+            }
+            if (k < left) {
+                node = node.left;
+            } else {
+                k -= left + 1;
+                node = node.right;
+            }
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, 0, start);
+        return node.value;
+    }
+
+    // Largest value not greater than value: the last node the descent leaves to the right
+    @Override
+    public T floor(T value) {
+        long start = metrics.start();
+        comparisons = 0;
+        Node node = root;
+        Node candidate = null;
+        while (node != null) {
+            comparisons++;
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) {
+                candidate = node;
+                break;
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                candidate = node;
+                node = node.right;
+            }
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return candidate == null ? null : candidate.value;
+    }
+
+    // Smallest value not smaller than value: the last node the descent leaves to the left
+    @Override
+    public T ceiling(T value) {
+        long start = metrics.start();
+        comparisons = 0;
+        Node node = root;
+        Node candidate = null;
+        while (node != null) {
+            comparisons++;
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) {
+                candidate = node;
+                break;
+            }
+            if (cmp > 0) {
+                node = node.right;
+            } else {
+                candidate = node;
+                node = node.left;
+            }
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return candidate == null ? null : candidate.value;
+    }
+
+    // Number of values in [from, to], from two rank descents
+    @Override
+    public int rangeCount(T from, T to) {
+        long start = metrics.start();
+        comparisons = 0;
+        int count = Math.max(0, countBelow(to, true) - countBelow(from, false));
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return count;
+    }
+
+    // The values in [from, to] in ascending order. The descent for from leaves on the stack
+    // exactly the nodes an in-order walk would hold on reaching the first of them, and a second
+    // descent counts how many there are, so the iterator makes no further comparisons
+    @Override
+    public Iterator<T> range(T from, T to) {
+        long start = metrics.start();
+        comparisons = 0;
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        int below = 0;  // Values smaller than from
+        Node node = root;
+        while (node != null) {
+            comparisons++;
+            if (node.value.compareTo(from) >= 0) {
+                stack.push(node);
+                node = node.left;
+            } else {
+                below += countOf(node.left) + 1;
+                node = node.right;
+            }
+        }
+        int count = Math.max(0, countBelow(to, true) - below);
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return new InOrderIterator(stack, count);
+    }
+
+    // Number of values smaller than value (or not greater, when inclusive), adding the subtree
+    // sizes to the left of the descent; counts its compareTo calls in comparisons
+    private int countBelow(T value, boolean inclusive) {
+        int below = 0;
+        Node node = root;
+        while (node != null) {
+            comparisons++;
+            int cmp = value.compareTo(node.value);
+            if (cmp == 0) {
+                below += countOf(node.left) + (inclusive ? 1 : 0);
+                break;
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                below += countOf(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return below;
+    }
+
+    // Get the number of comparisons made during the last search
+    @Override
+    public int getComparisons() {
+        return comparisons;  // Return the number of comparisons made
+    }
+
+    // Get the counters, timers, footprint and depth histogram of the tree
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Estimated bytes held by the nodes (value, two children, height, subtree size, color,
+    // priority and the link to the enclosing tree), the path arrays and the filter, not counting the values
+    private long footprintBytes() {
+        return size * Footprint.object(4 * Footprint.REFERENCE + 3 * Integer.BYTES + 1) + Footprint.array(path)
+                + Footprint.array(wentLeft)
+                + (filter == null ? 0 : filter.footprintBytes());
+    }
+
+    // Number of nodes at each depth (index 0 holds the root), counted with a pre-order walk on
+    // an explicit stack; the stack never holds more than one pending node per level plus one
+    private long[] depthHistogram() {
+        int height = heightOf(root);
+        long[] histogram = new long[height];
+        if (root == null) return histogram;
+        Node[] stack = newPath(height + 1);
+        int[] depths = new int[height + 1];
+        stack[0] = root;
+        int top = 1;
+        while (top > 0) {
+            top--;
+            Node node = stack[top];
+            int depth = depths[top];
+            stack[top] = null;
+            histogram[depth]++;
+            if (node.right != null) {
+                stack[top] = node.right;
+                depths[top++] = depth + 1;
+            }
+            if (node.left != null) {
+                stack[top] = node.left;
+                depths[top++] = depth + 1;
+            }
+        }
+        return histogram;
+    }
+
+    // Write the tree to a snapshot file (layout in SnapshotOutput). The header flags hold the
+    // balancing scheme and the payload is the nodes in pre-order, each stored as a flag byte
+    // (which children it has and its color), its priority in TREAP mode, then its value
+    public void save(Path file, KeyCodec<T> codec) throws IOException {
+        try (SnapshotOutput out = new SnapshotOutput(file, SnapshotKind.BST, codec.id(), balance.ordinal(), size)) {
+            ArrayDeque<Node> stack = new ArrayDeque<>();
+            if (root != null) {
+                stack.push(root);
+            }
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                int flags = (node.left != null ? HAS_LEFT : 0) | (node.right != null ? HAS_RIGHT : 0) | (node.red ? RED : 0);
+                out.writeByte(flags);
+                if (balance == Balance.TREAP) {
+                    out.writeInt(node.priority);
+                }
+                codec.write(node.value, out);
+                if (node.right != null) {
+                    stack.push(node.right);
+                }
+                if (node.left != null) {
+                    stack.push(node.left);
+                }
+            }
+            out.commit();
+        }
+    }
+
+    // Load a tree from a snapshot written by save, with the same shape, colors and priorities
+    public static <T extends Comparable<T>> BST<T> load(Path file, KeyCodec<T> codec) throws IOException {
+        try (SnapshotInput in = SnapshotInput.open(file, SnapshotKind.BST, codec.id())) {
+            Balance[] schemes = Balance.values();
+            if (in.flags() < 0 || in.flags() >= schemes.length) {
+                throw new IOException("Corrupt snapshot, unknown balancing scheme " + in.flags() + ": " + file);
+            }
+            BST<T> tree = new BST<>(schemes[in.flags()]);
+            int nodeBytes = 1 + (tree.balance == Balance.TREAP ? Integer.BYTES : 0) + codec.minBytes();  // Flags, priority, key
+            tree.readNodes(in, codec, in.count(nodeBytes));
+            in.finish();
+            return tree;
+        }
+    }
+
+    // Rebuild the tree from count pre-order nodes. The flag bytes fix the shape, so each node is
+    // linked under the nearest node on the path that still waits for a child, without a single
+    // compareTo. A node is finished (its height set) when it is popped off the path, which only
+    // happens after its whole subtree has been read: O(n) for any tree shape
+    private void readNodes(SnapshotInput in, KeyCodec<T> codec, int count) throws IOException {
+        int[] waiting = new int[path.length];  // waiting[i]: child flags of path[i] not linked yet
+        pathSize = 0;
+        for (int i = 0; i < count; i++) {
+            int flags = in.readByte();
+            int priority = balance == Balance.TREAP ? in.readInt() : 0;
+            Node node = new Node(codec.read(in));
+            node.red = (flags & RED) != 0;
+            node.priority = priority;
+            if (i == 0) {
+                root = node;
+            } else {
+                while (pathSize > 0 && waiting[pathSize - 1] == 0) {
+                    finishNode();
+                }
+                if (pathSize == 0) {
+                    throw new IOException("Corrupt snapshot, node " + i + " has no parent");
+                }
+                int top = pathSize - 1;
+                if ((waiting[top] & HAS_LEFT) != 0) {
+                    path[top].left = node;
+                    waiting[top] &= ~HAS_LEFT;
+                } else {
+                    path[top].right = node;
+                    waiting[top] = 0;
+                }
+            }
+            pushPath(node);
+            if (waiting.length < path.length) {
+                waiting = Arrays.copyOf(waiting, path.length);
+            }
+            waiting[pathSize - 1] = flags & (HAS_LEFT | HAS_RIGHT);
+        }
+        while (pathSize > 0) {
+            if (waiting[pathSize - 1] != 0) {
+                throw new IOException("Corrupt snapshot, a node is missing its children");
+            }
+            finishNode();
+        }
+        size = count;
+        modCount++;
+    }
+
+    // Pop the last node off the path and set its height from its (finished) children
+    private void finishNode() {
+        Node node = path[--pathSize];
+        path[pathSize] = null;
+        updateHeight(node);
+    }
+
+    // Replace the contents of the tree with the given values, which must be in strictly
+    // ascending order. The middle value becomes the root and each half becomes a subtree in the
+    // same way, so the tree is perfectly balanced and is built in O(n) without a single
+    // compareTo. The recursion is only log2(n) levels deep
+    public void buildFromSorted(T[] values) {
+        long start = metrics.start();
+        build(values, values.length, false);
+        metrics.record(Metrics.Operation.ADD, values.length, 0, start);
+    }
+
+    // Same as buildFromSorted, but subtrees of more than BUILD_THRESHOLD values are built by
+    // separate fork/join tasks on the common pool
+    public void parallelBuildFromSorted(T[] values) {
+        long start = metrics.start();
+        build(values, values.length, true);
+        metrics.record(Metrics.Operation.ADD, values.length, 0, start);
+    }
+
+    // Replace the contents of the tree with the elements of a sorted array, as buildFromSorted
+    // does. The array may hold equal elements, and the tree keeps one of each like add does;
+    // finding them costs one compareTo per pair of neighbours, and the array is only copied
+    // when there are any
+    public void buildFrom(SortedArray<T> sortedArray) {
+        if (!sortedArray.isSorted()) {
+            throw new IllegalArgumentException("The array is not sorted; call sort() first");
+        }
+        long start = metrics.start();
+        T[] values = sortedArray.elements();
+        int count = sortedArray.size();
+        int cost = 0;  // Comparisons made looking for equal neighbours
+        int distinct = count;
+        for (int i = 1; i < count; i++) {
+            cost++;
+            if (values[i].compareTo(values[i - 1]) == 0) {
+                // Copy the distinct values out, then carry on comparing within the copy
+                T[] unique = Arrays.copyOf(values, count);
+                distinct = i;
+                for (int j = i + 1; j < count; j++) {
+                    cost++;
+                    if (values[j].compareTo(unique[distinct - 1]) != 0) {
+                        unique[distinct++] = values[j];
+                    }
+                }
+                values = unique;
+                break;
+            }
+        }
+        build(values, distinct, false);
+        metrics.record(Metrics.Operation.ADD, count, cost, start);
+    }
+
+    // Link values[0, count) into a balanced tree and make it the whole tree. A subtree of m
+    // values built this way has height floor(log2(m)) + 1, so every height is known up front.
+    // For RED_BLACK the nodes on the deepest level are red and all others black: every path
+    // from the root to an empty child then passes the same number of black nodes, and red
+    // nodes only have (black) parents. TREAP priorities are handed out afterwards by depth
+    private void build(T[] values, int count, boolean parallel) {
+        int height = subtreeHeight(count);
+        int redDepth = height > 1 ? height - 1 : -1;  // The root stays black
+        if (parallel) {
+            root = ParallelMergeSort.invoke(new BuildTask(values, 0, count, 0, redDepth), ForkJoinPool.getCommonPoolParallelism());
+        } else {
+            root = buildRange(values, 0, count, 0, redDepth);
+        }
+        size = count;
+        modCount++;
+        if (balance == Balance.TREAP) {
+            assignPriorities();
+        }
+        if (filter != null) {
+            rebuildFilter();
+        }
+    }
+
+    // Build the subtree for values[from, to), whose root is at the given depth
+    private Node buildRange(T[] values, int from, int to, int depth, int redDepth) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        Node node = new Node(values[mid], subtreeHeight(to - from), to - from, depth == redDepth);
+        node.left = buildRange(values, from, mid, depth + 1, redDepth);
+        node.right = buildRange(values, mid + 1, to, depth + 1, redDepth);
+        return node;
+    }
+
+    // Builds the subtree for values[from, to) like buildRange, forking both halves while the
+    // range is larger than BUILD_THRESHOLD
+    private final class BuildTask extends RecursiveTask<Node> {
+        private final T[] values;
+        private final int from, to, depth, redDepth;
+
+        BuildTask(T[] values, int from, int to, int depth, int redDepth) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+            this.redDepth = redDepth;
+        }
+
+        @Override
+        protected Node compute() {
+            if (to - from <= BUILD_THRESHOLD) {
+                return buildRange(values, from, to, depth, redDepth);
+            }
+            int mid = (from + to) >>> 1;
+            Node node = new Node(values[mid], subtreeHeight(to - from), to - from, depth == redDepth);
+            BuildTask left = new BuildTask(values, from, mid, depth + 1, redDepth);
+            left.fork();
+            node.right = new BuildTask(values, mid + 1, to, depth + 1, redDepth).compute();
+            node.left = left.join();
+            return node;
+        }
+    }
+
+    // Height of a balanced subtree built from m values
+    private static int subtreeHeight(int m) {
+        return 32 - Integer.numberOfLeadingZeros(m);
+    }
+
+    // Give a built treap random priorities that respect the heap order: size random ints are
+    // sorted and every level takes a slice that is above all slices of the levels below it
+    private void assignPriorities() {
+        long[] histogram = depthHistogram();
+        int[] priorities = new int[size];
+        for (int i = 0; i < size; i++) {
+            priorities[i] = random.nextInt();
+        }
+        Arrays.sort(priorities);
+        int[] next = new int[histogram.length];  // next[d]: index of the next priority for depth d
+        int taken = 0;  // Priorities reserved for the levels below
+        for (int depth = histogram.length - 1; depth >= 0; depth--) {
+            next[depth] = taken;
+            taken += (int) histogram[depth];
+        }
+        Node[] stack = newPath(histogram.length + 1);
+        int[] depths = new int[histogram.length + 1];
+        int top = 0;
+        if (root != null) {
+            stack[top++] = root;
+        }
+        while (top > 0) {
+            top--;
+            Node node = stack[top];
+            int depth = depths[top];
+            stack[top] = null;
+            node.priority = priorities[next[depth]++];
+            if (node.right != null) {
+                stack[top] = node.right;
+                depths[top++] = depth + 1;
+            }
+            if (node.left != null) {
+                stack[top] = node.left;
+                depths[top++] = depth + 1;
+            }
+        }
+    }
+
+    // Helper method to calculate the width used to size the drawing canvas. The drawing spreads
+    // nodes by depth, so this is the number of levels, read from the cached height in O(1)
+    public int calculateMaxWidth(Node node) {
+        return heightOf(node);
+    }
+
+    // Helper method to get the height (depth) of the tree; O(1) because every node caches its height
+    public int calculateHeight(Node node) {
+        return heightOf(node);
+    }
+}
@@ -0,0 +1,216 @@
+package analyzer;
+
+// Helpers shared by the searchAll implementations.
+// Sorted structures visit the probes in ascending key order, so the search for each key starts
+// where the previous one ended and every part of the structure is read at most once per batch.
+// Unsorted structures hash their elements once and answer every probe from the table.
+// Comparisons between probe keys (while ordering them) are not charged to the structure
+final class BatchSearch {
+    private static final int INSERTION_SORT_LIMIT = 16;  // Ranges this short are insertion sorted
+
+    private BatchSearch() {
+    }
+
+    // Indexes of keys in ascending key order (equal keys keep their batch order)
+    static <T extends Comparable<T>> int[] sortedOrder(T[] keys) {
+        int n = keys.length;
+        int[] order = new int[n];
+        boolean ascending = true;
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            if (i > 0 && keys[i - 1].compareTo(keys[i]) > 0) {
+                ascending = false;
+            }
+        }
+        if (!ascending) {
+            sortOrder(keys, order, new int[n], 0, n);
+        }
+        return order;
+    }
+
+    // Top-down merge sort of order[from, to) by the keys the indexes point to
+    private static <T extends Comparable<T>> void sortOrder(T[] keys, int[] order, int[] buffer, int from, int to) {
+        if (to - from <= INSERTION_SORT_LIMIT) {
+            for (int i = from + 1; i < to; i++) {
+                int index = order[i];
+                int j = i - 1;
+                while (j >= from && keys[order[j]].compareTo(keys[index]) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = index;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortOrder(keys, order, buffer, from, mid);
+        sortOrder(keys, order, buffer, mid, to);
+        if (keys[order[mid - 1]].compareTo(keys[order[mid]]) <= 0) {
+            return;  // Halves already in order
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            order[k++] = keys[buffer[j]].compareTo(keys[buffer[i]]) < 0 ? buffer[j++] : buffer[i++];
+        }
+        while (i < mid) order[k++] = buffer[i++];
+        while (j < to) order[k++] = buffer[j++];
+    }
+
+    // Indexes of keys in ascending key order. Each key is packed with its index into one long
+    // (key in the high half, index in the low half), so a primitive sort orders both at once
+    static int[] sortedOrder(int[] keys) {
+        int n = keys.length;
+        int[] order = new int[n];
+        boolean ascending = true;
+        for (int i = 1; i < n; i++) {
+            if (keys[i - 1] > keys[i]) {
+                ascending = false;
+                break;
+            }
+        }
+        if (ascending) {
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            return order;
+        }
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = ((long) keys[i] << 32) | i;
+        }
+        java.util.Arrays.sort(packed);
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    // First index p in [start, size) with a[p] >= key (size if none), found by galloping: probe
+    // start, start + 1, start + 3, start + 7, ... until one is not smaller, then binary search the
+    // last gap. Costs O(log d) comparisons for a distance d, so a sorted batch of m keys walks an
+    // array of n elements in O(m log(n / m)) comparisons. Comparisons are charged to result[index]
+    static <T extends Comparable<T>> int gallop(T[] a, int start, int size, T key, SearchResult result, int index) {
+        int low = start;
+        int high = start;
+        int step = 1;
+        while (high < size) {
+            result.comparisons[index]++;
+            if (a[high].compareTo(key) >= 0) {
+                break;
+            }
+            low = high + 1;
+            high = start + step;
+            step = step * 2 + 1;
+        }
+        if (high > size) high = size;
+        // The answer lies in [low, high]; a[high] (if any) is known to be >= key
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            result.comparisons[index]++;
+            if (a[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // int version of gallop
+    static int gallop(int[] a, int start, int size, int key, SearchResult result, int index) {
+        int low = start;
+        int high = start;
+        int step = 1;
+        while (high < size) {
+            result.comparisons[index]++;
+            if (a[high] >= key) {
+                break;
+            }
+            low = high + 1;
+            high = start + step;
+            step = step * 2 + 1;
+        }
+        if (high > size) high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            result.comparisons[index]++;
+            if (a[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Open-addressing table over elements[0, size): each slot holds an element index + 1 (0 marks
+    // an empty slot). The table is at least twice as large as size, so probe sequences stay short
+    static <T> int[] hashTable(T[] elements, int size) {
+        int[] table = new int[tableLength(size)];
+        int mask = table.length - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = mix(elements[i].hashCode()) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+        return table;
+    }
+
+    // Look key up in a table built by hashTable, charging one comparison per element checked
+    static <T> boolean hashLookup(int[] table, T[] elements, T key, SearchResult result, int index) {
+        int mask = table.length - 1;
+        int slot = mix(key.hashCode()) & mask;
+        while (table[slot] != 0) {
+            result.comparisons[index]++;
+            if (elements[table[slot] - 1].equals(key)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    // Table of int keys for hash lookups: slots hold the key itself, with a separate occupancy
+    // bit array so that any int (including 0) can be stored
+    static int[] hashTable(int[] elements, int size, long[] occupied) {
+        int[] table = new int[occupied.length * 64];
+        int mask = table.length - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = mix(elements[i]) & mask;
+            while ((occupied[slot >>> 6] & (1L << slot)) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = elements[i];
+            occupied[slot >>> 6] |= 1L << slot;
+        }
+        return table;
+    }
+
+    // Look key up in a table built by the int hashTable, charging one comparison per slot checked
+    static boolean hashLookup(int[] table, long[] occupied, int key, SearchResult result, int index) {
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        while ((occupied[slot >>> 6] & (1L << slot)) != 0) {
+            result.comparisons[index]++;
+            if (table[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    // Number of slots for a table holding size elements: a power of two, at least 2 * size and 64
+    static int tableLength(int size) {
+        return Math.max(64, Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1);
+    }
+
+    // Spread the bits of a hash code so that clustered keys do not collide in the low bits
+    static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,94 @@
+package analyzer;
+
+// Blocked Bloom filter in front of a mutable structure: answers "definitely not present" for
+// most absent values without touching the structure. The bits are split into 512-bit blocks
+// (one cache line); a value picks one block with its hash and sets k bits inside it, so an add
+// or lookup touches a single cache line whatever k is. Confining the bits to a block costs a
+// little accuracy, which the sizing makes up with about 10% more bits than a plain Bloom
+// filter. Values are identified by hashCode, so equal values (the structures' equals or
+// compareTo) must have equal hash codes. Bits are never cleared: a removed value can still
+// pass, which only adds false positives, never false negatives
+final class BloomFilter {
+    static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;  // Rate a structure uses unless configured
+    private static final int BLOCK_BITS = 512;  // Bits per block
+    private static final int BLOCK_WORDS = BLOCK_BITS / 64;  // Longs per block
+    private static final int MIN_CAPACITY = 64;  // Smallest number of values a filter is sized for
+
+    private final long[] bits;  // Block b is bits[b * BLOCK_WORDS, (b + 1) * BLOCK_WORDS)
+    private final int blocks;  // Number of blocks
+    private final int hashes;  // Bits set per value (k)
+    private final int capacity;  // Values the filter was sized for
+    private int count;  // Values added
+
+    // Filter sized for capacity values at the given false positive rate
+    BloomFilter(int capacity, double falsePositiveRate) {
+        checkFalsePositiveRate(falsePositiveRate);
+        this.capacity = Math.max(MIN_CAPACITY, capacity);
+        // Optimal plain Bloom filter: -ln(p) / ln(2)^2 bits and ln(2) * bits hashes per value
+        double bitsPerValue = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        hashes = (int) Math.max(1, Math.min(16, Math.round(bitsPerValue * Math.log(2))));
+        long totalBits = (long) Math.ceil(this.capacity * bitsPerValue * 1.1);
+        blocks = (int) Math.max(1, (totalBits + BLOCK_BITS - 1) / BLOCK_BITS);
+        bits = new long[blocks * BLOCK_WORDS];
+        count = 0;
+    }
+
+    // Reject rates a filter cannot be sized for
+    static void checkFalsePositiveRate(double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+    }
+
+    // Record a value
+    void add(Object value) {
+        long hash = hash(value);
+        int base = block(hash);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            bits[base + (bit >>> 6)] |= 1L << bit;
+        }
+        count++;
+    }
+
+    // False if the value was certainly never added; true if it may have been
+    boolean mightContain(Object value) {
+        long hash = hash(value);
+        int base = block(hash);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            if ((bits[base + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Whether more values were added than the filter was sized for, so its false positive rate
+    // is now above the configured one; the structure then rebuilds it larger
+    boolean isFull() {
+        return count > capacity;
+    }
+
+    // Estimated bytes held by the bit array
+    long footprintBytes() {
+        return Footprint.array(bits);
+    }
+
+    // First word of the block a hash selects: multiply-shift maps the high 32 bits onto [0, blocks)
+    private int block(long hash) {
+        return (int) (((hash >>> 32) * blocks) >>> 32) * BLOCK_WORDS;
+    }
+
+    // 64-bit hash of a value's hashCode (SplitMix64 finalizer), shared with XorFilter
+    static long hash(Object value) {
+        long h = value.hashCode() * 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,241 @@
+package analyzer;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Thread-safe replacement for BST: a lock-free skip list (the Herlihy-Shavit design built on the
+// same mark-bit technique as ConcurrentSortedLinkedList). Each node sits in levels 0..topLevel,
+// with topLevel drawn from a geometric distribution, so a search skips ahead on the sparse
+// upper levels and takes O(log n) expected comparisons without any rebalancing or locking.
+// Like BST, it holds each value at most once. Removal marks a node level by level, top down;
+// the mark on level 0 decides which remover wins.
+// Counters are LongAdders (a concurrent Metrics), so concurrent searches do not contend on a shared int
+public class ConcurrentSkipList<T extends Comparable<T>> implements SearchableCollection<T> {
+    private static final int MAX_LEVEL = 31;  // Highest level index; enough for far more than 2^31 values
+
+    private final Node<T> head = new Node<>(null, MAX_LEVEL);  // Sentinel linked into every level
+    private final LongAdder size = new LongAdder();  // Number of values currently present
+    private final Metrics metrics = new Metrics("ConcurrentSkipList", true, this::size, this::footprintBytes, null);
+
+    // A skip list node; value is null only for the head sentinel
+    private static final class Node<T> {
+        final T value;
+        final AtomicMarkableReference<Node<T>>[] next;  // Successor on each level, marked once removed
+
+        @SuppressWarnings("unchecked") // Suppresses warning for creating a generic array
+        Node(T value, int topLevel) {
+            this.value = value;
+            next = (AtomicMarkableReference<Node<T>>[]) new AtomicMarkableReference[topLevel + 1];
+            for (int level = 0; level <= topLevel; level++) {
+                next[level] = new AtomicMarkableReference<>(null, false);
+            }
+        }
+
+        int topLevel() {
+            return next.length - 1;
+        }
+    }
+
+    // Add the value unless it is already present
+    @Override
+    public void add(T value) {
+        long start = metrics.start();
+        insert(value);
+        metrics.record(Metrics.Operation.ADD, 1, 0, start);
+    }
+
+    // Link the value in on every level of a random height, unless it is already present
+    @SuppressWarnings("unchecked") // Suppresses warning for creating generic arrays
+    private void insert(T value) {
+        int topLevel = randomLevel();
+        Node<T>[] preds = (Node<T>[]) new Node[MAX_LEVEL + 1];
+        Node<T>[] succs = (Node<T>[]) new Node[MAX_LEVEL + 1];
+        while (true) {
+            if (find(value, preds, succs)) {
+                return;  // Value already present, the list is unchanged
+            }
+            Node<T> node = new Node<>(value, topLevel);
+            for (int level = 0; level <= topLevel; level++) {
+                node.next[level].set(succs[level], false);
+            }
+            // Linking level 0 is what makes the value present
+            if (!preds[0].next[0].compareAndSet(succs[0], node, false, false)) {
+                continue;
+            }
+            size.increment();
+            // Link the upper levels; they are only shortcuts, so each is retried until it succeeds
+            for (int level = 1; level <= topLevel; level++) {
+                while (true) {
+                    Node<T> succ = succs[level];
+                    Node<T> current = node.next[level].getReference();
+                    // Point the new node at the current successor first; if that fails the node is
+                    // already being removed and linking it any higher would be pointless
+                    if (current != succ && !node.next[level].compareAndSet(current, succ, false, false)) {
+                        return;
+                    }
+                    if (preds[level].next[level].compareAndSet(succ, node, false, false)) {
+                        break;
+                    }
+                    find(value, preds, succs);
+                }
+            }
+            return;
+        }
+    }
+
+    // Remove the value; returns false if it is not present
+    public boolean remove(T value) {
+        long start = metrics.start();
+        boolean removed = unlink(value);
+        metrics.record(Metrics.Operation.DELETE, 1, 0, start);
+        return removed;
+    }
+
+    // Mark the value's node on every level, then unlink it; false if another thread got there first
+    @SuppressWarnings("unchecked") // Suppresses warning for creating generic arrays
+    private boolean unlink(T value) {
+        Node<T>[] preds = (Node<T>[]) new Node[MAX_LEVEL + 1];
+        Node<T>[] succs = (Node<T>[]) new Node[MAX_LEVEL + 1];
+        if (!find(value, preds, succs)) {
+            return false;
+        }
+        Node<T> victim = succs[0];
+        boolean[] marked = new boolean[1];
+        // Mark the upper levels top down; any thread may finish these marks
+        for (int level = victim.topLevel(); level >= 1; level--) {
+            Node<T> succ = victim.next[level].get(marked);
+            while (!marked[0]) {
+                victim.next[level].compareAndSet(succ, succ, false, true);
+                succ = victim.next[level].get(marked);
+            }
+        }
+        // Marking level 0 is the linearization point; only one remover can win it
+        Node<T> succ = victim.next[0].get(marked);
+        while (true) {
+            boolean won = victim.next[0].compareAndSet(succ, succ, false, true);
+            succ = victim.next[0].get(marked);
+            if (won) {
+                find(value, preds, succs);  // Unlinks the marked node on every level
+                size.decrement();
+                return true;
+            }
+            if (marked[0]) {
+                return false;  // Another thread removed it first
+            }
+        }
+    }
+
+    // Check whether the value is present. The search only reads: it steps over marked nodes
+    // instead of unlinking them, and stops as soon as it meets the value on any level
+    @Override
+    public boolean search(T value) {
+        long start = metrics.start();
+        int count = 0;
+        boolean found = false;
+        boolean[] marked = new boolean[1];
+        Node<T> pred = head;
+        levels:
+        for (int level = MAX_LEVEL; level >= 0; level--) {
+            Node<T> curr = pred.next[level].getReference();
+            while (curr != null) {
+                Node<T> succ = curr.next[level].get(marked);
+                if (marked[0]) {
+                    curr = succ;  // Removed node: skip it
+                    continue;
+                }
+                count++;
+                int cmp = curr.value.compareTo(value);
+                if (cmp == 0) {
+                    found = !curr.next[0].isMarked();
+                    break levels;
+                }
+                if (cmp > 0) {
+                    break;  // Overshot: drop to the next level down
+                }
+                pred = curr;
+                curr = succ;
+            }
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, count, start);
+        return found;
+    }
+
+    // Fill preds/succs with the nodes around key on every level (succs[level] is the first node
+    // not less than key) and report whether succs[0] holds key. Marked nodes are unlinked on the
+    // way; if an unlink CAS fails the walk restarts from the top
+    private boolean find(T key, Node<T>[] preds, Node<T>[] succs) {
+        boolean[] marked = new boolean[1];
+        retry:
+        while (true) {
+            Node<T> pred = head;
+            for (int level = MAX_LEVEL; level >= 0; level--) {
+                Node<T> curr = pred.next[level].getReference();
+                while (curr != null) {
+                    Node<T> succ = curr.next[level].get(marked);
+                    if (marked[0]) {
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) {
+                            continue retry;
+                        }
+                        curr = succ;
+                        continue;
+                    }
+                    if (curr.value.compareTo(key) >= 0) {
+                        break;
+                    }
+                    pred = curr;
+                    curr = succ;
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return succs[0] != null && succs[0].value.compareTo(key) == 0;
+        }
+    }
+
+    // Level for a new node: level k with probability 2^-(k + 1)
+    private static int randomLevel() {
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << MAX_LEVEL));
+    }
+
+    // Number of values in the list (exact only while no add or remove is running)
+    public int size() {
+        return size.intValue();
+    }
+
+    // Total comparisons made by all searches so far, capped at Integer.MAX_VALUE
+    @Override
+    public int getComparisons() {
+        return (int) Math.min(Integer.MAX_VALUE, getTotalComparisons());
+    }
+
+    // Total comparisons made by all searches so far
+    public long getTotalComparisons() {
+        return metrics.getComparisons(Metrics.Operation.SEARCH);
+    }
+
+    // Number of searches made so far
+    public long getSearches() {
+        return metrics.getCalls(Metrics.Operation.SEARCH);
+    }
+
+    // Get the counters, timers and footprint of the skip list. Adds and removes are counted, but the
+    // comparisons they make while looking for their position are not
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Estimated bytes held by the nodes, found by walking level 0: per node the object, its
+    // next array, and an AtomicMarkableReference with its current (reference, mark) pair per
+    // level. Not counting the values
+    private long footprintBytes() {
+        long bytes = 0;
+        for (Node<T> node = head; node != null; node = node.next[0].getReference()) {
+            int levels = node.next.length;
+            bytes += Footprint.object(2 * Footprint.REFERENCE) + Footprint.array(node.next)
+                    + levels * (Footprint.object(Footprint.REFERENCE) + Footprint.object(Footprint.REFERENCE + 1));
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,210 @@
+package analyzer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+// Thread-safe, read-optimized counterpart of SortedArray. The array is always kept sorted
+// (every add is a sorted insert), writers take a StampedLock write lock, and readers use
+// optimistic reads: they copy the array reference and size, binary search without any lock,
+// and only fall back to a real read lock when a write slipped in during the search.
+// Uncontended lookups therefore never write to shared memory, apart from the LongAdder counters
+// of its concurrent Metrics
+public class ConcurrentSortedArray<T extends Comparable<T>> implements SearchableCollection<T> {
+    private final StampedLock lock = new StampedLock();  // Guards array and size
+    private T[] array;  // Sorted elements in [0, size)
+    private int size;  // Number of elements in use
+    private final double growthFactor;  // Factor the capacity is multiplied by when the array is full
+    private final Metrics metrics = new Metrics("ConcurrentSortedArray", true, this::size, this::footprintBytes, null);
+    private final LongAdder optimisticFailures = new LongAdder();  // Searches that had to retry under the read lock
+
+    // Constructor to initialize the array with a specified initial capacity
+    public ConcurrentSortedArray(int capacity) {
+        this(capacity, ArrayGrowth.DEFAULT_GROWTH_FACTOR);
+    }
+
+    // Constructor to initialize the array with a specified initial capacity and growth factor (must be > 1)
+    @SuppressWarnings("unchecked") // Suppresses warning for casting a generic array
+    public ConcurrentSortedArray(int capacity, double growthFactor) {
+        ArrayGrowth.checkGrowthFactor(growthFactor);
+        array = (T[]) new Comparable[capacity];
+        this.growthFactor = growthFactor;
+    }
+
+    // Insert the value at its sorted position (after any equal values)
+    @Override
+    public void add(T value) {
+        long start = metrics.start();
+        long stamp = lock.writeLock();
+        try {
+            ensureCapacity(size + 1);
+            int left = 0, right = size;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (array[mid].compareTo(value) <= 0) {
+                    left = mid + 1;
+                } else {
+                    right = mid;
+                }
+            }
+            System.arraycopy(array, left, array, left + 1, size - left);
+            array[left] = value;
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        metrics.record(Metrics.Operation.ADD, 1, 0, start);
+    }
+
+    // Add every value of the given array. The batch is sorted before the write lock is taken, so
+    // the lock is only held for one backward merge pass
+    @SuppressWarnings("unchecked") // Suppresses warning for casting a generic array
+    public void addAll(T[] values) {
+        int count = values.length;
+        if (count == 0) return;
+        long start = metrics.start();
+        T[] batch = Arrays.copyOf(values, count);
+        MergeSort.sort(batch, (T[]) new Comparable[count], 0, count);
+
+        long stamp = lock.writeLock();
+        try {
+            ensureCapacity(size + count);
+            // Merge from the back; on ties the batch element goes further back (after existing equal values)
+            int i = size - 1, j = count - 1, k = size + count - 1;
+            while (j >= 0) {
+                if (i >= 0 && array[i].compareTo(batch[j]) > 0) {
+                    array[k--] = array[i--];
+                } else {
+                    array[k--] = batch[j--];
+                }
+            }
+            size += count;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        metrics.record(Metrics.Operation.ADD, count, 0, start);
+    }
+
+    // Grow the storage; only called while holding the write lock. A reader still holding the old
+    // array keeps searching a consistent (old) copy and is caught by validate()
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            array = Arrays.copyOf(array, ArrayGrowth.newCapacity(array.length, minCapacity, growthFactor));
+        }
+    }
+
+    // Binary search under an optimistic read. The fields are copied into locals first, as
+    // StampedLock requires; if validate() fails the search is repeated under the read lock
+    @Override
+    public boolean search(T value) {
+        long start = metrics.start();
+        int count;
+        boolean found;
+        long stamp = lock.tryOptimisticRead();
+        boolean optimistic = stamp != 0;
+        if (!optimistic) {
+            stamp = lock.readLock();
+        }
+        try {
+            while (true) {
+                T[] elements = array;
+                int length = Math.min(size, elements.length);  // A torn read must not index past the array
+                count = 0;  // Only the pass whose answer is kept is counted
+                found = false;
+                int left = 0, right = length - 1;
+                while (left <= right) {
+                    int mid = (left + right) >>> 1;
+                    T element = elements[mid];
+                    if (element == null) {
+                        break;  // Only possible in an inconsistent optimistic read; validate() fails below
+                    }
+                    count++;
+                    int cmp = element.compareTo(value);
+                    if (cmp == 0) {
+                        found = true;
+                        break;
+                    }
+                    if (cmp < 0) {
+                        left = mid + 1;
+                    } else {
+                        right = mid - 1;
+                    }
+                }
+                if (!optimistic || lock.validate(stamp)) {
+                    break;
+                }
+                // A writer got in during the search: repeat it under the read lock
+                optimisticFailures.increment();
+                stamp = lock.readLock();
+                optimistic = false;
+            }
+        } finally {
+            if (!optimistic) {
+                lock.unlockRead(stamp);
+            }
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, count, start);
+        return found;
+    }
+
+    // Get the element at the specified index
+    public T get(int index) {
+        long stamp = lock.readLock();
+        try {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Invalid index: " + index);
+            }
+            return array[index];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Get the number of elements currently in the array
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int current = size;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                current = size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return current;
+    }
+
+    // Total comparisons made by all searches so far, capped at Integer.MAX_VALUE
+    @Override
+    public int getComparisons() {
+        return (int) Math.min(Integer.MAX_VALUE, getTotalComparisons());
+    }
+
+    // Total comparisons made by all searches so far
+    public long getTotalComparisons() {
+        return metrics.getComparisons(Metrics.Operation.SEARCH);
+    }
+
+    // Number of searches made so far
+    public long getSearches() {
+        return metrics.getCalls(Metrics.Operation.SEARCH);
+    }
+
+    // Get the counters, timers and footprint of the array. Adds are counted, but the comparisons
+    // they make while looking for their position are not
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Estimated bytes held by the array, not counting the elements
+    private long footprintBytes() {
+        return Footprint.array(array);
+    }
+
+    // Number of searches whose optimistic read was invalidated by a writer (a measure of contention)
+    public long getOptimisticFailures() {
+        return optimisticFailures.sum();
+    }
+}
@@ -0,0 +1,178 @@
+package analyzer;
+
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Thread-safe replacement for SortedLinkedList: a lock-free sorted list in the style of Harris
+// (with Michael's cleanup during traversal). Every next pointer carries a mark bit; removing a
+// node first marks its next pointer (logical delete) and then unlinks it with a CAS on the
+// predecessor (physical delete). Traversals that find marked nodes help unlink them.
+// search never writes to the list and never retries. Duplicates are allowed, as in
+// SortedLinkedList, and equal values stay in insertion order.
+// Counters are LongAdders (a concurrent Metrics), so concurrent searches do not contend on a shared int
+public class ConcurrentSortedLinkedList<T extends Comparable<T>> implements SearchableCollection<T> {
+    private final Node<T> head = new Node<>(null, null);  // Sentinel in front of the first node, never removed
+    private final LongAdder size = new LongAdder();  // Number of nodes that have been added and not removed
+    private final Metrics metrics = new Metrics("ConcurrentSortedLinkedList", true, this::size, this::footprintBytes, null);
+
+    // A list node; value is null only for the head sentinel
+    private static final class Node<T> {
+        final T value;
+        final AtomicMarkableReference<Node<T>> next;  // Successor, marked once this node is removed
+
+        Node(T value, Node<T> next) {
+            this.value = value;
+            this.next = new AtomicMarkableReference<>(next, false);
+        }
+    }
+
+    // Result of find: curr is the first unmarked node at or past the key, pred the node before it
+    private static final class Window<T> {
+        final Node<T> pred, curr;
+        final int cmp;  // curr.value.compareTo(key), or 1 when curr is null
+
+        Window(Node<T> pred, Node<T> curr, int cmp) {
+            this.pred = pred;
+            this.curr = curr;
+            this.cmp = cmp;
+        }
+    }
+
+    // Insert the value after every node not greater than it
+    @Override
+    public void add(T value) {
+        long start = metrics.start();
+        Node<T> node = new Node<>(value, null);
+        while (true) {
+            Window<T> window = find(value, true);
+            node.next.set(window.curr, false);
+            if (window.pred.next.compareAndSet(window.curr, node, false, false)) {
+                size.increment();
+                break;
+            }
+            // The predecessor changed or was removed underneath us; look again
+        }
+        metrics.record(Metrics.Operation.ADD, 1, 0, start);
+    }
+
+    // Remove one node equal to the value; returns false if there is none
+    public boolean remove(T value) {
+        long start = metrics.start();
+        boolean removed = unlink(value);
+        metrics.record(Metrics.Operation.DELETE, 1, 0, start);
+        return removed;
+    }
+
+    // Mark one node equal to the value as removed and try to unlink it; false if there is none
+    private boolean unlink(T value) {
+        while (true) {
+            Window<T> window = find(value, false);
+            if (window.curr == null || window.cmp != 0) {
+                return false;
+            }
+            Node<T> victim = window.curr;
+            Node<T> succ = victim.next.getReference();
+            // Logical delete: mark the victim's next pointer. Fails if it changed or is already marked
+            if (!victim.next.compareAndSet(succ, succ, false, true)) {
+                continue;
+            }
+            // Physical delete; if this CAS loses, a later traversal unlinks the node instead
+            window.pred.next.compareAndSet(victim, succ, false, false);
+            size.decrement();
+            return true;
+        }
+    }
+
+    // Check whether an unmarked node equal to the value exists. The walk only reads, so it is
+    // wait-free; marked nodes are stepped over rather than unlinked
+    @Override
+    public boolean search(T value) {
+        long start = metrics.start();
+        int count = 0;
+        boolean found = false;
+        Node<T> curr = head.next.getReference();
+        while (curr != null) {
+            count++;
+            int cmp = curr.value.compareTo(value);
+            if (cmp > 0) {
+                break;
+            }
+            if (cmp == 0 && !curr.next.isMarked()) {
+                found = true;
+                break;
+            }
+            curr = curr.next.getReference();
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, count, start);
+        return found;
+    }
+
+    // Find the window for key: curr is the first node with value > key (upper) or >= key (!upper).
+    // Marked nodes met on the way are unlinked; if that CAS fails the walk restarts from the head
+    private Window<T> find(T key, boolean upper) {
+        retry:
+        while (true) {
+            Node<T> pred = head;
+            Node<T> curr = pred.next.getReference();
+            boolean[] marked = new boolean[1];
+            while (true) {
+                if (curr == null) {
+                    return new Window<>(pred, null, 1);
+                }
+                Node<T> succ = curr.next.get(marked);
+                while (marked[0]) {
+                    // curr has been removed: help unlink it before going on
+                    if (!pred.next.compareAndSet(curr, succ, false, false)) {
+                        continue retry;
+                    }
+                    curr = succ;
+                    if (curr == null) {
+                        return new Window<>(pred, null, 1);
+                    }
+                    succ = curr.next.get(marked);
+                }
+                int cmp = curr.value.compareTo(key);
+                if (upper ? cmp > 0 : cmp >= 0) {
+                    return new Window<>(pred, curr, cmp);
+                }
+                pred = curr;
+                curr = succ;
+            }
+        }
+    }
+
+    // Number of values in the list (exact only while no add or remove is running)
+    public int size() {
+        return size.intValue();
+    }
+
+    // Total comparisons made by all searches so far, capped at Integer.MAX_VALUE
+    @Override
+    public int getComparisons() {
+        return (int) Math.min(Integer.MAX_VALUE, getTotalComparisons());
+    }
+
+    // Total comparisons made by all searches so far
+    public long getTotalComparisons() {
+        return metrics.getComparisons(Metrics.Operation.SEARCH);
+    }
+
+    // Number of searches made so far
+    public long getSearches() {
+        return metrics.getCalls(Metrics.Operation.SEARCH);
+    }
+
+    // Get the counters, timers and footprint of the list. Adds and removes are counted, but the
+    // comparisons they make while looking for their position are not
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Estimated bytes held by the nodes: per node the object, its AtomicMarkableReference and
+    // that reference's current (reference, mark) pair. Not counting the values
+    private long footprintBytes() {
+        return (long) size() * (Footprint.object(2 * Footprint.REFERENCE)
+                + Footprint.object(Footprint.REFERENCE) + Footprint.object(Footprint.REFERENCE + 1));
+    }
+}
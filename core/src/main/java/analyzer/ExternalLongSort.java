@@ -0,0 +1,223 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// External merge sort behind MappedSortedLongArray.sortFile, for inputs larger than memory.
+// 1. The input (raw little-endian longs) is read in chunks of half the memory budget; each chunk
+//    is sorted on the heap with Arrays.parallelSort, which takes a scratch array as large as the
+//    chunk (the other half), and written to a temporary run file next to the output. Reads and
+//    writes go through one fixed IO_BUFFER_BYTES direct buffer.
+// 2. All runs are merged in one pass through a binary min-heap of run cursors, each reading its
+//    run through a direct buffer holding its share of the budget, straight into the mapped
+//    output file.
+// So either pass holds about memoryBytes: on the heap in pass 1 and in direct buffers (which
+// count against -XX:MaxDirectMemorySize) in pass 2. Every read and write is a bulk NIO transfer
+final class ExternalLongSort {
+    private static final int MIN_BUFFER_LONGS = 1024;  // Smallest read buffer per run during the merge
+    private static final int IO_BUFFER_BYTES = 1 << 20;  // Direct buffer pass 1 reads and writes through
+    // Largest chunk or run buffer: its byte size (longs * 8) must still fit the int capacity of a ByteBuffer
+    private static final int MAX_BUFFER_LONGS = (Integer.MAX_VALUE - 8) / Long.BYTES;
+
+    private ExternalLongSort() {
+    }
+
+    // Sort input into a new MappedSortedLongArray file at output using about memoryBytes (see above)
+    static void sort(Path input, Path output, long memoryBytes) throws IOException {
+        long inputBytes = Files.size(input);
+        if (inputBytes % Long.BYTES != 0) {
+            throw new IOException("Input length is not a multiple of 8 bytes: " + input);
+        }
+        long total = inputBytes / Long.BYTES;
+        int chunkLongs = (int) Math.max(MIN_BUFFER_LONGS, Math.min(MAX_BUFFER_LONGS, memoryBytes / 2 / Long.BYTES));
+
+        List<Path> runs = new ArrayList<>();
+        try {
+            // Pass 1: sorted runs
+            long[] chunk = new long[(int) Math.min(chunkLongs, Math.max(total, 1))];
+            try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+                ByteBuffer bytes = ByteBuffer.allocateDirect(IO_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                long remaining = total;
+                while (remaining > 0) {
+                    int count = (int) Math.min(chunk.length, remaining);
+                    readChunk(in, bytes, chunk, count);
+                    Arrays.parallelSort(chunk, 0, count);
+                    remaining -= count;
+                    if (runs.isEmpty() && remaining == 0) {
+                        // Everything fit in one chunk: write the output directly
+                        writeOutput(output, chunk, count);
+                        return;
+                    }
+                    Path run = Files.createTempFile(output.toAbsolutePath().getParent(), "run", ".tmp");
+                    runs.add(run);
+                    writeRun(run, chunk, count, bytes);
+                }
+            }
+            if (runs.isEmpty()) {
+                writeOutput(output, chunk, 0);
+                return;
+            }
+            chunk = null;  // Release the chunk before the merge takes its buffers
+
+            // Pass 2: k-way merge
+            int bufferLongs = (int) Math.max(MIN_BUFFER_LONGS,
+                    Math.min(MAX_BUFFER_LONGS, memoryBytes / Long.BYTES / (runs.size() + 1)));
+            merge(runs, output, total, bufferLongs);
+        } finally {
+            for (Path run : runs) {
+                MappedSortedLongArray.deleteQuietly(run);
+            }
+        }
+    }
+
+    // Read the next count longs of the input into chunk[0, count), a buffer at a time
+    private static void readChunk(FileChannel in, ByteBuffer bytes, long[] chunk, int count) throws IOException {
+        for (int filled = 0; filled < count; ) {
+            int n = Math.min(bytes.capacity() / Long.BYTES, count - filled);
+            readFully(in, bytes, n);
+            bytes.asLongBuffer().get(chunk, filled, n);
+            filled += n;
+        }
+    }
+
+    // Read exactly count longs from the channel into bytes (which is left flipped for reading)
+    private static void readFully(FileChannel in, ByteBuffer bytes, int count) throws IOException {
+        bytes.clear().limit(count * Long.BYTES);
+        while (bytes.hasRemaining()) {
+            if (in.read(bytes) < 0) {
+                throw new IOException("Unexpected end of input");
+            }
+        }
+        bytes.flip();
+    }
+
+    // Write chunk[0, count) to a run file, a buffer at a time
+    private static void writeRun(Path run, long[] chunk, int count, ByteBuffer bytes) throws IOException {
+        try (FileChannel out = FileChannel.open(run, StandardOpenOption.WRITE)) {
+            for (int written = 0; written < count; ) {
+                int n = Math.min(bytes.capacity() / Long.BYTES, count - written);
+                bytes.clear();
+                bytes.asLongBuffer().put(chunk, written, n);
+                bytes.limit(n * Long.BYTES);
+                while (bytes.hasRemaining()) {
+                    out.write(bytes);
+                }
+                written += n;
+            }
+        }
+    }
+
+    private static void writeOutput(Path output, long[] sorted, int count) throws IOException {
+        try (MappedSortedLongArray array = MappedSortedLongArray.create(output, count)) {
+            for (int i = 0; i < count; i++) {
+                array.add(sorted[i]);
+            }
+        }
+    }
+
+    // Merge the sorted runs into the output through a min-heap of run cursors ordered by their
+    // current key (ties broken by run number, which keeps the merge deterministic)
+    private static void merge(List<Path> runs, Path output, long total, int bufferLongs) throws IOException {
+        RunCursor[] cursors = new RunCursor[runs.size()];
+        int[] heap = new int[runs.size()];
+        int heapSize = 0;
+        try (MappedSortedLongArray array = MappedSortedLongArray.create(output, total)) {
+            for (int r = 0; r < cursors.length; r++) {
+                cursors[r] = new RunCursor(runs.get(r), bufferLongs);
+                if (cursors[r].advance()) {
+                    heap[heapSize++] = r;
+                    siftUp(heap, heapSize - 1, cursors);
+                }
+            }
+            while (heapSize > 0) {
+                RunCursor smallest = cursors[heap[0]];
+                array.add(smallest.current);
+                if (!smallest.advance()) {
+                    heap[0] = heap[--heapSize];  // Run exhausted: drop it from the heap
+                }
+                siftDown(heap, heapSize, cursors);
+            }
+        } finally {
+            for (RunCursor cursor : cursors) {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+        }
+    }
+
+    private static boolean less(RunCursor[] cursors, int a, int b) {
+        long x = cursors[a].current, y = cursors[b].current;
+        return x < y || (x == y && a < b);
+    }
+
+    private static void siftUp(int[] heap, int i, RunCursor[] cursors) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(cursors, heap[i], heap[parent])) break;
+            int swap = heap[i];
+            heap[i] = heap[parent];
+            heap[parent] = swap;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int heapSize, RunCursor[] cursors) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && less(cursors, heap[child + 1], heap[child])) child++;
+            if (!less(cursors, heap[child], heap[i])) break;
+            int swap = heap[i];
+            heap[i] = heap[child];
+            heap[child] = swap;
+            i = child;
+        }
+    }
+
+    // Reads one run sequentially through a direct buffer, one key at a time
+    private static final class RunCursor {
+        private final FileChannel channel;
+        private final ByteBuffer bytes;
+        private LongBuffer view;  // Keys read into bytes but not consumed yet
+        long current;  // Key the cursor is on
+
+        RunCursor(Path run, int bufferLongs) throws IOException {
+            channel = FileChannel.open(run, StandardOpenOption.READ);
+            bytes = ByteBuffer.allocateDirect(bufferLongs * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            view = bytes.asLongBuffer().limit(0);
+        }
+
+        // Move to the next key; returns false at the end of the run
+        boolean advance() throws IOException {
+            if (!view.hasRemaining()) {
+                bytes.clear();
+                int read;
+                do {
+                    read = channel.read(bytes);  // Fill the buffer unless the run ends first
+                } while (read >= 0 && bytes.hasRemaining());
+                bytes.flip();
+                view = bytes.asLongBuffer();
+                if (!view.hasRemaining()) {
+                    return false;
+                }
+            }
+            current = view.get();
+            return true;
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
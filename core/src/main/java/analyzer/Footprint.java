@@ -0,0 +1,47 @@
+package analyzer;
+
+// Rough object sizes for the footprint estimates in Metrics, assuming a 64-bit JVM with
+// compressed references: 12-byte object headers, 16-byte array headers, 4-byte references and
+// every object padded to a multiple of 8 bytes
+final class Footprint {
+    static final int REFERENCE = 4;  // Bytes per object reference
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+
+    private Footprint() {
+    }
+
+    // Size of an object whose fields take fieldBytes bytes
+    static long object(int fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    // Size of an array of references (0 for no array)
+    static long array(Object[] array) {
+        return array == null ? 0 : align(ARRAY_HEADER + (long) array.length * REFERENCE);
+    }
+
+    // Size of an int array (0 for no array)
+    static long array(int[] array) {
+        return array == null ? 0 : align(ARRAY_HEADER + (long) array.length * Integer.BYTES);
+    }
+
+    // Size of a boolean array (0 for no array)
+    static long array(boolean[] array) {
+        return array == null ? 0 : align(ARRAY_HEADER + (long) array.length);
+    }
+
+    // Size of a short array (0 for no array)
+    static long array(short[] array) {
+        return array == null ? 0 : align(ARRAY_HEADER + (long) array.length * Short.BYTES);
+    }
+
+    // Size of a long array (0 for no array)
+    static long array(long[] array) {
+        return array == null ? 0 : align(ARRAY_HEADER + (long) array.length * Long.BYTES);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,170 @@
+package analyzer;
+
+// Open-addressing hash index over the elements of an UnsortedArray, kept up to date as the
+// array changes so that a lookup costs O(1) expected probes instead of a scan. There is one
+// slot per distinct element: it holds the position + 1 of the element's first occurrence
+// (0 marks an empty slot), how many equal elements the array holds, and the element's mixed
+// hash, so slots of other elements are passed over without calling equals. Probing is linear;
+// the table doubles before it gets more than half full and halves when it drops below an
+// eighth. Removal shifts the entries that follow back into the gap instead of leaving a
+// tombstone, so probe sequences do not lengthen however many elements come and go
+final class HashIndex {
+    private static final int MIN_CAPACITY = 16;  // Smallest table, and the size of an empty one
+
+    private int[] slots;  // Position + 1 of the first occurrence of each slot's element, or 0 if the slot is empty
+    private int[] counts;  // Number of elements equal to each slot's element
+    private int[] hashes;  // Mixed hash of each slot's element
+    private int distinct;  // Number of occupied slots
+    private int probes;  // Occupied slots checked by the last lookup
+
+    // Index the first size elements
+    HashIndex(Object[] elements, int size) {
+        rebuild(elements, size, MIN_CAPACITY);
+    }
+
+    // Position of the first element equal to key, or -1 if there is none. One probe is counted
+    // per occupied slot checked, as one comparison is counted per element checked by a scan
+    int find(Object[] elements, Object key) {
+        int slot = slotOf(elements, key, BatchSearch.mix(key.hashCode()));
+        return slots[slot] - 1;
+    }
+
+    // Index elements[index], which has just been appended to the array
+    void add(Object[] elements, int index) {
+        Object element = elements[index];
+        int hash = BatchSearch.mix(element.hashCode());
+        int slot = slotOf(elements, element, hash);
+        if (slots[slot] != 0) {
+            counts[slot]++;  // An earlier equal element stays the first occurrence
+            return;
+        }
+        if (2 * (distinct + 1) > slots.length) {
+            rebuild(elements, index + 1, slots.length * 2);  // Indexes the new element as well
+            return;
+        }
+        slots[slot] = index + 1;
+        counts[slot] = 1;
+        hashes[slot] = hash;
+        distinct++;
+    }
+
+    // Drop the element that was at position index, after the array has moved the elements
+    // behind it down one place; every position behind it is lowered to match. elements[0, size)
+    // is the array without it
+    void remove(Object removed, int index, Object[] elements, int size) {
+        // Find the removed element's slot. Positions behind it are not lowered yet, so they
+        // are one ahead of where their elements now are, and its own position may be the gap
+        int hash = BatchSearch.mix(removed.hashCode());
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (true) {
+            int position = slots[slot] - 1;
+            if (hashes[slot] == hash && (position == index
+                    || elements[position > index ? position - 1 : position].equals(removed))) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (index < size) {  // Nothing moved when the last element went
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] > index + 1) {
+                    slots[i]--;
+                }
+            }
+        }
+        if (--counts[slot] == 0) {
+            removeSlot(slot);
+            if (slots.length > MIN_CAPACITY && 8 * distinct < slots.length) {
+                rebuild(elements, size, slots.length / 2);
+            }
+        } else if (slots[slot] == index + 1) {
+            // The first occurrence went; the next one is further on in the array
+            int next = index;
+            while (!elements[next].equals(removed)) {
+                next++;
+            }
+            slots[slot] = next + 1;
+        }
+    }
+
+    // Occupied slots checked by the last lookup
+    int getProbes() {
+        return probes;
+    }
+
+    // Number of slots in the table
+    int capacity() {
+        return slots.length;
+    }
+
+    // Estimated bytes held by the table
+    long footprintBytes() {
+        return Footprint.array(slots) + Footprint.array(counts) + Footprint.array(hashes);
+    }
+
+    // Slot holding an element equal to key, or the empty slot that ends its probe sequence;
+    // counts the occupied slots checked as the probes of this lookup
+    private int slotOf(Object[] elements, Object key, int hash) {
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        int checked = 0;
+        while (slots[slot] != 0) {
+            checked++;
+            if (hashes[slot] == hash && elements[slots[slot] - 1].equals(key)) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        probes = checked;
+        return slot;
+    }
+
+    // Empty a slot by backward shift: walk the run of occupied slots after it and move back
+    // every entry whose home slot is not between the gap and its current slot, so every entry
+    // stays reachable from its home slot without a tombstone
+    private void removeSlot(int gap) {
+        int mask = slots.length - 1;
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (slots[slot] == 0) {
+                break;
+            }
+            int home = hashes[slot] & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                slots[gap] = slots[slot];
+                counts[gap] = counts[slot];
+                hashes[gap] = hashes[slot];
+                gap = slot;
+            }
+        }
+        slots[gap] = 0;
+        counts[gap] = 0;
+        distinct--;
+    }
+
+    // Replace the table with one of at least the given capacity holding the first size
+    // elements, doubling further whenever it would get more than half full
+    private void rebuild(Object[] elements, int size, int capacity) {
+        slots = new int[capacity];
+        counts = new int[capacity];
+        hashes = new int[capacity];
+        distinct = 0;
+        for (int i = 0; i < size; i++) {
+            Object element = elements[i];
+            int hash = BatchSearch.mix(element.hashCode());
+            int slot = slotOf(elements, element, hash);
+            if (slots[slot] != 0) {
+                counts[slot]++;
+            } else if (2 * (distinct + 1) > slots.length) {
+                rebuild(elements, size, slots.length * 2);
+                return;
+            } else {
+                slots[slot] = i + 1;
+                counts[slot] = 1;
+                hashes[slot] = hash;
+                distinct++;
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Read-only binary search tree with no Node objects: the values are stored in one array in
+// Eytzinger (breadth-first) order, where slot 1 holds the root and the children of slot k are
+// slots 2k and 2k + 1 (see SearchLayouts.eytzinger). The tree is complete, so its height is
+// floor(log2(n)) + 1, a child is found by arithmetic instead of a pointer load, and the top
+// levels that every search passes through share a few cache lines. The tree cannot change
+// after it is built, so it has no add; build a new one from an updated BST or sorted array instead
+public class ImplicitBST<T extends Comparable<T>> implements LookupCollection<T> {
+    private static final int SEARCH_LANES = 16;  // Keys searchAll walks down the tree at the same time
+
+    private final T[] layout;  // Slot k holds the value of node k; slot 0 is unused
+    private final int size;  // Number of values in the tree
+    private int comparisons;  // Counter for comparisons during search operations
+    private XorFilter filter;  // Membership filter checked before every search while filtering is on, else null
+    private double filterFalsePositiveRate = BloomFilter.DEFAULT_FALSE_POSITIVE_RATE;  // Rate the filter is built for
+    private final Metrics metrics = new Metrics("ImplicitBST", false, this::size, this::footprintBytes, this::depthHistogram);
+
+    // Constructor for a tree over an existing Eytzinger layout holding size values
+    private ImplicitBST(T[] layout, int size) {
+        this.layout = layout;
+        this.size = size;
+        comparisons = 0;
+    }
+
+    // Build a tree from values in ascending order (equal values are kept, and search finds them
+    // all the same). Building is a permutation of the values and makes no comparisons
+    public static <T extends Comparable<T>> ImplicitBST<T> fromSorted(T[] sorted) {
+        return new ImplicitBST<>(SearchLayouts.eytzinger(sorted, sorted.length), sorted.length);
+    }
+
+    // Build a tree from the elements of a sorted array
+    public static <T extends Comparable<T>> ImplicitBST<T> from(SortedArray<T> sortedArray) {
+        if (!sortedArray.isSorted()) {
+            throw new IllegalArgumentException("The array is not sorted; call sort() first");
+        }
+        return new ImplicitBST<>(SearchLayouts.eytzinger(sortedArray.elements(), sortedArray.size()), sortedArray.size());
+    }
+
+    // Build a tree holding the same values as a pointer-based tree, read in order by its
+    // iterator; the shape is the complete tree, whatever the shape of the source
+    @SuppressWarnings("unchecked") // Suppresses warning for casting a generic array
+    public static <T extends Comparable<T>> ImplicitBST<T> from(BST<T> tree) {
+        T[] sorted = (T[]) new Comparable[tree.size()];
+        int i = 0;
+        for (T value : tree) {
+            sorted[i++] = value;
+        }
+        return fromSorted(sorted);
+    }
+
+    // Get the number of values in the tree
+    public int size() {
+        return size;
+    }
+
+    // Get the height of the tree (0 if it is empty)
+    public int height() {
+        return 32 - Integer.numberOfLeadingZeros(size);
+    }
+
+    // Turn the membership filter on or off. The tree never changes, so the filter is an xor
+    // filter built once over all values (see XorFilter) rather than a Bloom filter; search
+    // checks it first, so most searches for absent values end without a descent. getMetrics()
+    // counts the filter's hits, rejects and false positives
+    public void setFiltered(boolean filtered) {
+        if (!filtered) {
+            filter = null;
+        } else if (filter == null) {
+            filter = XorFilter.build(layout, 1, size + 1, filterFalsePositiveRate);
+        }
+    }
+
+    // Whether search checks the membership filter first
+    public boolean isFiltered() {
+        return filter != null;
+    }
+
+    // Set the false positive rate the filter is built for (0.01 by default), rebuilding it if it is on
+    public void setFilterFalsePositiveRate(double falsePositiveRate) {
+        BloomFilter.checkFalsePositiveRate(falsePositiveRate);
+        filterFalsePositiveRate = falsePositiveRate;
+        if (filter != null) {
+            filter = XorFilter.build(layout, 1, size + 1, falsePositiveRate);
+        }
+    }
+
+    // Method to search for a value in the tree. The descent is the same as BST.search, and so is
+    // the count: one comparison per node checked, plus one for stepping off the bottom; a value
+    // the membership filter rejects costs none
+    @Override
+    public boolean search(T value) {
+        long start = metrics.start();
+        comparisons = 0;  // Each search is counted on its own
+        if (filter != null && !filter.mightContain(value)) {
+            metrics.recordFilter(false, false);
+            metrics.record(Metrics.Operation.SEARCH, 1, 0, start);
+            return false;
+        }
+        boolean found = false;
+        int k = 1;
+        while (true) {
+            comparisons++;
+            if (k > size) {
+                break;  // Stepped past a leaf, so the value is not in the tree
+            }
+            int cmp = value.compareTo(layout[k]);
+            if (cmp == 0) {
+                found = true;
+                break;
+            }
+            k = 2 * k + (cmp > 0 ? 1 : 0);  // Left child if value is smaller, right child if larger
+        }
+        if (filter != null) {
+            metrics.recordFilter(true, found);
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return found;
+    }
+
+    // Search for a batch of keys with interleaved descents, as BST.searchAll does: up to
+    // SEARCH_LANES keys walk down the tree together, one step per round, so the loads of
+    // different keys can overlap. Each key is charged exactly what search() would charge it
+    @Override
+    public SearchResult searchAll(T[] keys) {
+        long start = metrics.start();
+        SearchResult result = new SearchResult(keys.length);
+        int[] current = new int[SEARCH_LANES];  // Slot each lane is about to compare with
+        int[] lane = new int[SEARCH_LANES];  // Batch index of the key each lane is searching for
+        int active = 0;  // Lanes in use are [0, active)
+        int next = 0;  // Next key to start
+        while (active < SEARCH_LANES && next < keys.length) {
+            lane[active] = next++;
+            current[active++] = 1;
+        }
+        while (active > 0) {
+            for (int l = 0; l < active; ) {
+                int index = lane[l];
+                int k = current[l];
+                result.comparisons[index]++;
+                boolean done = true;
+                if (k <= size) {
+                    int cmp = keys[index].compareTo(layout[k]);
+                    if (cmp == 0) {
+                        result.found.set(index);
+                    } else {
+                        current[l] = 2 * k + (cmp > 0 ? 1 : 0);
+                        done = false;
+                    }
+                }
+                if (!done) {
+                    l++;
+                } else if (next < keys.length) {
+                    lane[l] = next++;  // Reuse the lane for the next key
+                    current[l++] = 1;
+                } else {
+                    active--;  // Retire the lane by moving the last active lane into it
+                    lane[l] = lane[active];
+                    current[l] = current[active];
+                }
+            }
+        }
+        comparisons = (int) result.getTotalComparisons();  // The batch counts as the last search
+        metrics.record(Metrics.Operation.SEARCH, keys.length, result.getTotalComparisons(), start);
+        return result;
+    }
+
+    // Get the number of comparisons made during the last search
+    @Override
+    public int getComparisons() {
+        return comparisons;
+    }
+
+    // Get the counters, timers, footprint and depth histogram of the tree
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Estimated bytes held by the layout array and the filter, not counting the values
+    private long footprintBytes() {
+        return Footprint.array(layout) + (filter == null ? 0 : filter.footprintBytes());
+    }
+
+    // Number of nodes at each depth: every level of a complete tree is full except the last
+    private long[] depthHistogram() {
+        long[] histogram = new long[height()];
+        for (int depth = 0; depth < histogram.length; depth++) {
+            long first = 1L << depth;  // Slot of the first node at this depth
+            histogram[depth] = Math.min(first, size - first + 1);
+        }
+        return histogram;
+    }
+
+    // Write the tree to a snapshot file (layout in SnapshotOutput); the payload is the values
+    // in slot order, encoded by the codec, so loading needs no rearranging
+    public void save(Path file, KeyCodec<T> codec) throws IOException {
+        try (SnapshotOutput out = new SnapshotOutput(file, SnapshotKind.IMPLICIT_BST, codec.id(), 0, size)) {
+            codec.writeAll(layout, 1, size + 1, out);
+            out.commit();
+        }
+    }
+
+    // Load a tree from a snapshot written by save, reading the values straight into the layout
+    @SuppressWarnings("unchecked") // Suppresses warning for casting a generic array
+    public static <T extends Comparable<T>> ImplicitBST<T> load(Path file, KeyCodec<T> codec) throws IOException {
+        try (SnapshotInput in = SnapshotInput.open(file, SnapshotKind.IMPLICIT_BST, codec.id())) {
+            int count = in.count(codec.minBytes());
+            T[] layout = (T[]) new Comparable[count + 1];
+            codec.readAll(layout, 1, count + 1, in);
+            in.finish();
+            return new ImplicitBST<>(layout, count);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Primitive int version of BST. Node i is keys[i] with child indices left[i] and right[i]
+// (NIL for no child), so the tree is three int arrays instead of one object per key.
+// add and search walk the tree with a loop rather than recursion
+public class IntBST implements IntSearchableCollection {
+    private static final int NIL = -1;  // Index used as the "null" child
+    private static final int DEFAULT_CAPACITY = 16;  // Initial number of node slots
+    private static final int SEARCH_LANES = 16;  // Keys searchAll walks down the tree at the same time
+
+    private int[] keys;  // keys[i] is the value stored in node i
+    private int[] left;  // left[i] is the index of the left child of node i
+    private int[] right;  // right[i] is the index of the right child of node i
+    private int root;  // Index of the root node, or NIL if the tree is empty
+    private int nodeCount;  // Number of node slots in use
+    private int comparisons;  // Counter for comparisons during search operations
+    private final Metrics metrics = new Metrics("IntBST", false, this::size, this::footprintBytes, this::depthHistogram);
+
+    // Constructor to initialize an empty BST
+    public IntBST() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Constructor that reserves room for the given number of nodes up front
+    public IntBST(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        keys = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        root = NIL;  // Initially, the tree is empty
+        nodeCount = 0;
+        comparisons = 0;
+    }
+
+    // Method to add a value to the tree (duplicates are ignored, as in BST)
+    @Override
+    public void add(int value) {
+        long start = metrics.start();
+        int cost = 0;  // Comparisons made by this add
+        int node = root;
+        if (root == NIL) {
+            root = newNode(value);
+            node = NIL;  // Nothing left to walk
+        }
+        while (node != NIL) {
+            cost++;
+            int key = keys[node];
+            if (value < key) {
+                if (left[node] == NIL) {
+                    int child = newNode(value);  // Allocate first: newNode may replace the arrays
+                    left[node] = child;
+                    break;
+                }
+                node = left[node];  // Go to the left child if value is smaller
+            } else if (value > key) {
+                if (right[node] == NIL) {
+                    int child = newNode(value);
+                    right[node] = child;
+                    break;
+                }
+                node = right[node];  // Go to the right child if value is larger
+            } else {
+                break;  // Value already present
+            }
+        }
+        metrics.record(Metrics.Operation.ADD, 1, cost, start);
+    }
+
+    // Method to search for a value in the tree
+    @Override
+    public boolean search(int value) {
+        long start = metrics.start();
+        comparisons = 0;  // Each search is counted on its own
+        int node = root;
+        boolean found;
+        while (true) {
+            comparisons++;  // Increment the comparison counter each time we check a node
+            if (node == NIL) {
+                found = false;  // Value not found if we hit an empty child
+                break;
+            }
+            int key = keys[node];
+            if (value == key) {
+                found = true;  // Value found
+                break;
+            }
+            node = value < key ? left[node] : right[node];
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return found;
+    }
+
+    // Search for a batch of keys with interleaved descents (see BST.searchAll): up to SEARCH_LANES
+    // keys step down the tree in turn, so their independent array loads can overlap
+    @Override
+    public SearchResult searchAll(int[] probes) {
+        long start = metrics.start();
+        SearchResult result = new SearchResult(probes.length);
+        int[] current = new int[SEARCH_LANES];  // Node each lane is about to compare with
+        int[] lane = new int[SEARCH_LANES];  // Batch index of the key each lane is searching for
+        int active = 0;  // Lanes in use are [0, active)
+        int nextProbe = 0;  // Next key to start
+        while (active < SEARCH_LANES && nextProbe < probes.length) {
+            lane[active] = nextProbe++;
+            current[active++] = root;
+        }
+        while (active > 0) {
+            for (int l = 0; l < active; ) {
+                int index = lane[l];
+                int node = current[l];
+                result.comparisons[index]++;
+                boolean done = true;
+                if (node != NIL) {
+                    int value = probes[index];
+                    int key = keys[node];
+                    if (value == key) {
+                        result.found.set(index);
+                    } else {
+                        current[l] = value < key ? left[node] : right[node];
+                        done = false;
+                    }
+                }
+                if (!done) {
+                    l++;
+                } else if (nextProbe < probes.length) {
+                    lane[l] = nextProbe++;  // Reuse the lane for the next key
+                    current[l++] = root;
+                } else {
+                    active--;  // Retire the lane by moving the last active lane into it
+                    lane[l] = lane[active];
+                    current[l] = current[active];
+                }
+            }
+        }
+        comparisons = (int) result.getTotalComparisons();  // The batch counts as the last search
+        metrics.record(Metrics.Operation.SEARCH, probes.length, result.getTotalComparisons(), start);
+        return result;
+    }
+
+    // Get the number of comparisons made during the last search
+    @Override
+    public int getComparisons() {
+        return comparisons;
+    }
+
+    // Get the counters, timers, footprint and depth histogram of the tree
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Estimated bytes held by the key and child arrays
+    private long footprintBytes() {
+        return Footprint.array(keys) + Footprint.array(left) + Footprint.array(right);
+    }
+
+    // Get the number of keys in the tree
+    public int size() {
+        return nodeCount;
+    }
+
+    // Calculate the height of the tree (0 for an empty tree) with an explicit stack
+    public int calculateHeight() {
+        return depthHistogram().length;
+    }
+
+    // Number of nodes at each depth (index 0 holds the root), counted with an explicit stack
+    private long[] depthHistogram() {
+        if (root == NIL) {
+            return new long[0];
+        }
+        int[] nodes = new int[nodeCount];  // Pending nodes; each node is pushed exactly once
+        int[] depths = new int[nodeCount];  // Depth of each pending node
+        long[] histogram = new long[16];
+        int height = 0;
+        int top = 0;
+        nodes[top] = root;
+        depths[top++] = 0;
+        while (top > 0) {
+            int node = nodes[--top];
+            int depth = depths[top];
+            if (depth == histogram.length) {
+                histogram = Arrays.copyOf(histogram, depth * 2);
+            }
+            histogram[depth]++;
+            height = Math.max(height, depth + 1);
+            if (left[node] != NIL) {
+                nodes[top] = left[node];
+                depths[top++] = depth + 1;
+            }
+            if (right[node] != NIL) {
+                nodes[top] = right[node];
+                depths[top++] = depth + 1;
+            }
+        }
+        return Arrays.copyOf(histogram, height);
+    }
+
+    // Write the tree to a snapshot file (layout in SnapshotOutput). The node arrays are the
+    // tree's own array layout, so the payload is the root index followed by keys, left and
+    // right for slots [0, nodeCount), each copied in bulk
+    public void save(Path file) throws IOException {
+        try (SnapshotOutput out = new SnapshotOutput(file, SnapshotKind.INT_BST, 0, 0, nodeCount)) {
+            out.writeInt(root);
+            out.writeInts(keys, 0, nodeCount);
+            out.writeInts(left, 0, nodeCount);
+            out.writeInts(right, 0, nodeCount);
+            out.commit();
+        }
+    }
+
+    // Load a tree from a snapshot written by save. The arrays are read back as they were written,
+    // so the tree is rebuilt in O(n) bulk reads without comparing a single key
+    public static IntBST load(Path file) throws IOException {
+        try (SnapshotInput in = SnapshotInput.open(file, SnapshotKind.INT_BST, 0)) {
+            int count = in.count(3 * Integer.BYTES);  // Key, left and right per node
+            IntBST tree = new IntBST(count);
+            tree.root = in.readInt();
+            in.readInts(tree.keys, 0, count);
+            in.readInts(tree.left, 0, count);
+            in.readInts(tree.right, 0, count);
+            in.finish();
+            if (tree.root < NIL || tree.root >= count || (count > 0) != (tree.root != NIL)) {
+                throw new IOException("Corrupt snapshot, root " + tree.root + " with " + count + " nodes: " + file);
+            }
+            tree.nodeCount = count;
+            return tree;
+        }
+    }
+
+    // Take the next free slot for a new leaf node holding value
+    private int newNode(int value) {
+        if (nodeCount == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+        }
+        int node = nodeCount++;
+        keys[node] = value;
+        left[node] = NIL;
+        right[node] = NIL;
+        return node;
+    }
+}
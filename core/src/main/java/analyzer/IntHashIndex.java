@@ -0,0 +1,127 @@
+package analyzer;
+
+// int version of HashIndex for IntUnsortedArray: a linear-probing hash set of the distinct keys,
+// each with the number of times the array holds it. A count of 0 marks an empty slot, so any
+// int, including 0, can be stored as a key. Same thresholds as HashIndex: the table doubles
+// before it gets more than half full, halves below an eighth, and removal shifts entries back
+// instead of leaving tombstones
+final class IntHashIndex {
+    private static final int MIN_CAPACITY = 16;  // Smallest table, and the size of an empty one
+
+    private int[] keys;  // Key in each occupied slot
+    private int[] counts;  // Occurrences of each slot's key in the array, 0 for an empty slot
+    private int distinct;  // Number of occupied slots
+    private int probes;  // Occupied slots checked by the last lookup
+
+    // Index the first size elements
+    IntHashIndex(int[] elements, int size) {
+        rebuild(elements, size, MIN_CAPACITY);
+    }
+
+    // Whether key is present, counting one probe per occupied slot checked
+    boolean contains(int key) {
+        return counts[slotOf(key)] != 0;
+    }
+
+    // Index a key that has just been appended to the array; elements[0, size) is the array
+    // including it
+    void add(int[] elements, int size, int key) {
+        int slot = slotOf(key);
+        if (counts[slot] != 0) {
+            counts[slot]++;
+            return;
+        }
+        if (2 * (distinct + 1) > keys.length) {
+            rebuild(elements, size, keys.length * 2);  // Indexes the new key as well
+            return;
+        }
+        keys[slot] = key;
+        counts[slot] = 1;
+        distinct++;
+    }
+
+    // Drop one occurrence of a key that has just been removed from the array; elements[0, size)
+    // is the array without it
+    void remove(int[] elements, int size, int key) {
+        int slot = slotOf(key);
+        if (--counts[slot] == 0) {
+            removeSlot(slot);
+            if (keys.length > MIN_CAPACITY && 8 * distinct < keys.length) {
+                rebuild(elements, size, keys.length / 2);
+            }
+        }
+    }
+
+    // Occupied slots checked by the last lookup
+    int getProbes() {
+        return probes;
+    }
+
+    // Number of slots in the table
+    int capacity() {
+        return keys.length;
+    }
+
+    // Estimated bytes held by the table
+    long footprintBytes() {
+        return Footprint.array(keys) + Footprint.array(counts);
+    }
+
+    // Slot holding key, or the empty slot that ends its probe sequence; counts the occupied
+    // slots checked as the probes of this lookup
+    private int slotOf(int key) {
+        int mask = keys.length - 1;
+        int slot = BatchSearch.mix(key) & mask;
+        int checked = 0;
+        while (counts[slot] != 0) {
+            checked++;
+            if (keys[slot] == key) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        probes = checked;
+        return slot;
+    }
+
+    // Empty a slot by backward shift (see HashIndex.removeSlot)
+    private void removeSlot(int gap) {
+        int mask = keys.length - 1;
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (counts[slot] == 0) {
+                break;
+            }
+            int home = BatchSearch.mix(keys[slot]) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                counts[gap] = counts[slot];
+                gap = slot;
+            }
+        }
+        counts[gap] = 0;
+        distinct--;
+    }
+
+    // Replace the table with one of at least the given capacity holding the first size
+    // elements, doubling further whenever it would get more than half full
+    private void rebuild(int[] elements, int size, int capacity) {
+        keys = new int[capacity];
+        counts = new int[capacity];
+        distinct = 0;
+        for (int i = 0; i < size; i++) {
+            int slot = slotOf(elements[i]);
+            if (counts[slot] != 0) {
+                counts[slot]++;
+            } else if (2 * (distinct + 1) > keys.length) {
+                rebuild(elements, size, keys.length * 2);
+                return;
+            } else {
+                keys[slot] = elements[i];
+                counts[slot] = 1;
+                distinct++;
+            }
+        }
+    }
+}
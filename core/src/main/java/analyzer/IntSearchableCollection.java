@@ -0,0 +1,31 @@
+package analyzer;
+
+// Operations shared by the primitive int data structures (the int counterpart of SearchableCollection)
+public interface IntSearchableCollection {
+    // Add a value to the structure
+    void add(int value);
+
+    // Check whether the value is present in the structure
+    boolean search(int value);
+
+    // Get the number of comparisons made by the most recent search (a searchAll batch counts as
+    // one search). The thread-safe structures have no single most recent search and return the
+    // total of all searches instead; getMetrics() has the long totals for every structure
+    int getComparisons();
+
+    // Counters, timers and footprint of the structure (see Metrics)
+    Metrics getMetrics();
+
+    // Search for every key of a batch (see LookupCollection.searchAll)
+    default SearchResult searchAll(int[] keys) {
+        SearchResult result = new SearchResult(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            long before = getMetrics().getComparisons(Metrics.Operation.SEARCH);
+            if (search(keys[i])) {
+                result.found.set(i);
+            }
+            result.comparisons[i] = (int) (getMetrics().getComparisons(Metrics.Operation.SEARCH) - before);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,15 @@
+package analyzer;
+
+// A primitive int structure whose elements are put in order by an explicit sort step
+public interface IntSortableCollection extends IntSearchableCollection {
+    // Sort the elements currently in the structure
+    void sort();
+
+    // Sort the elements using multiple threads; structures without a parallel sort fall back to sort()
+    default void parallelSort() {
+        sort();
+    }
+
+    // Get the number of comparisons made while sorting
+    int getSortComparisons();
+}
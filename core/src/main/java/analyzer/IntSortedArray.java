@@ -0,0 +1,449 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+// Primitive int version of SortedArray: keys are stored unboxed in an int[]
+public class IntSortedArray implements IntSortableCollection {
+    private int[] array;  // Array to store the elements
+    private int size;  // Current size of the array (number of elements in use)
+    private int sortComparisons; // Counter to track the number of comparisons during sorting
+    private int comparisons;  // Comparisons made by the last search
+    private final double growthFactor;  // Factor the capacity is multiplied by when the array is full
+    private int[] buffer;  // Scratch space for sort(), allocated on first use and reused afterwards
+    private int parallelism = ForkJoinPool.getCommonPoolParallelism();  // Number of worker threads used by parallelSort
+    private int parallelThreshold = ParallelMergeSort.DEFAULT_THRESHOLD;  // Range length parallelSort handles sequentially
+    private boolean sortedInsert;  // When set, every add inserts at its sorted position instead of appending
+    private boolean sorted = true;  // Whether the elements are known to be in order (an empty array is)
+    private SearchStrategy searchStrategy = SearchStrategy.BINARY;  // Algorithm search() uses
+    private int[] eytzingerLayout;  // Breadth-first copy for EYTZINGER, built on first use and dropped on change
+    private int[] blockedLayout;  // Implicit B-tree copy for BLOCKED, built on first use and dropped on change
+    private final Metrics metrics = new Metrics("IntSortedArray", false, this::size, this::footprintBytes, null);
+
+    // Constructor to initialize the array with a specified initial capacity
+    public IntSortedArray(int capacity) {
+        this(capacity, ArrayGrowth.DEFAULT_GROWTH_FACTOR);
+    }
+
+    // Constructor to initialize the array with a specified initial capacity and growth factor (must be > 1)
+    public IntSortedArray(int capacity, double growthFactor) {
+        ArrayGrowth.checkGrowthFactor(growthFactor);
+        array = new int[capacity];
+        size = 0;  // Initially, the size is 0 (array is empty)
+        sortComparisons = 0;  // No comparisons yet
+        this.growthFactor = growthFactor;
+    }
+
+    // Add a value to the array, growing it if it is full. In sorted-insert mode the value is
+    // placed at its sorted position; otherwise it is appended and sort() is needed before searching
+    @Override
+    public void add(int value) {
+        long start = metrics.start();
+        int before = sortComparisons;
+        dropLayouts();
+        ensureCapacity(size + 1);
+        if (sortedInsert) {
+            // Binary search for the insertion point, then shift the tail right in one block move
+            int position = upperBound(value);
+            System.arraycopy(array, position, array, position + 1, size - position);
+            array[position] = value;
+            size++;
+        } else {
+            // Add the value at the current position and increment size
+            array[size++] = value;
+            sorted = size == 1;
+        }
+        metrics.record(Metrics.Operation.ADD, 1, sortComparisons - before, start);
+    }
+
+    // Method to add every value of the given array, growing the storage at most once. In
+    // sorted-insert mode the batch is sorted on its own and merged in with one backward pass
+    public void addAll(int[] values) {
+        long start = metrics.start();
+        int before = sortComparisons;
+        dropLayouts();
+        int count = values.length;
+        ensureCapacity(size + count);
+        if (!sortedInsert) {
+            System.arraycopy(values, 0, array, size, count);
+            size += count;
+            sorted = size <= 1;
+        } else if (count > 0) {
+            mergeBatch(values);
+        }
+        metrics.record(Metrics.Operation.ADD, count, sortComparisons - before, start);
+    }
+
+    // Sort a batch on its own and merge it into the sorted array from the back
+    private void mergeBatch(int[] values) {
+        int count = values.length;
+        // Sort the batch in buffer[size, size + count), using the free tail of the array as scratch
+        ensureBuffer();
+        System.arraycopy(values, 0, buffer, size, count);
+        sortComparisons += (int) MergeSort.sort(buffer, array, size, size + count);
+
+        // Merge from the back: the largest remaining element goes to the last free slot
+        int i = size - 1;  // Last unmerged element of the array
+        int j = size + count - 1;  // Last unmerged element of the batch (in buffer)
+        int k = size + count - 1;  // Next slot to fill
+        while (j >= size) {
+            if (i >= 0) {
+                sortComparisons++;
+                if (array[i] > buffer[j]) {
+                    array[k--] = array[i--];
+                    continue;
+                }
+            }
+            array[k--] = buffer[j--];
+        }
+        size += count;
+    }
+
+    // Turn sorted-insert mode on or off. Turning it on sorts the current elements if needed
+    public void setSortedInsert(boolean sortedInsert) {
+        if (sortedInsert && !sorted) {
+            sort();
+        }
+        this.sortedInsert = sortedInsert;
+    }
+
+    // Whether add keeps the array sorted
+    public boolean isSortedInsert() {
+        return sortedInsert;
+    }
+
+    // Whether the elements are currently in sorted order (so search gives reliable answers)
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    // Index of the first element greater than value, counting each comparison
+    private int upperBound(int value) {
+        int left = 0, right = size;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            sortComparisons++;
+            if (array[mid] <= value) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    // Make sure the scratch buffer is as long as the array
+    private void ensureBuffer() {
+        if (buffer == null || buffer.length < array.length) {
+            buffer = new int[array.length];
+        }
+    }
+
+    // Method to make sure the array can hold at least minCapacity elements without growing again
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            array = Arrays.copyOf(array, ArrayGrowth.newCapacity(array.length, minCapacity, growthFactor));
+        }
+    }
+
+    // Method to shrink the storage to the number of elements actually held
+    public void trimToSize() {
+        if (size < array.length) {
+            array = Arrays.copyOf(array, size);
+        }
+        buffer = null;  // Release the sort buffer as well; it is reallocated by the next sort
+    }
+
+    // Method to get the number of elements the array can hold before it has to grow
+    public int capacity() {
+        return array.length;
+    }
+
+    // Sort the array with a natural merge sort (see MergeSort) that reuses one scratch buffer
+    @Override
+    public void sort() {
+        long start = metrics.start();
+        dropLayouts();
+        ensureBuffer();
+        long sortCost = MergeSort.sort(array, buffer, 0, size);
+        sortComparisons += (int) sortCost;
+        sorted = true;
+        metrics.record(Metrics.Operation.SORT, size, sortCost, start);
+    }
+
+    // Sort the array on a ForkJoinPool (see ParallelMergeSort): ranges up to parallelThreshold
+    // elements are sorted by separate workers and then merged, with large merges also split
+    @Override
+    public void parallelSort() {
+        long start = metrics.start();
+        dropLayouts();
+        ensureBuffer();
+        long sortCost = ParallelMergeSort.sort(array, buffer, 0, size, parallelThreshold, parallelism);
+        sortComparisons += (int) sortCost;
+        sorted = true;
+        metrics.record(Metrics.Operation.SORT, size, sortCost, start);
+    }
+
+    // Set the number of worker threads parallelSort uses (defaults to the common pool's parallelism)
+    public void setParallelism(int parallelism) {
+        ParallelMergeSort.checkSettings(parallelism, parallelThreshold);
+        this.parallelism = parallelism;
+    }
+
+    // Set the range length below which parallelSort stops splitting and sorts sequentially
+    public void setParallelThreshold(int parallelThreshold) {
+        ParallelMergeSort.checkSettings(parallelism, parallelThreshold);
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    // Method to get the element at a specific index in the array
+    public int get(int index) {
+        // Validate the index to avoid ArrayIndexOutOfBoundsException
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return array[index];  // Return the element at the given index
+    }
+
+    // Get the number of elements currently in the array
+    public int size() {
+        return size;
+    }
+
+    // Search for a value in the sorted array with the selected search strategy
+    @Override
+    public boolean search(int value) {
+        long start = metrics.start();
+        comparisons = 0;  // Each search is counted on its own
+        boolean found;
+        switch (searchStrategy) {
+            case BRANCHLESS:
+                found = branchlessSearch(value);
+                break;
+            case EYTZINGER:
+                found = eytzingerSearch(value);
+                break;
+            case BLOCKED:
+                found = blockedSearch(value);
+                break;
+            case INTERPOLATION:
+                found = interpolationSearch(value);
+                break;
+            default:
+                found = binarySearch(value);
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return found;
+    }
+
+    // Choose the algorithm search() uses (BINARY by default); see SearchStrategy
+    public void setSearchStrategy(SearchStrategy searchStrategy) {
+        if (searchStrategy == null) {
+            throw new IllegalArgumentException("Search strategy must not be null");
+        }
+        this.searchStrategy = searchStrategy;
+    }
+
+    // Get the algorithm search() uses
+    public SearchStrategy getSearchStrategy() {
+        return searchStrategy;
+    }
+
+    // Binary search, stopping as soon as the value is found
+    private boolean binarySearch(int value) {
+        int left = 0;  // Start index of the array
+        int right = size - 1;  // End index of the array
+
+        // Perform binary search
+        while (left <= right) {
+            int mid = (left + right) >>> 1;
+            comparisons++;  // Count the comparison for searching
+
+            int current = array[mid];
+            if (current == value) {
+                return true;  // Return true if the value is found
+            }
+            // Adjust the search range based on the comparison
+            if (current < value) {
+                left = mid + 1;  // Narrow the search to the right half
+            } else {
+                right = mid - 1;  // Narrow the search to the left half
+            }
+        }
+        return false;  // Return false if the value is not found
+    }
+
+    // Binary search without an early exit; the next base is chosen with a conditional move
+    private boolean branchlessSearch(int value) {
+        if (size == 0) return false;
+        int base = 0;
+        int length = size;
+        while (length > 1) {
+            int half = length >>> 1;
+            comparisons++;
+            base = array[base + half] <= value ? base + half : base;
+            length -= half;
+        }
+        comparisons++;
+        return array[base] == value;
+    }
+
+    // Descend the Eytzinger layout to the first element not less than the value
+    private boolean eytzingerSearch(int value) {
+        if (eytzingerLayout == null) {
+            eytzingerLayout = SearchLayouts.eytzinger(array, size);
+        }
+        int[] layout = eytzingerLayout;
+        int k = 1;
+        while (k <= size) {
+            comparisons++;
+            k = 2 * k + (layout[k] < value ? 1 : 0);
+        }
+        // Undo the right turns taken after the last left turn to get the lower bound (0 if none)
+        k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+        if (k == 0) return false;
+        comparisons++;
+        return layout[k] == value;
+    }
+
+    // Walk the implicit B-tree. Each node is ranked by counting all of its keys that are less than
+    // the value, a fixed-length loop without branches that the JIT can vectorize
+    private boolean blockedSearch(int value) {
+        if (value == Integer.MAX_VALUE) {
+            // The padding is MAX_VALUE too, so only the real last element can answer this
+            comparisons++;
+            return size > 0 && array[size - 1] == value;
+        }
+        if (blockedLayout == null) {
+            blockedLayout = SearchLayouts.blocked(array, size);
+        }
+        int[] layout = blockedLayout;
+        int nodes = SearchLayouts.blockCount(size);
+        int k = 0;
+        while (k < nodes) {
+            int base = k * SearchStrategy.BLOCK_SIZE;
+            int rank = 0;
+            for (int i = 0; i < SearchStrategy.BLOCK_SIZE; i++) {
+                rank += layout[base + i] < value ? 1 : 0;
+            }
+            comparisons += SearchStrategy.BLOCK_SIZE;
+            if (rank < SearchStrategy.BLOCK_SIZE) {
+                comparisons++;
+                if (layout[base + rank] == value) return true;
+            }
+            k = SearchLayouts.blockChild(k, rank);
+        }
+        return false;
+    }
+
+    // Interpolation search: probe where the value would sit if the keys between left and right
+    // were evenly spaced. After log2(n) probes without success it switches to plain bisection
+    private boolean interpolationSearch(int value) {
+        int left = 0;
+        int right = size - 1;
+        int probesLeft = 32 - Integer.numberOfLeadingZeros(size);  // Interpolated probes before bisecting
+        while (left <= right) {
+            int mid;
+            long low = array[left];
+            long high = array[right];
+            if (probesLeft > 0 && high > low) {
+                probesLeft--;
+                long offset = Math.max(0L, Math.min(high - low, (long) value - low));
+                mid = left + (int) ((double) offset / (high - low) * (right - left));
+            } else {
+                mid = (left + right) >>> 1;
+            }
+            comparisons++;
+            int current = array[mid];
+            if (current == value) {
+                return true;
+            }
+            if (current < value) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        return false;
+    }
+
+    // Search for a batch of keys by walking the array once in key order: the keys are visited in
+    // ascending order and each search gallops forward from where the previous one stopped, so the
+    // batch costs O(m log(n / m)) comparisons and touches each part of the array at most once.
+    // Like search, it assumes the array is sorted (isSorted); on an unsorted array the answers are unreliable
+    @Override
+    public SearchResult searchAll(int[] keys) {
+        long start = metrics.start();
+        SearchResult result = new SearchResult(keys.length);
+        int position = 0;  // Lower bound of the previous (smaller or equal) key
+        for (int index : BatchSearch.sortedOrder(keys)) {
+            int key = keys[index];
+            position = BatchSearch.gallop(array, position, size, key, result, index);
+            if (position < size) {
+                result.comparisons[index]++;
+                if (array[position] == key) {
+                    result.found.set(index);
+                }
+            }
+        }
+        comparisons = (int) result.getTotalComparisons();  // The batch counts as the last search
+        metrics.record(Metrics.Operation.SEARCH, keys.length, result.getTotalComparisons(), start);
+        return result;
+    }
+
+    // Forget the search layouts; they are rebuilt from the array the next time they are needed
+    private void dropLayouts() {
+        eytzingerLayout = null;
+        blockedLayout = null;
+    }
+
+    // Write the elements to a snapshot file (layout in SnapshotOutput); the payload is the
+    // elements in index order as raw ints, and header flag SORTED_FLAG records whether they are in order
+    public void save(Path file) throws IOException {
+        int flags = sorted ? SortedArray.SORTED_FLAG : 0;
+        try (SnapshotOutput out = new SnapshotOutput(file, SnapshotKind.INT_SORTED_ARRAY, 0, flags, size)) {
+            out.writeInts(array, 0, size);
+            out.commit();
+        }
+    }
+
+    // Load an array from a snapshot written by save. The ints are read in bulk straight into the
+    // storage, so loading costs the file read and nothing else
+    public static IntSortedArray load(Path file) throws IOException {
+        try (SnapshotInput in = SnapshotInput.open(file, SnapshotKind.INT_SORTED_ARRAY, 0)) {
+            int count = in.count(Integer.BYTES);
+            IntSortedArray result = new IntSortedArray(count);
+            in.readInts(result.array, 0, count);
+            in.finish();
+            result.size = count;
+            result.sorted = (in.flags() & SortedArray.SORTED_FLAG) != 0 || count < 2;
+            return result;
+        }
+    }
+
+    // Get the number of comparisons made during the last search (sorting is counted separately)
+    @Override
+    public int getComparisons() {
+        return comparisons;
+    }
+
+    // Method to get the counters, timers and footprint of the array
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Estimated bytes held by the array, the sort buffer and the search layouts
+    private long footprintBytes() {
+        return Footprint.array(array) + Footprint.array(buffer)
+                + Footprint.array(eytzingerLayout) + Footprint.array(blockedLayout);
+    }
+
+    // Method to get the number of comparisons made by sorting, including sorted inserts
+    @Override
+    public int getSortComparisons() {
+        return sortComparisons;
+    }
+}
@@ -0,0 +1,209 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Primitive int version of SortedLinkedList: merge sort relinks the next[] indices in place
+public class IntSortedLinkedList extends IntUnsortedLinkedList implements IntSortableCollection {
+    private static final int MAX_PENDING = 64; // More pending levels than a list can ever need
+    private int sortComparisons; // To count comparisons during sorting
+    private boolean sorted = true; // Whether the nodes are known to be in order (an empty list is)
+
+    // Constructor to initialize the sorted linked list and the comparisons counter
+    public IntSortedLinkedList() {
+        super();
+        sortComparisons = 0;
+    }
+
+    // Constructor that reserves room for the given number of nodes up front
+    public IntSortedLinkedList(int initialCapacity) {
+        super(initialCapacity);
+        sortComparisons = 0;
+    }
+
+    // Add a value to the front of the list, as in IntUnsortedLinkedList; the list is then only
+    // known to be in order if it has a single node
+    @Override
+    public void add(int value) {
+        super.add(value);
+        sorted = nodeCount == 1;
+    }
+
+    // Whether the nodes are currently in sorted order
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    // Public method to sort the list with a bottom-up natural merge sort: the list is consumed
+    // one natural run at a time (strictly descending runs are reversed), and runs are combined
+    // like a binary counter where pending[i] holds a list built from 2^i runs. No middle finding,
+    // no recursion and a fixed 64-slot array of extra space
+    @Override
+    public void sort() {
+        long start = metrics.start();
+        int before = sortComparisons;
+        // If the list is empty or contains only one element, it is already sorted
+        if (head != NIL && next[head] != NIL) {
+            sortRuns();
+        }
+        sorted = true;
+        metrics.record(Metrics.Operation.SORT, nodeCount, sortComparisons - before, start);
+    }
+
+    // Cut the list into natural runs and merge them, as described at sort()
+    private void sortRuns() {
+
+        int[] pending = new int[MAX_PENDING];
+        Arrays.fill(pending, NIL);
+        int levels = 0; // Number of pending slots in use
+        int rest = head; // Part of the list not yet cut into runs
+        while (rest != NIL) {
+            // Cut the next natural run off the front of the list
+            int run = rest;
+            int last = next[rest]; // Last node of the run so far
+            if (last == NIL) {
+                rest = NIL;
+            } else {
+                sortComparisons++;
+                boolean descending = values[last] < values[run];
+                int following = next[last];
+                while (following != NIL) {
+                    sortComparisons++;
+                    if (descending ? values[following] >= values[last] : values[following] < values[last]) {
+                        break; // The run ends before following
+                    }
+                    last = following;
+                    following = next[following];
+                }
+                next[last] = NIL;
+                rest = following;
+                if (descending) {
+                    run = reverse(run);
+                }
+            }
+
+            // Carry the run up through the occupied slots, merging as it goes (earlier runs on the left)
+            int level = 0;
+            while (level < levels && pending[level] != NIL) {
+                run = merge(pending[level], run);
+                pending[level] = NIL;
+                level++;
+            }
+            pending[level] = run;
+            if (level == levels) {
+                levels++;
+            }
+        }
+
+        // Merge what is left in the slots; higher slots hold earlier runs
+        int result = NIL;
+        for (int level = 0; level < levels; level++) {
+            if (pending[level] != NIL) {
+                result = result == NIL ? pending[level] : merge(pending[level], result);
+            }
+        }
+        head = result;
+    }
+
+    // Reverse a NIL-terminated chain in place and return its new first node
+    private int reverse(int node) {
+        int reversed = NIL;
+        while (node != NIL) {
+            int following = next[node];
+            next[node] = reversed;
+            reversed = node;
+            node = following;
+        }
+        return reversed;
+    }
+
+    // Method to merge two sorted lists into one sorted list and return its first node
+    private int merge(int left, int right) {
+        int first;  // First node of the merged list (takes the place of a dummy node)
+        sortComparisons++;
+        if (values[left] <= values[right]) {
+            first = left;
+            left = next[left];
+        } else {
+            first = right;
+            right = next[right];
+        }
+
+        int current = first; // Last node of the merged list so far
+        while (left != NIL && right != NIL) {
+            sortComparisons++; // Count the comparison made during the merge process
+            if (values[left] <= values[right]) {
+                next[current] = left;
+                left = next[left];
+            } else {
+                next[current] = right;
+                right = next[right];
+            }
+            current = next[current];
+        }
+
+        // Append any remaining nodes from left or right list
+        next[current] = left != NIL ? left : right;
+        return first;
+    }
+
+    // Search for a batch of keys in the sorted list with a single walk over the links, resuming
+    // for each (ascending) key at the node where the previous one stopped. A list that has had
+    // adds since its last sort uses IntUnsortedLinkedList's hash table instead
+    @Override
+    public SearchResult searchAll(int[] keys) {
+        if (!sorted) {
+            return super.searchAll(keys);
+        }
+        long start = metrics.start();
+        SearchResult result = new SearchResult(keys.length);
+        int node = head;  // First node not smaller than the previous key
+        for (int index : BatchSearch.sortedOrder(keys)) {
+            int key = keys[index];
+            while (node != NIL) {
+                result.comparisons[index]++;
+                int value = values[node];
+                if (value >= key) {
+                    if (value == key) {
+                        result.found.set(index);
+                    }
+                    break;
+                }
+                node = next[node];
+            }
+        }
+        comparisons = (int) result.getTotalComparisons(); // The batch counts as the last search
+        metrics.record(Metrics.Operation.SEARCH, keys.length, result.getTotalComparisons(), start);
+        return result;
+    }
+
+    // Write the list to a snapshot file (layout in SnapshotOutput); the payload is the values in
+    // list order as raw ints, and header flag SORTED_FLAG records whether they are in order
+    @Override
+    public void save(Path file) throws IOException {
+        int flags = sorted ? SortedArray.SORTED_FLAG : 0;
+        try (SnapshotOutput out = new SnapshotOutput(file, SnapshotKind.INT_SORTED_LINKED_LIST, 0, flags, nodeCount)) {
+            writeValues(out);
+            out.commit();
+        }
+    }
+
+    // Load a list from a snapshot written by save, in the same order and without sorting
+    public static IntSortedLinkedList load(Path file) throws IOException {
+        try (SnapshotInput in = SnapshotInput.open(file, SnapshotKind.INT_SORTED_LINKED_LIST, 0)) {
+            int count = in.count(Integer.BYTES);
+            IntSortedLinkedList result = new IntSortedLinkedList(count);
+            result.readValues(in, count);
+            in.finish();
+            result.sorted = (in.flags() & SortedArray.SORTED_FLAG) != 0 || count < 2;
+            return result;
+        }
+    }
+
+    // Method to get the number of comparisons made during the sorting process
+    @Override
+    public int getSortComparisons() {
+        return sortComparisons;
+    }
+}
@@ -0,0 +1,127 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Unrolled version of IntSortedLinkedList. Sorting packs the blocks into consecutive slots of
+// the arena (see IntUnrolledLinkedList.pack), so the keys form one contiguous range that the
+// array merge sort sorts in place; the blocks are then linked in arena order, which is key
+// order. add still inserts at the head, so the list is only in order again after the next sort
+public class IntSortedUnrolledLinkedList extends IntUnrolledLinkedList implements IntSortableCollection {
+    private int sortComparisons; // To count comparisons during sorting
+    private boolean sorted = true; // Whether the keys are known to be in order (an empty list is)
+
+    // Constructor to initialize the sorted list and the comparisons counter
+    public IntSortedUnrolledLinkedList() {
+        super();
+        sortComparisons = 0;
+    }
+
+    // Constructor that reserves arena space for the given number of keys up front
+    public IntSortedUnrolledLinkedList(int initialCapacity) {
+        super(initialCapacity);
+        sortComparisons = 0;
+    }
+
+    // Add a value to the front of the list, as in IntUnrolledLinkedList; the list is then only
+    // known to be in order if it has a single key
+    @Override
+    public void add(int value) {
+        super.add(value);
+        sorted = size == 1;
+    }
+
+    // Whether the keys are currently in sorted order
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    // Public method to sort the list: pack the keys into one range of the arena and merge
+    // sort that range with the array merge sort (natural runs, so a list that is already in
+    // order costs n - 1 comparisons)
+    @Override
+    public void sort() {
+        long start = metrics.start();
+        int before = sortComparisons;
+        if (size > 1) {
+            pack();
+            int from = packedOffset(size);
+            sortComparisons += (int) MergeSort.sort(keys, new int[from + size], from, from + size);
+        }
+        sorted = true;
+        metrics.record(Metrics.Operation.SORT, size, sortComparisons - before, start);
+    }
+
+    // Search for a batch of keys in the sorted list with a single walk over the blocks, resuming
+    // for each (ascending) key where the previous one stopped. A block whose last key is smaller
+    // than the key is passed over after that one comparison, without looking at the rest of it.
+    // A list that has had adds since its last sort uses IntUnrolledLinkedList's hash table instead
+    @Override
+    public SearchResult searchAll(int[] probes) {
+        if (!sorted) {
+            return super.searchAll(probes);
+        }
+        long begin = metrics.start();
+        SearchResult result = new SearchResult(probes.length);
+        int block = head;  // Block holding the first key not smaller than the previous key
+        int position = block == NIL ? 0 : block * BLOCK_SIZE + start[block];  // That key's slot
+        for (int index : BatchSearch.sortedOrder(probes)) {
+            int key = probes[index];
+            while (block != NIL) {
+                int last = (block + 1) * BLOCK_SIZE - 1;
+                result.comparisons[index]++;
+                if (keys[last] < key) {
+                    block = next[block];  // Every key left in this block is smaller
+                    if (block != NIL) {
+                        position = block * BLOCK_SIZE + start[block];
+                    }
+                    continue;
+                }
+                while (true) {  // Stops at last at the latest, as keys[last] >= key
+                    result.comparisons[index]++;
+                    int value = keys[position];
+                    if (value >= key) {
+                        if (value == key) {
+                            result.found.set(index);
+                        }
+                        break;
+                    }
+                    position++;
+                }
+                break;
+            }
+        }
+        comparisons = (int) result.getTotalComparisons(); // The batch counts as the last search
+        metrics.record(Metrics.Operation.SEARCH, probes.length, result.getTotalComparisons(), begin);
+        return result;
+    }
+
+    // Write the list to a snapshot file (layout in SnapshotOutput); the payload is the keys in
+    // list order as raw ints, and header flag SORTED_FLAG records whether they are in order
+    @Override
+    public void save(Path file) throws IOException {
+        int flags = sorted ? SortedArray.SORTED_FLAG : 0;
+        try (SnapshotOutput out = new SnapshotOutput(file, SnapshotKind.INT_SORTED_UNROLLED_LINKED_LIST, 0, flags, size)) {
+            writeKeys(out);
+            out.commit();
+        }
+    }
+
+    // Load a list from a snapshot written by save, in the same order and without sorting
+    public static IntSortedUnrolledLinkedList load(Path file) throws IOException {
+        try (SnapshotInput in = SnapshotInput.open(file, SnapshotKind.INT_SORTED_UNROLLED_LINKED_LIST, 0)) {
+            int count = in.count(Integer.BYTES);
+            IntSortedUnrolledLinkedList result = new IntSortedUnrolledLinkedList(count);
+            result.readKeys(in, count);
+            in.finish();
+            result.sorted = (in.flags() & SortedArray.SORTED_FLAG) != 0 || count < 2;
+            return result;
+        }
+    }
+
+    // Method to get the number of comparisons made during the sorting process
+    @Override
+    public int getSortComparisons() {
+        return sortComparisons;
+    }
+}
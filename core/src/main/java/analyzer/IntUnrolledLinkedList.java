@@ -0,0 +1,233 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Unrolled version of IntUnsortedLinkedList: every node holds a block of up to BLOCK_SIZE keys
+// instead of one, so a scan reads BLOCK_SIZE contiguous ints for every link it follows and the
+// links are BLOCK_SIZE times fewer. The blocks are not objects either: block b owns the slots
+// keys[b * BLOCK_SIZE, (b + 1) * BLOCK_SIZE) of one int[] arena, and its link and fill level
+// are next[b] and start[b], so a list of n keys is three arrays with about 4 bytes per key.
+// A block's keys sit at the end of its slots, in [start[b], BLOCK_SIZE), which keeps head
+// insertion O(1): a new value goes in just before the head block's first key, and a full head
+// block gets a fresh block in front of it. The list order is therefore the same as with
+// UnsortedLinkedList, newest value first
+public class IntUnrolledLinkedList implements IntSearchableCollection {
+    public static final int BLOCK_SIZE = 64;  // Keys per block (256 bytes, four cache lines)
+    protected static final int NIL = -1;  // Index used as the "null" link
+    private static final int DEFAULT_BLOCKS = 4;  // Initial number of blocks in the arena
+
+    protected int[] keys;  // Arena: block b's keys are keys[b * BLOCK_SIZE + start[b], (b + 1) * BLOCK_SIZE)
+    protected int[] next;  // next[b] is the block after block b, or NIL
+    protected int[] start;  // start[b] is the offset of block b's first key within its slots
+    protected int head;  // First block, or NIL if the list is empty
+    protected int blockCount;  // Number of blocks in use
+    protected int size;  // Number of keys in the list
+    protected int comparisons;  // Comparisons made during the last search
+    protected final Metrics metrics = new Metrics(getClass().getSimpleName(), false, this::size, this::footprintBytes, null);
+
+    // Constructor to initialize an empty list
+    public IntUnrolledLinkedList() {
+        this(DEFAULT_BLOCKS * BLOCK_SIZE);
+    }
+
+    // Constructor that reserves arena space for the given number of keys up front
+    public IntUnrolledLinkedList(int initialCapacity) {
+        int blocks = Math.max(1, (initialCapacity + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        keys = new int[blocks * BLOCK_SIZE];
+        next = new int[blocks];
+        start = new int[blocks];
+        head = NIL;
+        blockCount = 0;
+        size = 0;
+        comparisons = 0;
+    }
+
+    // Method to add a value to the front of the list
+    @Override
+    public void add(int value) {
+        long start = metrics.start();
+        if (head == NIL || this.start[head] == 0) {
+            int block = newBlock();  // The head block is full (or there is none): link a new one in front
+            next[block] = head;
+            this.start[block] = BLOCK_SIZE;
+            head = block;
+        }
+        keys[head * BLOCK_SIZE + --this.start[head]] = value;
+        size++;
+        metrics.record(Metrics.Operation.ADD, 1, 0, start);
+    }
+
+    // Method to search for a value in the list. Each block is a plain loop over a contiguous
+    // range of the arena, which the JIT can unroll and vectorize; one comparison is counted per
+    // key checked, including the match
+    @Override
+    public boolean search(int value) {
+        long begin = metrics.start();
+        int checked = 0;
+        boolean found = false;
+        blocks:
+        for (int block = head; block != NIL; block = next[block]) {
+            int from = block * BLOCK_SIZE + start[block];
+            int to = (block + 1) * BLOCK_SIZE;
+            for (int i = from; i < to; i++) {
+                if (keys[i] == value) {
+                    checked += i - from + 1;
+                    found = true;
+                    break blocks;
+                }
+            }
+            checked += to - from;
+        }
+        comparisons = checked;
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, begin);
+        return found;
+    }
+
+    // Method to search for a batch of keys. The keys of the list are copied out block by block
+    // and hashed into a table once, and every key of the batch is answered from the table; a
+    // key is charged one comparison per slot it checks
+    @Override
+    public SearchResult searchAll(int[] probes) {
+        long begin = metrics.start();
+        int[] values = toArray();
+        long[] occupied = new long[BatchSearch.tableLength(size) / 64];
+        int[] table = BatchSearch.hashTable(values, size, occupied);
+        SearchResult result = new SearchResult(probes.length);
+        for (int i = 0; i < probes.length; i++) {
+            if (BatchSearch.hashLookup(table, occupied, probes[i], result, i)) {
+                result.found.set(i);
+            }
+        }
+        comparisons = (int) result.getTotalComparisons(); // The batch counts as the last search
+        metrics.record(Metrics.Operation.SEARCH, probes.length, result.getTotalComparisons(), begin);
+        return result;
+    }
+
+    // Method to get the number of comparisons made during the last search operation
+    @Override
+    public int getComparisons() {
+        return comparisons;
+    }
+
+    // Method to get the counters, timers and footprint of the list
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Method to get the number of keys in the list
+    public int size() {
+        return size;
+    }
+
+    // Method to copy the keys into an array, in list order
+    public int[] toArray() {
+        int[] result = new int[size];
+        int filled = 0;
+        for (int block = head; block != NIL; block = next[block]) {
+            int from = block * BLOCK_SIZE + start[block];
+            int count = (block + 1) * BLOCK_SIZE - from;
+            System.arraycopy(keys, from, result, filled, count);
+            filled += count;
+        }
+        return result;
+    }
+
+    // Estimated bytes held by the arena and the block arrays
+    private long footprintBytes() {
+        return Footprint.array(keys) + Footprint.array(next) + Footprint.array(start);
+    }
+
+    // Write the list to a snapshot file (layout in SnapshotOutput); the payload is the keys in
+    // list order as raw ints, copied a block at a time
+    public void save(Path file) throws IOException {
+        try (SnapshotOutput out = new SnapshotOutput(file, SnapshotKind.INT_UNROLLED_LINKED_LIST, 0, 0, size)) {
+            writeKeys(out);
+            out.commit();
+        }
+    }
+
+    // Load a list from a snapshot written by save, in the same order
+    public static IntUnrolledLinkedList load(Path file) throws IOException {
+        try (SnapshotInput in = SnapshotInput.open(file, SnapshotKind.INT_UNROLLED_LINKED_LIST, 0)) {
+            int count = in.count(Integer.BYTES);
+            IntUnrolledLinkedList result = new IntUnrolledLinkedList(count);
+            result.readKeys(in, count);
+            in.finish();
+            return result;
+        }
+    }
+
+    // Write the keys in list order, one bulk copy per block
+    void writeKeys(SnapshotOutput out) throws IOException {
+        for (int block = head; block != NIL; block = next[block]) {
+            out.writeInts(keys, block * BLOCK_SIZE + start[block], (block + 1) * BLOCK_SIZE);
+        }
+    }
+
+    // Replace the contents with count keys read from a snapshot, in one bulk read into the
+    // packed layout (see pack)
+    void readKeys(SnapshotInput in, int count) throws IOException {
+        int offset = packedOffset(count);
+        ensureBlocks((offset + count) / BLOCK_SIZE);
+        in.readInts(keys, offset, offset + count);
+        link(count);
+    }
+
+    // Move the keys, in list order, to the front of a fresh arena so that they fill
+    // keys[packedOffset(size), packedOffset(size) + size) without gaps, and relink the blocks
+    // in arena order. The first block is the only one that is not full
+    protected void pack() {
+        int offset = packedOffset(size);
+        int[] packed = new int[Math.max(keys.length, offset + size)];
+        int filled = offset;
+        for (int block = head; block != NIL; block = next[block]) {
+            int from = block * BLOCK_SIZE + start[block];
+            int count = (block + 1) * BLOCK_SIZE - from;
+            System.arraycopy(keys, from, packed, filled, count);
+            filled += count;
+        }
+        keys = packed;
+        link(size);
+    }
+
+    // Offset of the first key when count keys are packed: the padding that makes the last
+    // block end exactly at a block boundary
+    protected static int packedOffset(int count) {
+        return (BLOCK_SIZE - count % BLOCK_SIZE) % BLOCK_SIZE;
+    }
+
+    // Link blocks 0, 1, 2, ... in order for count packed keys
+    private void link(int count) {
+        int blocks = (packedOffset(count) + count) / BLOCK_SIZE;
+        ensureBlocks(blocks);
+        for (int block = 0; block < blocks; block++) {
+            next[block] = block + 1 < blocks ? block + 1 : NIL;
+            start[block] = 0;
+        }
+        if (blocks > 0) {
+            start[0] = packedOffset(count);
+        }
+        head = blocks > 0 ? 0 : NIL;
+        blockCount = blocks;
+        size = count;
+    }
+
+    // Take the next free block of the arena, growing it when every block is in use
+    private int newBlock() {
+        ensureBlocks(blockCount + 1);
+        return blockCount++;
+    }
+
+    // Make room for at least the given number of blocks, doubling the arrays
+    private void ensureBlocks(int blocks) {
+        if (blocks > next.length) {
+            int capacity = Math.max(blocks, next.length * 2);
+            keys = Arrays.copyOf(keys, capacity * BLOCK_SIZE);
+            next = Arrays.copyOf(next, capacity);
+            start = Arrays.copyOf(start, capacity);
+        }
+    }
+}
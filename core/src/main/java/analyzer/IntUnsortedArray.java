@@ -0,0 +1,236 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Primitive int version of UnsortedArray: keys are stored unboxed in an int[]
+public class IntUnsortedArray implements IntSearchableCollection {
+    private int[] array; // Array to hold the elements
+    private int size; // Current size of the array (number of elements)
+    private int comparisons; // Counter to keep track of the number of comparisons made during search operations
+    private final double growthFactor; // Factor the capacity is multiplied by when the array is full
+    private int[] batchTable; // Hash table over the elements for searchAll, built on first use and dropped on change
+    private long[] batchOccupied; // Bit i is set when slot i of batchTable holds a key
+    private IntHashIndex index; // Hash index kept up to date while hash-indexed mode is on, else null
+    private final Metrics metrics = new Metrics("IntUnsortedArray", false, this::size, this::footprintBytes, null);
+
+    // Constructor to initialize the array with a given initial capacity
+    public IntUnsortedArray(int capacity) {
+        this(capacity, ArrayGrowth.DEFAULT_GROWTH_FACTOR);
+    }
+
+    // Constructor to initialize the array with a given initial capacity and growth factor (must be > 1)
+    public IntUnsortedArray(int capacity, double growthFactor) {
+        ArrayGrowth.checkGrowthFactor(growthFactor);
+        array = new int[capacity];
+        size = 0; // Initialize size to 0 (array is empty initially)
+        comparisons = 0; // Initialize comparisons counter to 0
+        this.growthFactor = growthFactor;
+    }
+
+    // Method to add a value to the array, growing it if it is full
+    @Override
+    public void add(int value) {
+        long start = metrics.start();
+        batchTable = null;
+        ensureCapacity(size + 1);
+        array[size++] = value;
+        if (index != null) {
+            index.add(array, size, value);
+        }
+        metrics.record(Metrics.Operation.ADD, 1, 0, start);
+    }
+
+    // Method to add every value of the given array, growing the storage at most once
+    public void addAll(int[] values) {
+        long start = metrics.start();
+        batchTable = null;
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, array, size, values.length);
+        size += values.length;
+        if (index != null) {
+            for (int i = size - values.length; i < size; i++) {
+                index.add(array, i + 1, array[i]);
+            }
+        }
+        metrics.record(Metrics.Operation.ADD, values.length, 0, start);
+    }
+
+    // Method to make sure the array can hold at least minCapacity elements without growing again
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            array = Arrays.copyOf(array, ArrayGrowth.newCapacity(array.length, minCapacity, growthFactor));
+        }
+    }
+
+    // Method to shrink the storage to the number of elements actually held
+    public void trimToSize() {
+        if (size < array.length) {
+            array = Arrays.copyOf(array, size);
+        }
+    }
+
+    // Method to get the number of elements the array can hold before it has to grow
+    public int capacity() {
+        return array.length;
+    }
+
+    // Method to get the element at the specified index
+    public int get(int index) {
+        // Check if the provided index is valid (within the current size of the array)
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return array[index]; // Return the element at the given index
+    }
+
+    // Method to get the number of elements currently in the array
+    public int size() {
+        return size;
+    }
+
+    // Turn the hash index on or off. While it is on, a hash set of the keys is updated by every
+    // change (see IntHashIndex), search answers from it in O(1) expected probes and
+    // getComparisons reports the probes; the array itself and its order are not affected
+    public void setHashIndexed(boolean hashIndexed) {
+        if (!hashIndexed) {
+            index = null;
+        } else if (index == null) {
+            index = new IntHashIndex(array, size);
+        }
+    }
+
+    // Whether search uses the hash index
+    public boolean isHashIndexed() {
+        return index != null;
+    }
+
+    // Method to search for a value in the array, through the hash index when it is on
+    @Override
+    public boolean search(int value) {
+        long start = metrics.start();
+        boolean found = false;
+        if (index != null) {
+            found = index.contains(value);
+            comparisons = index.getProbes(); // One comparison per occupied slot probed
+        } else {
+            // The loop body is a plain int compare with no field writes, so the JIT can unroll
+            // and vectorize it; the comparison count is derived from the index afterwards
+            int[] a = array;
+            int n = size;
+            comparisons = n; // Every element is checked unless the value is found
+            for (int i = 0; i < n; i++) {
+                if (a[i] == value) {
+                    comparisons = i + 1; // One comparison per element checked, including the match
+                    found = true;
+                    break;
+                }
+            }
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return found;
+    }
+
+    // Method to search for a batch of keys from a hash table: the hash index when it is on,
+    // otherwise a table built once over the elements (kept until the array changes); a key is
+    // charged one comparison per slot it checks
+    @Override
+    public SearchResult searchAll(int[] keys) {
+        long start = metrics.start();
+        SearchResult result = new SearchResult(keys.length);
+        if (index != null) {
+            for (int i = 0; i < keys.length; i++) {
+                if (index.contains(keys[i])) {
+                    result.found.set(i);
+                }
+                result.comparisons[i] = index.getProbes();
+            }
+        } else {
+            if (batchTable == null) {
+                batchOccupied = new long[BatchSearch.tableLength(size) / 64];
+                batchTable = BatchSearch.hashTable(array, size, batchOccupied);
+            }
+            for (int i = 0; i < keys.length; i++) {
+                if (BatchSearch.hashLookup(batchTable, batchOccupied, keys[i], result, i)) {
+                    result.found.set(i);
+                }
+            }
+        }
+        comparisons = (int) result.getTotalComparisons(); // The batch counts as the last search
+        metrics.record(Metrics.Operation.SEARCH, keys.length, result.getTotalComparisons(), start);
+        return result;
+    }
+
+    // Method to get the number of comparisons made during the last search operation
+    @Override
+    public int getComparisons() {
+        return comparisons;
+    }
+
+    // Method to get the counters, timers and footprint of the array
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Remove the first element equal to value, keeping the order of the others; returns false
+    // if there is none. One comparison is counted per element checked while looking for it
+    public boolean delete(int value) {
+        long start = metrics.start();
+        int position = -1;
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                position = i;
+                break;
+            }
+        }
+        if (position >= 0) {
+            batchTable = null;
+            System.arraycopy(array, position + 1, array, position, size - position - 1);
+            size--;
+            if (index != null) {
+                index.remove(array, size, value);
+            }
+        }
+        metrics.record(Metrics.Operation.DELETE, 1, position >= 0 ? position + 1 : size, start);
+        return position >= 0;
+    }
+
+    // Estimated bytes held by the array and the hash tables
+    private long footprintBytes() {
+        return Footprint.array(array) + Footprint.array(batchTable) + Footprint.array(batchOccupied)
+                + (index == null ? 0 : index.footprintBytes());
+    }
+
+    // Method to clear the array and reset its state
+    public void clear() {
+        size = 0; // Reset size to 0, effectively clearing the array
+        batchTable = null;
+        if (index != null) {
+            index = new IntHashIndex(array, 0);
+        }
+        comparisons = 0; // Reset comparisons count
+    }
+
+    // Write the elements to a snapshot file (layout in SnapshotOutput); the payload is the
+    // elements in index order as raw ints, copied in bulk
+    public void save(Path file) throws IOException {
+        try (SnapshotOutput out = new SnapshotOutput(file, SnapshotKind.INT_UNSORTED_ARRAY, 0, 0, size)) {
+            out.writeInts(array, 0, size);
+            out.commit();
+        }
+    }
+
+    // Load an array from a snapshot written by save, reading the ints straight into the storage
+    public static IntUnsortedArray load(Path file) throws IOException {
+        try (SnapshotInput in = SnapshotInput.open(file, SnapshotKind.INT_UNSORTED_ARRAY, 0)) {
+            int count = in.count(Integer.BYTES);
+            IntUnsortedArray result = new IntUnsortedArray(count);
+            in.readInts(result.array, 0, count);
+            in.finish();
+            result.size = count;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Primitive int version of UnsortedLinkedList. Instead of one LLNode object per element,
+// node i is stored as values[i] with the index of the following node in next[i];
+// NIL marks the end of the list
+public class IntUnsortedLinkedList implements IntSearchableCollection {
+    protected static final int NIL = -1;  // Index used as the "null" link
+    private static final int DEFAULT_CAPACITY = 16;  // Initial number of node slots
+
+    protected int[] values;  // values[i] is the data stored in node i
+    protected int[] next;  // next[i] is the index of the node after node i, or NIL
+    protected int head;  // Index of the first node, or NIL if the list is empty
+    protected int nodeCount;  // Number of node slots in use
+    protected int comparisons; // To count the number of comparisons made during search operations
+    protected final Metrics metrics = new Metrics(getClass().getSimpleName(), false, this::size, this::footprintBytes, null);
+
+    // Constructor to initialize an empty linked list
+    public IntUnsortedLinkedList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Constructor that reserves room for the given number of nodes up front
+    public IntUnsortedLinkedList(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        values = new int[capacity];
+        next = new int[capacity];
+        head = NIL; // Initially, the list is empty
+        nodeCount = 0;
+        comparisons = 0;
+    }
+
+    // Method to add a value to the front of the linked list
+    @Override
+    public void add(int value) {
+        long start = metrics.start();
+        if (nodeCount == values.length) {
+            grow();  // Out of node slots, enlarge both arrays
+        }
+        int node = nodeCount++;  // Take the next free slot as the new node
+        values[node] = value;
+        next[node] = head;  // The new node points to the current head
+        head = node;  // The new node becomes the first node
+        metrics.record(Metrics.Operation.ADD, 1, 0, start);
+    }
+
+    // Method to search for a value in the linked list
+    @Override
+    public boolean search(int value) {
+        long start = metrics.start();
+        comparisons = 0; // Reset comparisons counter before the search
+        int current = head; // Start with the head of the list
+        boolean found = false;
+
+        // Traverse the list to find the value
+        while (current != NIL) {
+            comparisons++; // Increment comparison count for each node checked
+            if (values[current] == value) {
+                found = true; // Stop as soon as the value is found
+                break;
+            }
+            current = next[current]; // Move to the next node in the list
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return found;
+    }
+
+    // Method to get the number of elements in the list
+    public int size() {
+        return nodeCount;
+    }
+
+    // Method to copy the elements into an array, in list order
+    public int[] toArray() {
+        int[] result = new int[nodeCount];
+        int i = 0;
+        for (int current = head; current != NIL; current = next[current]) {
+            result[i++] = values[current];
+        }
+        return result;
+    }
+
+    // Method to search for a batch of keys. Every node's value already sits in values[0, nodeCount),
+    // so those are hashed into a table once without walking the links, and every key is answered
+    // from the table; a key is charged one comparison per slot it checks
+    @Override
+    public SearchResult searchAll(int[] keys) {
+        long start = metrics.start();
+        long[] occupied = new long[BatchSearch.tableLength(nodeCount) / 64];
+        int[] table = BatchSearch.hashTable(values, nodeCount, occupied);
+        SearchResult result = new SearchResult(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            if (BatchSearch.hashLookup(table, occupied, keys[i], result, i)) {
+                result.found.set(i);
+            }
+        }
+        comparisons = (int) result.getTotalComparisons(); // The batch counts as the last search
+        metrics.record(Metrics.Operation.SEARCH, keys.length, result.getTotalComparisons(), start);
+        return result;
+    }
+
+    // Method to get the number of comparisons made during the last search operation
+    @Override
+    public int getComparisons() {
+        return comparisons;
+    }
+
+    // Method to get the counters, timers and footprint of the list
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Estimated bytes held by the value and link arrays
+    private long footprintBytes() {
+        return Footprint.array(values) + Footprint.array(next);
+    }
+
+    // Write the list to a snapshot file (layout in SnapshotOutput); the payload is the values in list order as raw ints
+    public void save(Path file) throws IOException {
+        try (SnapshotOutput out = new SnapshotOutput(file, SnapshotKind.INT_UNSORTED_LINKED_LIST, 0, 0, nodeCount)) {
+            writeValues(out);
+            out.commit();
+        }
+    }
+
+    // Load a list from a snapshot written by save, in the same order
+    public static IntUnsortedLinkedList load(Path file) throws IOException {
+        try (SnapshotInput in = SnapshotInput.open(file, SnapshotKind.INT_UNSORTED_LINKED_LIST, 0)) {
+            int count = in.count(Integer.BYTES);
+            IntUnsortedLinkedList result = new IntUnsortedLinkedList(count);
+            result.readValues(in, count);
+            in.finish();
+            return result;
+        }
+    }
+
+    // Write the values in list order, gathered a chunk at a time and copied in bulk
+    void writeValues(SnapshotOutput out) throws IOException {
+        int[] chunk = new int[Math.min(nodeCount, SnapshotOutput.CHUNK)];
+        int filled = 0;
+        for (int current = head; current != NIL; current = next[current]) {
+            chunk[filled++] = values[current];
+            if (filled == chunk.length) {
+                out.writeInts(chunk, 0, filled);
+                filled = 0;
+            }
+        }
+        out.writeInts(chunk, 0, filled);
+    }
+
+    // Replace the contents with count values read from a snapshot. The values go into slots
+    // [0, count) with one bulk read and each slot links to the next, which keeps the list order
+    void readValues(SnapshotInput in, int count) throws IOException {
+        if (count > values.length) {
+            values = new int[count];
+            next = new int[count];
+        }
+        in.readInts(values, 0, count);
+        for (int i = 0; i < count; i++) {
+            next[i] = i + 1;
+        }
+        if (count > 0) {
+            next[count - 1] = NIL;
+        }
+        head = count > 0 ? 0 : NIL;
+        nodeCount = count;
+    }
+
+    // Double the node storage when every slot is in use
+    private void grow() {
+        int capacity = values.length * 2;
+        values = Arrays.copyOf(values, capacity);
+        next = Arrays.copyOf(next, capacity);
+    }
+}
@@ -0,0 +1,139 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Writes and reads the keys of a generic structure in a snapshot. The id is stored in the file
+// header and checked on load, so a snapshot cannot be read back with the wrong codec
+public interface KeyCodec<T> {
+    // Integer keys as 4-byte little-endian ints, copied in bulk
+    KeyCodec<Integer> INTEGER = new KeyCodec<>() {
+        @Override
+        public int id() {
+            return 1;
+        }
+
+        @Override
+        public void write(Integer value, SnapshotOutput out) throws IOException {
+            out.writeInt(value);
+        }
+
+        @Override
+        public Integer read(SnapshotInput in) throws IOException {
+            return in.readInt();
+        }
+
+        @Override
+        public int minBytes() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void writeAll(Object[] values, int from, int to, SnapshotOutput out) throws IOException {
+            int[] chunk = new int[Math.min(to - from, SnapshotOutput.CHUNK)];
+            for (int start = from; start < to; start += chunk.length) {
+                int count = Math.min(chunk.length, to - start);
+                for (int i = 0; i < count; i++) {
+                    chunk[i] = (Integer) values[start + i];
+                }
+                out.writeInts(chunk, 0, count);
+            }
+        }
+
+        @Override
+        public void readAll(Object[] values, int from, int to, SnapshotInput in) throws IOException {
+            int[] chunk = new int[Math.min(to - from, SnapshotOutput.CHUNK)];
+            for (int start = from; start < to; start += chunk.length) {
+                int count = Math.min(chunk.length, to - start);
+                in.readInts(chunk, 0, count);
+                for (int i = 0; i < count; i++) {
+                    values[start + i] = chunk[i];
+                }
+            }
+        }
+    };
+
+    // Long keys as 8-byte little-endian longs
+    KeyCodec<Long> LONG = new KeyCodec<>() {
+        @Override
+        public int id() {
+            return 2;
+        }
+
+        @Override
+        public void write(Long value, SnapshotOutput out) throws IOException {
+            out.writeLong(value);
+        }
+
+        @Override
+        public Long read(SnapshotInput in) throws IOException {
+            return in.readLong();
+        }
+
+        @Override
+        public int minBytes() {
+            return Long.BYTES;
+        }
+    };
+
+    // String keys as a length followed by UTF-8 bytes
+    KeyCodec<String> STRING = new KeyCodec<>() {
+        @Override
+        public int id() {
+            return 3;
+        }
+
+        @Override
+        public void write(String value, SnapshotOutput out) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.writeBytes(bytes);
+        }
+
+        @Override
+        public String read(SnapshotInput in) throws IOException {
+            int length = in.readInt();
+            if (length < 0 || length > in.remaining()) {
+                throw new IOException("Corrupt snapshot, string of " + length + " bytes");
+            }
+            byte[] bytes = new byte[length];
+            in.readBytes(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int minBytes() {
+            return Integer.BYTES;  // The length, even for an empty string
+        }
+    };
+
+    // Identifies the codec in the snapshot header (1 to 3 are taken by the built-in codecs)
+    int id();
+
+    void write(T value, SnapshotOutput out) throws IOException;
+
+    T read(SnapshotInput in) throws IOException;
+
+    // Fewest bytes write produces for one key; loading uses it to reject a corrupt element count
+    // before allocating for it
+    default int minBytes() {
+        return 1;
+    }
+
+    // Write values[from, to), which all hold T elements (the array type is Object[] because the
+    // structures keep their elements in Comparable[] arrays); codecs with a fixed-size encoding
+    // can override this with a bulk copy
+    @SuppressWarnings("unchecked")
+    default void writeAll(Object[] values, int from, int to, SnapshotOutput out) throws IOException {
+        for (int i = from; i < to; i++) {
+            write((T) values[i], out);
+        }
+    }
+
+    // Read values[from, to); the counterpart of writeAll
+    default void readAll(Object[] values, int from, int to, SnapshotInput in) throws IOException {
+        for (int i = from; i < to; i++) {
+            values[i] = read(in);
+        }
+    }
+}
@@ -1,3 +1,5 @@
+package analyzer;
+
 // This class represents a node in a singly linked list (LLNode)
 public class LLNode<T> {
     private T data;  // The data stored in the node, of generic type T
@@ -0,0 +1,32 @@
+package analyzer;
+
+// Lookups shared by every data structure in the analyzer, including the read-only ones that
+// cannot add values (see ImplicitBST); SearchableCollection adds the mutating operations
+public interface LookupCollection<T extends Comparable<T>> {
+    // Check whether the value is present in the structure
+    boolean search(T value);
+
+    // Get the number of comparisons made by the most recent search (a searchAll batch counts as
+    // one search). The thread-safe structures have no single most recent search and return the
+    // total of all searches instead; getMetrics() has the long totals for every structure
+    int getComparisons();
+
+    // Counters, timers and footprint of the structure (see Metrics)
+    Metrics getMetrics();
+
+    // Search for every key of a batch, reporting per key whether it was found and what it cost.
+    // This default runs one search per key and charges each key the change in the search
+    // comparison total of getMetrics(); the analyzer's single-threaded structures override it
+    // with a strategy that shares work between the keys of the batch
+    default SearchResult searchAll(T[] keys) {
+        SearchResult result = new SearchResult(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            long before = getMetrics().getComparisons(Metrics.Operation.SEARCH);
+            if (search(keys[i])) {
+                result.found.set(i);
+            }
+            result.comparisons[i] = (int) (getMetrics().getComparisons(Metrics.Operation.SEARCH) - before);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,191 @@
+package analyzer;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Sorted array of long keys that lives off the heap, in a memory-mapped file accessed through the
+// Foreign Memory API (a MemorySegment, so files larger than 2 GB need no chunking). The file is
+// the array: a 64-byte header followed by the keys in ascending order, little-endian.
+// open() maps an existing file and is ready at once; nothing is read or sorted until a search
+// touches the pages it needs, and the OS page cache decides what stays in memory.
+// Files are built either by appending keys in ascending order (create + add) or from unsorted
+// input of any size with sortFile, which runs an external merge sort (see ExternalLongSort).
+// int keys can be stored by widening them to long
+public final class MappedSortedLongArray implements AutoCloseable {
+    static final long MAGIC = 0x31474E4F4C545253L;  // The bytes "SRTLONG1" read as a little-endian long
+    static final int VERSION = 1;  // Format version, checked by open()
+    static final long HEADER_BYTES = 64;  // Header size; keeps the keys 64-byte aligned
+    static final ValueLayout.OfLong KEY = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    // Header fields (byte offsets)
+    private static final long MAGIC_OFFSET = 0;
+    private static final long VERSION_OFFSET = 8;
+    private static final long SIZE_OFFSET = 16;
+    private static final long CAPACITY_OFFSET = 24;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena arena;  // Owns the mapping; closing it unmaps the file
+    private final MemorySegment file;  // The whole mapped file, header included
+    private final MemorySegment keys;  // The key area after the header
+    private final boolean writable;  // Whether add is allowed (create) or not (open)
+    private final long capacity;  // Number of keys the file has room for
+    private long size;  // Number of keys written
+    private long comparisons;  // Comparisons made by searches
+
+    private MappedSortedLongArray(Arena arena, MemorySegment file, boolean writable, long size, long capacity) {
+        this.arena = arena;
+        this.file = file;
+        this.keys = file.asSlice(HEADER_BYTES, capacity * Long.BYTES);
+        this.writable = writable;
+        this.size = size;
+        this.capacity = capacity;
+    }
+
+    // Create (or replace) a file with room for capacity keys and map it for writing
+    public static MappedSortedLongArray create(Path path, long capacity) throws IOException {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        long bytes = HEADER_BYTES + capacity * Long.BYTES;
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes, arena);
+            file.set(KEY, MAGIC_OFFSET, MAGIC);
+            file.set(INT, VERSION_OFFSET, VERSION);
+            file.set(KEY, SIZE_OFFSET, 0);
+            file.set(KEY, CAPACITY_OFFSET, capacity);
+            return new MappedSortedLongArray(arena, file, true, 0, capacity);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    // Map an existing file read-only. Only the header is checked; the keys are not touched
+    public static MappedSortedLongArray open(Path path) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes < HEADER_BYTES) {
+                throw new IOException("Not a sorted long array file (too short): " + path);
+            }
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes, arena);
+            if (file.get(KEY, MAGIC_OFFSET) != MAGIC) {
+                throw new IOException("Not a sorted long array file (bad magic number): " + path);
+            }
+            int version = file.get(INT, VERSION_OFFSET);
+            if (version != VERSION) {
+                throw new IOException("Unsupported sorted long array version " + version + ": " + path);
+            }
+            long size = file.get(KEY, SIZE_OFFSET);
+            long capacity = file.get(KEY, CAPACITY_OFFSET);
+            if (size < 0 || size > capacity || HEADER_BYTES + capacity * Long.BYTES > bytes) {
+                throw new IOException("Corrupt sorted long array header: " + path);
+            }
+            return new MappedSortedLongArray(arena, file, false, size, capacity);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    // Build a sorted file at output from a file of unsorted raw little-endian longs, sorting in
+    // chunks on the heap and merging the chunks from temporary run files; either pass holds about
+    // memoryBytes (see ExternalLongSort for how it is split)
+    public static MappedSortedLongArray sortFile(Path input, Path output, long memoryBytes) throws IOException {
+        ExternalLongSort.sort(input, output, memoryBytes);
+        return open(output);
+    }
+
+    // Append a key. Keys must arrive in ascending order, so the file is sorted at every point
+    public void add(long key) {
+        if (!writable) {
+            throw new IllegalStateException("Array was opened read-only");
+        }
+        if (size == capacity) {
+            throw new IllegalStateException("Array is full (capacity " + capacity + ")");
+        }
+        if (size > 0 && keys.getAtIndex(KEY, size - 1) > key) {
+            throw new IllegalArgumentException("Keys must be added in ascending order: " + key
+                    + " after " + keys.getAtIndex(KEY, size - 1));
+        }
+        keys.setAtIndex(KEY, size++, key);
+    }
+
+    // Binary search directly on the mapped memory; no key is copied onto the heap
+    public boolean search(long key) {
+        long left = 0;
+        long right = size - 1;
+        while (left <= right) {
+            long mid = (left + right) >>> 1;
+            comparisons++;
+            long current = keys.getAtIndex(KEY, mid);
+            if (current == key) {
+                return true;
+            }
+            if (current < key) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        return false;
+    }
+
+    // Get the key at the given index
+    public long get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return keys.getAtIndex(KEY, index);
+    }
+
+    // Number of keys in the array
+    public long size() {
+        return size;
+    }
+
+    // Number of keys the file has room for
+    public long capacity() {
+        return capacity;
+    }
+
+    // Comparisons made by all searches so far
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    // Write the key count to the header and flush the mapped pages to the file
+    public void force() {
+        if (writable) {
+            file.set(KEY, SIZE_OFFSET, size);
+            file.force();
+        }
+    }
+
+    // Flush (when writable) and unmap the file
+    @Override
+    public void close() {
+        if (arena.scope().isAlive()) {
+            force();
+            arena.close();
+        }
+    }
+
+    // Delete a file if it exists, ignoring failures (used to clean up temporary files)
+    static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Best effort
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package analyzer;
+
+// Natural merge sort shared by SortedArray and IntSortedArray.
+// 1. The range is scanned for runs that are already ascending (strictly descending runs are
+//    reversed in place), in the style of TimSort. Runs shorter than a minimum length are
+//    extended with binary insertion sort, so tiny merges never happen.
+// 2. Adjacent runs are merged pairwise, pass after pass, ping-ponging between the array and one
+//    scratch buffer supplied by the caller, so no temporary arrays are allocated per merge.
+//    A merge whose halves are already in order is reduced to a single comparison and a copy.
+// Already sorted input is one run and finishes after n - 1 comparisons.
+// Every method returns the number of comparisons it made, so callers can keep their
+// sort counters accurate (and parallel callers can add them up without sharing a counter)
+final class MergeSort {
+    private static final int MIN_MERGE = 32;  // Ranges shorter than this are sorted by insertion sort alone
+
+    private MergeSort() {
+    }
+
+    // Sort a[from, to) using buffer[from, to) as scratch space; returns the comparisons made
+    static <T extends Comparable<T>> long sort(T[] a, T[] buffer, int from, int to) {
+        int n = to - from;
+        if (n < 2) {
+            return 0;
+        }
+        long comparisons = 0;
+        int minRun = minRunLength(n);
+
+        // Pass 1: split the range into sorted runs; runs[i] is the start of run i, runs[count] == to
+        int[] runs = new int[n / minRun + 2];
+        int runCount = 0;
+        int start = from;
+        while (start < to) {
+            int end = start + 1;
+            if (end < to) {
+                comparisons++;
+                if (a[end].compareTo(a[start]) < 0) {
+                    // Strictly descending run: extend it, then reverse it (strictness keeps the sort stable)
+                    while (end + 1 < to) {
+                        comparisons++;
+                        if (a[end + 1].compareTo(a[end]) >= 0) {
+                            break;
+                        }
+                        end++;
+                    }
+                    reverse(a, start, end);
+                } else {
+                    // Ascending (non-descending) run
+                    while (end + 1 < to) {
+                        comparisons++;
+                        if (a[end + 1].compareTo(a[end]) < 0) {
+                            break;
+                        }
+                        end++;
+                    }
+                }
+                end++;  // Make the end exclusive
+            }
+            // Extend a short run to minRun elements with binary insertion sort
+            int forcedEnd = Math.min(start + minRun, to);
+            if (end < forcedEnd) {
+                comparisons += binaryInsertionSort(a, start, end, forcedEnd);
+                end = forcedEnd;
+            }
+            runs[runCount++] = start;
+            start = end;
+        }
+        runs[runCount] = to;
+
+        // Pass 2: merge adjacent runs until one is left, alternating the source and destination arrays
+        T[] src = a;
+        T[] dst = buffer;
+        while (runCount > 1) {
+            int merged = 0;
+            for (int r = 0; r < runCount; r += 2) {
+                int lo = runs[r];
+                if (r + 1 < runCount) {
+                    comparisons += merge(src, dst, lo, runs[r + 1], runs[r + 2]);
+                } else {
+                    System.arraycopy(src, lo, dst, lo, runs[r + 1] - lo);  // Odd run out, carried to the next pass
+                }
+                runs[merged++] = lo;
+            }
+            runs[merged] = to;
+            runCount = merged;
+            T[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != a) {
+            System.arraycopy(src, from, a, from, n);  // The last pass ended in the buffer
+        }
+        return comparisons;
+    }
+
+    // Merge the sorted ranges src[lo, mid) and src[mid, hi) into dst[lo, hi); returns the comparisons made
+    static <T extends Comparable<T>> long merge(T[] src, T[] dst, int lo, int mid, int hi) {
+        // Skip the merge when the halves are already in order
+        if (src[mid - 1].compareTo(src[mid]) <= 0) {
+            System.arraycopy(src, lo, dst, lo, hi - lo);
+            return 1;
+        }
+        long comparisons = 1;
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            comparisons++;
+            // Take from the left on ties so equal elements keep their order
+            if (src[i].compareTo(src[j]) <= 0) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+        // Copy whichever half has elements left
+        if (i < mid) {
+            System.arraycopy(src, i, dst, k, mid - i);
+        } else {
+            System.arraycopy(src, j, dst, k, hi - j);
+        }
+        return comparisons;
+    }
+
+    // Insert a[sortedEnd, end) one at a time into the sorted prefix a[from, sortedEnd)
+    private static <T extends Comparable<T>> long binaryInsertionSort(T[] a, int from, int sortedEnd, int end) {
+        long comparisons = 0;
+        for (int i = sortedEnd; i < end; i++) {
+            T pivot = a[i];
+            // Find the first position whose element is greater than the pivot (after equal ones, for stability)
+            int left = from, right = i;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                comparisons++;
+                if (pivot.compareTo(a[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(a, left, a, left + 1, i - left);
+            a[left] = pivot;
+        }
+        return comparisons;
+    }
+
+    // Reverse a[from, to] in place
+    private static void reverse(Object[] a, int from, int to) {
+        while (from < to) {
+            Object swap = a[from];
+            a[from++] = a[to];
+            a[to--] = swap;
+        }
+    }
+
+    // Sort a[from, to) using buffer[from, to) as scratch space; returns the comparisons made
+    static long sort(int[] a, int[] buffer, int from, int to) {
+        int n = to - from;
+        if (n < 2) {
+            return 0;
+        }
+        long comparisons = 0;
+        int minRun = minRunLength(n);
+
+        // Pass 1: split the range into sorted runs; runs[i] is the start of run i, runs[count] == to
+        int[] runs = new int[n / minRun + 2];
+        int runCount = 0;
+        int start = from;
+        while (start < to) {
+            int end = start + 1;
+            if (end < to) {
+                comparisons++;
+                if (a[end] < a[start]) {
+                    // Strictly descending run: extend it, then reverse it
+                    while (end + 1 < to) {
+                        comparisons++;
+                        if (a[end + 1] >= a[end]) {
+                            break;
+                        }
+                        end++;
+                    }
+                    reverse(a, start, end);
+                } else {
+                    // Ascending (non-descending) run
+                    while (end + 1 < to) {
+                        comparisons++;
+                        if (a[end + 1] < a[end]) {
+                            break;
+                        }
+                        end++;
+                    }
+                }
+                end++;  // Make the end exclusive
+            }
+            // Extend a short run to minRun elements with binary insertion sort
+            int forcedEnd = Math.min(start + minRun, to);
+            if (end < forcedEnd) {
+                comparisons += binaryInsertionSort(a, start, end, forcedEnd);
+                end = forcedEnd;
+            }
+            runs[runCount++] = start;
+            start = end;
+        }
+        runs[runCount] = to;
+
+        // Pass 2: merge adjacent runs until one is left, alternating the source and destination arrays
+        int[] src = a;
+        int[] dst = buffer;
+        while (runCount > 1) {
+            int merged = 0;
+            for (int r = 0; r < runCount; r += 2) {
+                int lo = runs[r];
+                if (r + 1 < runCount) {
+                    comparisons += merge(src, dst, lo, runs[r + 1], runs[r + 2]);
+                } else {
+                    System.arraycopy(src, lo, dst, lo, runs[r + 1] - lo);  // Odd run out, carried to the next pass
+                }
+                runs[merged++] = lo;
+            }
+            runs[merged] = to;
+            runCount = merged;
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != a) {
+            System.arraycopy(src, from, a, from, n);  // The last pass ended in the buffer
+        }
+        return comparisons;
+    }
+
+    // Merge the sorted ranges src[lo, mid) and src[mid, hi) into dst[lo, hi); returns the comparisons made
+    static long merge(int[] src, int[] dst, int lo, int mid, int hi) {
+        // Skip the merge when the halves are already in order
+        if (src[mid - 1] <= src[mid]) {
+            System.arraycopy(src, lo, dst, lo, hi - lo);
+            return 1;
+        }
+        long comparisons = 1;
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            comparisons++;
+            if (src[i] <= src[j]) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+        // Copy whichever half has elements left
+        if (i < mid) {
+            System.arraycopy(src, i, dst, k, mid - i);
+        } else {
+            System.arraycopy(src, j, dst, k, hi - j);
+        }
+        return comparisons;
+    }
+
+    // Insert a[sortedEnd, end) one at a time into the sorted prefix a[from, sortedEnd)
+    private static long binaryInsertionSort(int[] a, int from, int sortedEnd, int end) {
+        long comparisons = 0;
+        for (int i = sortedEnd; i < end; i++) {
+            int pivot = a[i];
+            int left = from, right = i;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                comparisons++;
+                if (pivot < a[mid]) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(a, left, a, left + 1, i - left);
+            a[left] = pivot;
+        }
+        return comparisons;
+    }
+
+    // Reverse a[from, to] in place
+    private static void reverse(int[] a, int from, int to) {
+        while (from < to) {
+            int swap = a[from];
+            a[from++] = a[to];
+            a[to--] = swap;
+        }
+    }
+
+    // Minimum run length for a range of n elements, as in TimSort: n itself below MIN_MERGE,
+    // otherwise a value in [MIN_MERGE / 2, MIN_MERGE] chosen so n / minRun is close to a power of two
+    private static int minRunLength(int n) {
+        int lowBits = 0;  // Becomes 1 if any bit shifted off is set
+        while (n >= MIN_MERGE) {
+            lowBits |= (n & 1);
+            n >>= 1;
+        }
+        return n + lowBits;
+    }
+}
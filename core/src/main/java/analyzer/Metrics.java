@@ -0,0 +1,400 @@
+package analyzer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+// Operation statistics of one structure, the same for every structure: for each kind of
+// operation (add, search, sort, delete) the number of calls, the elements processed and the
+// comparisons made, as long totals that never overflow. With timing enabled the nanoseconds
+// spent and the bytes the calling thread allocated (from ThreadMXBean) are added up as well; timing costs a
+// clock read per operation, so it is off by default. Size, footprint and the depth histogram
+// are read from the structure when asked for.
+//
+// A structure calls start() when an operation begins and record() when it ends. Structures
+// that are not thread-safe get plain long counters; the concurrent ones pass concurrent = true
+// and get LongAdders. register(name) publishes the metrics as a JMX MXBean and in the periodic
+// analyzer.Structure JFR event, and while a JFR recording has analyzer.Operation enabled every
+// operation is committed as an event. Structures with a membership filter in front of search
+// (see BloomFilter) also count the searches the filter passed (hits), the ones it answered alone
+// (rejects) and the hits the structure then did not find (false positives)
+public final class Metrics implements MetricsMXBean {
+    // Kinds of operations counted separately
+    public enum Operation {
+        ADD, SEARCH, SORT, DELETE
+    }
+
+    // Counter slots per operation
+    private static final int CALLS = 0, ELEMENTS = 1, COMPARISONS = 2, NANOS = 3, ALLOCATED = 4, SLOTS = 5;
+    private static final int OPERATIONS = Operation.values().length;
+    private static final Operation[] OPERATION_VALUES = Operation.values();
+    private static final int FILTER_HITS = OPERATIONS * SLOTS, FILTER_REJECTS = FILTER_HITS + 1,
+            FILTER_FALSE_POSITIVES = FILTER_HITS + 2, COUNTERS = FILTER_HITS + 3;  // Filter counters follow the operation slots
+
+    private static final EventType OPERATION_EVENT = EventType.getEventType(OperationEvent.class);
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+    private static final ThreadLocal<long[]> ALLOCATION_START = ThreadLocal.withInitial(() -> new long[1]);
+    private static final List<Metrics> REGISTERED = new CopyOnWriteArrayList<>();  // Metrics in the periodic JFR event
+
+    static {
+        FlightRecorder.addPeriodicEvent(StructureEvent.class, () -> {
+            for (Metrics metrics : REGISTERED) {
+                metrics.emitStructureEvent();
+            }
+        });
+    }
+
+    private volatile String name;  // Label used in JMX and JFR
+    private final long[] counters;  // Counters of a structure that is not thread-safe, else null
+    private final LongAdder[] adders;  // Counters of a concurrent structure, else null
+    private final IntSupplier size;
+    private final LongSupplier footprint;
+    private final Supplier<long[]> depthHistogram;  // null for structures that are not trees
+    private volatile boolean timing;  // Measure time and allocation of every operation
+    private ObjectName objectName;  // Set while registered with JMX
+
+    // Metrics for a structure; depthHistogram may be null
+    Metrics(String name, boolean concurrent, IntSupplier size, LongSupplier footprint, Supplier<long[]> depthHistogram) {
+        this.name = name;
+        this.size = size;
+        this.footprint = footprint;
+        this.depthHistogram = depthHistogram;
+        if (concurrent) {
+            counters = null;
+            adders = new LongAdder[COUNTERS];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+        } else {
+            counters = new long[COUNTERS];
+            adders = null;
+        }
+    }
+
+    // Called when an operation begins: returns the start time to pass to record, or 0 when
+    // neither timing nor the JFR operation event is on
+    long start() {
+        if (timing) {
+            if (THREADS != null) {
+                ALLOCATION_START.get()[0] = THREADS.getCurrentThreadAllocatedBytes();
+            }
+            return System.nanoTime();
+        }
+        return OPERATION_EVENT.isEnabled() ? System.nanoTime() : 0;
+    }
+
+    // Called when an operation ends: count the call, the elements it processed (values added,
+    // keys searched for, elements sorted) and the comparisons it made, plus the time and
+    // allocation since start when those are measured
+    void record(Operation operation, long elements, long comparisons, long start) {
+        int base = operation.ordinal() * SLOTS;
+        add(base + CALLS, 1);
+        add(base + ELEMENTS, elements);
+        add(base + COMPARISONS, comparisons);
+        if (start == 0) return;
+        long elapsed = System.nanoTime() - start;
+        if (timing) {
+            add(base + NANOS, elapsed);
+            if (THREADS != null) {
+                add(base + ALLOCATED, THREADS.getCurrentThreadAllocatedBytes() - ALLOCATION_START.get()[0]);
+            }
+        }
+        if (OPERATION_EVENT.isEnabled()) {
+            OperationEvent event = new OperationEvent();
+            event.structure = name;
+            event.operation = operation.name();
+            event.count = elements;
+            event.comparisons = comparisons;
+            event.elapsed = elapsed;
+            event.commit();
+        }
+    }
+
+    // Called by a search that consulted a membership filter: passed is the filter's answer and
+    // found the structure's (only looked at when the filter passed)
+    void recordFilter(boolean passed, boolean found) {
+        if (!passed) {
+            add(FILTER_REJECTS, 1);
+        } else {
+            add(FILTER_HITS, 1);
+            if (!found) {
+                add(FILTER_FALSE_POSITIVES, 1);
+            }
+        }
+    }
+
+    private void add(int slot, long delta) {
+        if (adders != null) {
+            adders[slot].add(delta);
+        } else {
+            counters[slot] += delta;
+        }
+    }
+
+    private long get(Operation operation, int slot) {
+        return get(operation.ordinal() * SLOTS + slot);
+    }
+
+    private long get(int index) {
+        return adders != null ? adders[index].sum() : counters[index];
+    }
+
+    // Number of operations of the given kind (a batch call counts once)
+    public long getCalls(Operation operation) {
+        return get(operation, CALLS);
+    }
+
+    // Elements processed by operations of the given kind (values added, keys searched for, elements sorted)
+    public long getElements(Operation operation) {
+        return get(operation, ELEMENTS);
+    }
+
+    // Comparisons made by operations of the given kind
+    public long getComparisons(Operation operation) {
+        return get(operation, COMPARISONS);
+    }
+
+    // Nanoseconds spent in operations of the given kind while timing was enabled
+    public long getNanos(Operation operation) {
+        return get(operation, NANOS);
+    }
+
+    // Bytes allocated by the calling threads during operations of the given kind while timing was enabled
+    public long getAllocatedBytes(Operation operation) {
+        return get(operation, ALLOCATED);
+    }
+
+    // Set every counter back to zero
+    @Override
+    public void reset() {
+        if (adders != null) {
+            for (LongAdder adder : adders) {
+                adder.reset();
+            }
+        } else {
+            Arrays.fill(counters, 0);
+        }
+    }
+
+    @Override
+    public boolean isTimingEnabled() {
+        return timing;
+    }
+
+    @Override
+    public void setTimingEnabled(boolean timingEnabled) {
+        this.timing = timingEnabled;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getSize() {
+        return size.getAsInt();
+    }
+
+    @Override
+    public long getFootprintBytes() {
+        return footprint.getAsLong();
+    }
+
+    @Override
+    public long[] getDepthHistogram() {
+        return depthHistogram == null ? new long[0] : depthHistogram.get();
+    }
+
+    // Publish the metrics under the given name: as the MXBean analyzer:type=Structure,name=<name>
+    // and in the periodic analyzer.Structure JFR event. Registering again renames the bean
+    public synchronized void register(String name) {
+        unregister();
+        try {
+            ObjectName objectName = new ObjectName("analyzer:type=Structure,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            this.objectName = objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register metrics for " + name, e);
+        }
+        this.name = name;
+        REGISTERED.add(this);
+    }
+
+    // Remove the metrics from JMX and the periodic JFR event
+    public synchronized void unregister() {
+        REGISTERED.remove(this);
+        if (objectName == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            // Already gone
+        }
+        objectName = null;
+    }
+
+    private void emitStructureEvent() {
+        StructureEvent event = new StructureEvent();
+        event.structure = name;
+        event.size = getSize();
+        event.footprint = getFootprintBytes();
+        event.adds = getAdds();
+        event.searches = getSearches();
+        event.searchComparisons = getSearchComparisons();
+        event.sorts = getSorts();
+        event.deletes = getDeletes();
+        event.commit();
+    }
+
+    // One line per kind of operation that has been used
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%s: %,d elements, ~%,d bytes%n", name, getSize(), getFootprintBytes()));
+        for (Operation operation : OPERATION_VALUES) {
+            long calls = getCalls(operation);
+            if (calls == 0) continue;
+            long elements = Math.max(1, getElements(operation));
+            report.append(String.format("  %-6s %,d calls, %,d elements, %,d comparisons (%.2f per element)",
+                    operation.name().toLowerCase(), calls, getElements(operation), getComparisons(operation),
+                    getComparisons(operation) / (double) elements));
+            if (getNanos(operation) > 0) {
+                report.append(String.format(", %.1f ns and %.1f bytes allocated per element",
+                        getNanos(operation) / (double) elements, getAllocatedBytes(operation) / (double) elements));
+            }
+            report.append('\n');
+        }
+        long filtered = getFilterHits() + getFilterRejects();
+        if (filtered > 0) {
+            report.append(String.format("  filter %,d hits, %,d rejects, %,d false positives (%.2f%% of absent values passed)%n",
+                    getFilterHits(), getFilterRejects(), getFilterFalsePositives(),
+                    100.0 * getFilterFalsePositives() / Math.max(1, getFilterFalsePositives() + getFilterRejects())));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    // The HotSpot ThreadMXBean with per-thread allocation counters, or null if there is none
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported()) {
+                hotspot.setThreadAllocatedMemoryEnabled(true);
+                return hotspot;
+            }
+        }
+        return null;
+    }
+
+    // MXBean getters
+
+    @Override
+    public long getAdds() {
+        return getElements(Operation.ADD);
+    }
+
+    @Override
+    public long getAddComparisons() {
+        return getComparisons(Operation.ADD);
+    }
+
+    @Override
+    public long getAddNanos() {
+        return getNanos(Operation.ADD);
+    }
+
+    @Override
+    public long getAddAllocatedBytes() {
+        return getAllocatedBytes(Operation.ADD);
+    }
+
+    @Override
+    public long getSearches() {
+        return getElements(Operation.SEARCH);
+    }
+
+    @Override
+    public long getSearchComparisons() {
+        return getComparisons(Operation.SEARCH);
+    }
+
+    @Override
+    public long getSearchNanos() {
+        return getNanos(Operation.SEARCH);
+    }
+
+    @Override
+    public long getSearchAllocatedBytes() {
+        return getAllocatedBytes(Operation.SEARCH);
+    }
+
+    @Override
+    public long getSorts() {
+        return getCalls(Operation.SORT);
+    }
+
+    @Override
+    public long getSortComparisons() {
+        return getComparisons(Operation.SORT);
+    }
+
+    @Override
+    public long getSortNanos() {
+        return getNanos(Operation.SORT);
+    }
+
+    @Override
+    public long getSortAllocatedBytes() {
+        return getAllocatedBytes(Operation.SORT);
+    }
+
+    @Override
+    public long getDeletes() {
+        return getElements(Operation.DELETE);
+    }
+
+    @Override
+    public long getDeleteComparisons() {
+        return getComparisons(Operation.DELETE);
+    }
+
+    @Override
+    public long getDeleteNanos() {
+        return getNanos(Operation.DELETE);
+    }
+
+    @Override
+    public long getDeleteAllocatedBytes() {
+        return getAllocatedBytes(Operation.DELETE);
+    }
+
+    @Override
+    public long getFilterHits() {
+        return get(FILTER_HITS);
+    }
+
+    @Override
+    public long getFilterRejects() {
+        return get(FILTER_REJECTS);
+    }
+
+    @Override
+    public long getFilterFalsePositives() {
+        return get(FILTER_FALSE_POSITIVES);
+    }
+}
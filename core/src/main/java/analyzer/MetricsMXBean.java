@@ -0,0 +1,63 @@
+package analyzer;
+
+// JMX view of a structure's Metrics (see Metrics.register). Counters are totals since the
+// structure was created or last reset: values added, keys searched for, sort calls and values
+// deleted, with the comparisons, nanoseconds and allocated bytes of each kind (the last two
+// only grow while timing is enabled), and the outcomes of membership filter checks
+public interface MetricsMXBean {
+    String getName();
+
+    long getAdds();
+
+    long getAddComparisons();
+
+    long getAddNanos();
+
+    long getAddAllocatedBytes();
+
+    long getSearches();
+
+    long getSearchComparisons();
+
+    long getSearchNanos();
+
+    long getSearchAllocatedBytes();
+
+    long getSorts();
+
+    long getSortComparisons();
+
+    long getSortNanos();
+
+    long getSortAllocatedBytes();
+
+    long getDeletes();
+
+    long getDeleteComparisons();
+
+    long getDeleteNanos();
+
+    long getDeleteAllocatedBytes();
+
+    // Searches a membership filter passed on to the structure, answered alone, and passed in vain
+    long getFilterHits();
+
+    long getFilterRejects();
+
+    long getFilterFalsePositives();
+
+    // Number of elements held by the structure
+    int getSize();
+
+    // Estimated bytes used by the structure itself, not counting the element objects
+    long getFootprintBytes();
+
+    // Element i is the number of nodes at depth i (root at depth 0); empty for structures that are not trees
+    long[] getDepthHistogram();
+
+    boolean isTimingEnabled();
+
+    void setTimingEnabled(boolean timingEnabled);
+
+    void reset();
+}
@@ -0,0 +1,33 @@
+package analyzer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// JFR event for one structure operation, committed by Metrics.record while a recording has
+// analyzer.Operation enabled (it is off in the default JFR settings, since it fires per operation)
+@Name("analyzer.Operation")
+@Label("Structure Operation")
+@Category("Data Structures Analyzer")
+@Description("One add, search, sort or delete on an analyzer data structure")
+@jdk.jfr.Enabled(false)
+class OperationEvent extends jdk.jfr.Event {
+    @Label("Structure")
+    String structure;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Elements")
+    @Description("Elements added or keys searched for (more than one for batch operations)")
+    long count;
+
+    @Label("Comparisons")
+    long comparisons;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
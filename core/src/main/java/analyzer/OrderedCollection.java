@@ -0,0 +1,26 @@
+package analyzer;
+
+import java.util.Iterator;
+
+// A structure that keeps its elements in order and can answer order-statistics and range
+// queries without a search per key. Equal elements count separately. Every query charges its
+// compareTo calls as the last search (getComparisons) and is recorded as a search in getMetrics()
+public interface OrderedCollection<T extends Comparable<T>> extends SearchableCollection<T> {
+    // Number of elements smaller than value
+    int rank(T value);
+
+    // Element with the given rank, i.e. the (k + 1)-th smallest; k must be in [0, size)
+    T select(int k);
+
+    // Largest element not greater than value, or null if there is none
+    T floor(T value);
+
+    // Smallest element not smaller than value, or null if there is none
+    T ceiling(T value);
+
+    // Number of elements in [from, to]
+    int rangeCount(T from, T to);
+
+    // The elements in [from, to] in ascending order; the structure must not change while iterating
+    Iterator<T> range(T from, T to);
+}
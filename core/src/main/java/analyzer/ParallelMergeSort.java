@@ -0,0 +1,285 @@
+package analyzer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+// Fork/join merge sort for SortedArray and IntSortedArray, plus the pool handling shared with
+// SortedLinkedList. The range is halved until it is at most the sequential threshold; those
+// leaves are sorted with MergeSort, and the halves are merged back with a parallel merge.
+// Every level alternates between the array and the scratch buffer, so the final merge lands
+// in the array without a copy back. Each task returns its own comparison count and the
+// counts are added up as tasks are joined, so workers never share a counter
+final class ParallelMergeSort {
+    static final int DEFAULT_THRESHOLD = 8192;  // Ranges at most this long are sorted or merged sequentially
+
+    private ParallelMergeSort() {
+    }
+
+    // Reject settings that would make the parallel sort unable to make progress
+    static void checkSettings(int parallelism, int threshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        if (threshold < 2) {
+            throw new IllegalArgumentException("Sequential threshold must be at least 2: " + threshold);
+        }
+    }
+
+    // Run a task with the given number of worker threads, using the common pool when it already has that many
+    static <V> V invoke(ForkJoinTask<V> task, int parallelism) {
+        if (parallelism == ForkJoinPool.getCommonPoolParallelism()) {
+            return ForkJoinPool.commonPool().invoke(task);
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(task);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Sort a[from, to) in parallel using buffer[from, to) as scratch space; returns the comparisons made
+    static <T extends Comparable<T>> long sort(T[] a, T[] buffer, int from, int to, int threshold, int parallelism) {
+        return invoke(new SortTask<>(a, buffer, from, to, false, threshold), parallelism);
+    }
+
+    // Sort an int range in parallel using buffer[from, to) as scratch space; returns the comparisons made
+    static long sort(int[] a, int[] buffer, int from, int to, int threshold, int parallelism) {
+        return invoke(new IntSortTask(a, buffer, from, to, false, threshold), parallelism);
+    }
+
+    // Sorts array[lo, hi), leaving the result in buffer when toBuffer is set and in array otherwise
+    private static final class SortTask<T extends Comparable<T>> extends RecursiveTask<Long> {
+        private final T[] array, buffer;
+        private final int lo, hi;
+        private final boolean toBuffer;
+        private final int threshold;
+
+        SortTask(T[] array, T[] buffer, int lo, int hi, boolean toBuffer, int threshold) {
+            this.array = array;
+            this.buffer = buffer;
+            this.lo = lo;
+            this.hi = hi;
+            this.toBuffer = toBuffer;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            if (hi - lo <= threshold) {
+                long comparisons = MergeSort.sort(array, buffer, lo, hi);
+                if (toBuffer) {
+                    System.arraycopy(array, lo, buffer, lo, hi - lo);
+                }
+                return comparisons;
+            }
+            // Sort both halves into the other array, then merge them into the target
+            int mid = (lo + hi) >>> 1;
+            SortTask<T> left = new SortTask<>(array, buffer, lo, mid, !toBuffer, threshold);
+            SortTask<T> right = new SortTask<>(array, buffer, mid, hi, !toBuffer, threshold);
+            left.fork();
+            long comparisons = right.compute() + left.join();
+            T[] from = toBuffer ? array : buffer;
+            T[] into = toBuffer ? buffer : array;
+            return comparisons + new MergeTask<>(from, into, lo, mid, mid, hi, lo, threshold).compute();
+        }
+    }
+
+    // Merges the sorted ranges src[lo1, hi1) and src[lo2, hi2) into dst starting at out. Large
+    // merges are split in two at the middle of the longer range and a binary search in the other,
+    // so the two halves can be merged by different workers
+    private static final class MergeTask<T extends Comparable<T>> extends RecursiveTask<Long> {
+        private final T[] src, dst;
+        private final int lo1, hi1, lo2, hi2, out;
+        private final int threshold;
+
+        MergeTask(T[] src, T[] dst, int lo1, int hi1, int lo2, int hi2, int out, int threshold) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= threshold || n1 == 0 || n2 == 0) {
+                return mergeSequential();
+            }
+            long comparisons = 0;
+            int split1, split2;
+            if (n1 >= n2) {
+                // Split the left range at its middle; right elements smaller than the pivot go first
+                split1 = (lo1 + hi1) >>> 1;
+                T pivot = src[split1];
+                int left = lo2, right = hi2;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    comparisons++;
+                    if (src[mid].compareTo(pivot) < 0) {
+                        left = mid + 1;
+                    } else {
+                        right = mid;
+                    }
+                }
+                split2 = left;
+            } else {
+                // Split the right range at its middle; left elements not greater than the pivot go first
+                split2 = (lo2 + hi2) >>> 1;
+                T pivot = src[split2];
+                int left = lo1, right = hi1;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    comparisons++;
+                    if (src[mid].compareTo(pivot) <= 0) {
+                        left = mid + 1;
+                    } else {
+                        right = mid;
+                    }
+                }
+                split1 = left;
+            }
+            int splitOut = out + (split1 - lo1) + (split2 - lo2);
+            MergeTask<T> first = new MergeTask<>(src, dst, lo1, split1, lo2, split2, out, threshold);
+            MergeTask<T> second = new MergeTask<>(src, dst, split1, hi1, split2, hi2, splitOut, threshold);
+            first.fork();
+            return comparisons + second.compute() + first.join();
+        }
+
+        // Plain two-way merge; ties take the left element so the sort stays stable
+        private long mergeSequential() {
+            long comparisons = 0;
+            int i = lo1, j = lo2, k = out;
+            while (i < hi1 && j < hi2) {
+                comparisons++;
+                if (src[i].compareTo(src[j]) <= 0) {
+                    dst[k++] = src[i++];
+                } else {
+                    dst[k++] = src[j++];
+                }
+            }
+            System.arraycopy(src, i, dst, k, hi1 - i);
+            System.arraycopy(src, j, dst, k + (hi1 - i), hi2 - j);
+            return comparisons;
+        }
+    }
+
+    // int[] version of SortTask
+    private static final class IntSortTask extends RecursiveTask<Long> {
+        private final int[] array, buffer;
+        private final int lo, hi;
+        private final boolean toBuffer;
+        private final int threshold;
+
+        IntSortTask(int[] array, int[] buffer, int lo, int hi, boolean toBuffer, int threshold) {
+            this.array = array;
+            this.buffer = buffer;
+            this.lo = lo;
+            this.hi = hi;
+            this.toBuffer = toBuffer;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            if (hi - lo <= threshold) {
+                long comparisons = MergeSort.sort(array, buffer, lo, hi);
+                if (toBuffer) {
+                    System.arraycopy(array, lo, buffer, lo, hi - lo);
+                }
+                return comparisons;
+            }
+            int mid = (lo + hi) >>> 1;
+            IntSortTask left = new IntSortTask(array, buffer, lo, mid, !toBuffer, threshold);
+            IntSortTask right = new IntSortTask(array, buffer, mid, hi, !toBuffer, threshold);
+            left.fork();
+            long comparisons = right.compute() + left.join();
+            int[] from = toBuffer ? array : buffer;
+            int[] into = toBuffer ? buffer : array;
+            return comparisons + new IntMergeTask(from, into, lo, mid, mid, hi, lo, threshold).compute();
+        }
+    }
+
+    // int[] version of MergeTask
+    private static final class IntMergeTask extends RecursiveTask<Long> {
+        private final int[] src, dst;
+        private final int lo1, hi1, lo2, hi2, out;
+        private final int threshold;
+
+        IntMergeTask(int[] src, int[] dst, int lo1, int hi1, int lo2, int hi2, int out, int threshold) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= threshold || n1 == 0 || n2 == 0) {
+                return mergeSequential();
+            }
+            long comparisons = 0;
+            int split1, split2;
+            if (n1 >= n2) {
+                split1 = (lo1 + hi1) >>> 1;
+                int pivot = src[split1];
+                int left = lo2, right = hi2;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    comparisons++;
+                    if (src[mid] < pivot) {
+                        left = mid + 1;
+                    } else {
+                        right = mid;
+                    }
+                }
+                split2 = left;
+            } else {
+                split2 = (lo2 + hi2) >>> 1;
+                int pivot = src[split2];
+                int left = lo1, right = hi1;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    comparisons++;
+                    if (src[mid] <= pivot) {
+                        left = mid + 1;
+                    } else {
+                        right = mid;
+                    }
+                }
+                split1 = left;
+            }
+            int splitOut = out + (split1 - lo1) + (split2 - lo2);
+            IntMergeTask first = new IntMergeTask(src, dst, lo1, split1, lo2, split2, out, threshold);
+            IntMergeTask second = new IntMergeTask(src, dst, split1, hi1, split2, hi2, splitOut, threshold);
+            first.fork();
+            return comparisons + second.compute() + first.join();
+        }
+
+        private long mergeSequential() {
+            long comparisons = 0;
+            int i = lo1, j = lo2, k = out;
+            while (i < hi1 && j < hi2) {
+                comparisons++;
+                if (src[i] <= src[j]) {
+                    dst[k++] = src[i++];
+                } else {
+                    dst[k++] = src[j++];
+                }
+            }
+            System.arraycopy(src, i, dst, k, hi1 - i);
+            System.arraycopy(src, j, dst, k + (hi1 - i), hi2 - j);
+            return comparisons;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package analyzer;
+
+// Builds the search-friendly copies of a sorted array used by SearchStrategy.EYTZINGER and
+// SearchStrategy.BLOCKED. Both layouts are pure permutations (plus padding), so building them
+// makes no comparisons; callers rebuild them after the sorted array changes
+final class SearchLayouts {
+    private SearchLayouts() {
+    }
+
+    // Eytzinger layout of sorted[0, n): slot 1 holds the root, the children of slot k are 2k and
+    // 2k + 1, and slot 0 is unused. An in-order walk of the implicit tree visits sorted order
+    @SuppressWarnings("unchecked") // Suppresses warning for casting a generic array
+    static <T extends Comparable<T>> T[] eytzinger(T[] sorted, int n) {
+        T[] layout = (T[]) new Comparable[n + 1];
+        int i = 0;  // Next element of sorted to place
+        // Iterative in-order walk of the implicit tree
+        int k = 1;
+        int[] stack = new int[33];
+        int depth = 0;
+        while (k <= n || depth > 0) {
+            if (k <= n) {
+                stack[depth++] = k;
+                k = 2 * k;
+            } else {
+                k = stack[--depth];
+                layout[k] = sorted[i++];
+                k = 2 * k + 1;
+            }
+        }
+        return layout;
+    }
+
+    // Eytzinger layout of an int array (same shape as the generic version)
+    static int[] eytzinger(int[] sorted, int n) {
+        int[] layout = new int[n + 1];
+        int i = 0;
+        int k = 1;
+        int[] stack = new int[33];
+        int depth = 0;
+        while (k <= n || depth > 0) {
+            if (k <= n) {
+                stack[depth++] = k;
+                k = 2 * k;
+            } else {
+                k = stack[--depth];
+                layout[k] = sorted[i++];
+                k = 2 * k + 1;
+            }
+        }
+        return layout;
+    }
+
+    // Number of BLOCK_SIZE-key nodes needed to hold n keys
+    static int blockCount(int n) {
+        return (n + SearchStrategy.BLOCK_SIZE - 1) / SearchStrategy.BLOCK_SIZE;
+    }
+
+    // Index of child i (0..BLOCK_SIZE) of node k in the implicit B-tree
+    static int blockChild(int k, int i) {
+        return k * (SearchStrategy.BLOCK_SIZE + 1) + i + 1;
+    }
+
+    // Implicit B-tree layout of sorted[0, n): node k occupies [k * BLOCK_SIZE, (k + 1) * BLOCK_SIZE)
+    // and has BLOCK_SIZE + 1 children. Unused slots after the last key are left empty (null for
+    // objects, and counted by the caller for ints), which the search treats as larger than every key
+    @SuppressWarnings("unchecked") // Suppresses warning for casting a generic array
+    static <T extends Comparable<T>> T[] blocked(T[] sorted, int n) {
+        int nodes = blockCount(n);
+        T[] layout = (T[]) new Comparable[nodes * SearchStrategy.BLOCK_SIZE];
+        fillBlocked(layout, sorted, n, nodes, 0, new int[1]);
+        return layout;
+    }
+
+    // In-order fill of node k: every key is preceded by the whole subtree to its left.
+    // The tree is only log_(BLOCK_SIZE + 1) n levels deep, so recursion is fine here
+    private static <T> void fillBlocked(T[] layout, T[] sorted, int n, int nodes, int k, int[] next) {
+        if (k >= nodes) return;
+        for (int i = 0; i < SearchStrategy.BLOCK_SIZE; i++) {
+            fillBlocked(layout, sorted, n, nodes, blockChild(k, i), next);
+            layout[k * SearchStrategy.BLOCK_SIZE + i] = next[0] < n ? sorted[next[0]++] : null;
+        }
+        fillBlocked(layout, sorted, n, nodes, blockChild(k, SearchStrategy.BLOCK_SIZE), next);
+    }
+
+    // Implicit B-tree layout of an int array. Unused slots are padded with Integer.MAX_VALUE;
+    // the search handles a key equal to MAX_VALUE separately so padding never matches
+    static int[] blocked(int[] sorted, int n) {
+        int nodes = blockCount(n);
+        int[] layout = new int[nodes * SearchStrategy.BLOCK_SIZE];
+        fillBlocked(layout, sorted, n, nodes, 0, new int[1]);
+        return layout;
+    }
+
+    private static void fillBlocked(int[] layout, int[] sorted, int n, int nodes, int k, int[] next) {
+        if (k >= nodes) return;
+        for (int i = 0; i < SearchStrategy.BLOCK_SIZE; i++) {
+            fillBlocked(layout, sorted, n, nodes, blockChild(k, i), next);
+            layout[k * SearchStrategy.BLOCK_SIZE + i] = next[0] < n ? sorted[next[0]++] : Integer.MAX_VALUE;
+        }
+        fillBlocked(layout, sorted, n, nodes, blockChild(k, SearchStrategy.BLOCK_SIZE), next);
+    }
+}
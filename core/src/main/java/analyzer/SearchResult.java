@@ -0,0 +1,49 @@
+package analyzer;
+
+import java.util.BitSet;
+
+// Result of searchAll: for every probe key, whether it was found and how many comparisons the
+// structure spent on it. Key i of the batch corresponds to bit i and per-key count i
+public class SearchResult {
+    final BitSet found;  // Bit i is set when key i is present
+    final int[] comparisons;  // Comparisons charged to key i
+
+    SearchResult(int keys) {
+        found = new BitSet(keys);
+        comparisons = new int[keys];
+    }
+
+    // Number of keys in the batch
+    public int size() {
+        return comparisons.length;
+    }
+
+    // Whether key i of the batch was found
+    public boolean isFound(int i) {
+        return found.get(i);
+    }
+
+    // Copy of the found bits (bit i set when key i was found)
+    public BitSet getFound() {
+        return (BitSet) found.clone();
+    }
+
+    // Number of keys that were found
+    public int getFoundCount() {
+        return found.cardinality();
+    }
+
+    // Comparisons charged to key i of the batch
+    public int getComparisons(int i) {
+        return comparisons[i];
+    }
+
+    // Comparisons made for the whole batch
+    public long getTotalComparisons() {
+        long total = 0;
+        for (int count : comparisons) {
+            total += count;
+        }
+        return total;
+    }
+}
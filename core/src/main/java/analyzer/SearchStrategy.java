@@ -0,0 +1,24 @@
+package analyzer;
+
+// Search algorithms SortedArray and IntSortedArray can use for search().
+// Every strategy gives the same answers; they differ in how many comparisons they make and,
+// on large arrays, in how many cache misses each lookup costs
+public enum SearchStrategy {
+    // Classic binary search with an early exit on a match (one comparison per probe)
+    BINARY,
+    // Binary search that always runs log2(n) halving steps and picks the next half with a
+    // conditional move instead of a branch, followed by one equality check
+    BRANCHLESS,
+    // Binary search over a copy of the array in breadth-first (Eytzinger) order: the first
+    // levels of the implicit tree share a few cache lines and each descent walks forward in memory
+    EYTZINGER,
+    // Search over a copy of the array laid out as an implicit B-tree with BLOCK_SIZE keys per
+    // node, so each level is a scan of one or two cache lines instead of a scattered probe
+    BLOCKED,
+    // Interpolation search: guesses the position from the key's value, which needs about
+    // log log n probes on uniformly distributed integer keys. Falls back to binary search for
+    // keys that are not numbers
+    INTERPOLATION;
+
+    static final int BLOCK_SIZE = 16;  // Keys per node of the BLOCKED layout (one 64-byte line of ints)
+}
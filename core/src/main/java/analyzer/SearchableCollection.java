@@ -0,0 +1,7 @@
+package analyzer;
+
+// Operations shared by every data structure in the analyzer that values can be added to
+public interface SearchableCollection<T extends Comparable<T>> extends LookupCollection<T> {
+    // Add a value to the structure
+    void add(T value);
+}
@@ -0,0 +1,172 @@
+package analyzer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+// Reads a snapshot written by SnapshotOutput. The file is read in large bulk FileChannel reads;
+// the checksum is updated as each block arrives and compared with the trailer by finish()
+public final class SnapshotInput implements Closeable {
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(SnapshotOutput.BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+    private final long payloadEnd;  // File offset of the checksum trailer
+    private long filePosition;  // File offset of the next byte to read from the channel
+    private final SnapshotKind kind;
+    private final int codecId;
+    private final int flags;
+    private final long count;
+
+    private SnapshotInput(Path path, FileChannel channel) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        long size = channel.size();
+        if (size < SnapshotOutput.HEADER_BYTES + Integer.BYTES) {
+            throw new IOException("Not a snapshot file (too short): " + path);
+        }
+        payloadEnd = size - Integer.BYTES;
+        buffer.limit(0);
+        if (readLong() != SnapshotOutput.MAGIC) {
+            throw new IOException("Not a snapshot file (bad magic number): " + path);
+        }
+        int version = readInt();
+        if (version != SnapshotOutput.VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ": " + path);
+        }
+        kind = SnapshotKind.forId(readInt());
+        codecId = readInt();
+        flags = readInt();
+        count = readLong();
+        if (count < 0) {
+            throw new IOException("Corrupt snapshot header: " + path);
+        }
+    }
+
+    // Open a snapshot and check that it was written by the expected kind of structure with the
+    // expected codec (0 for the int structures)
+    static SnapshotInput open(Path path, SnapshotKind expected, int expectedCodec) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            SnapshotInput in = new SnapshotInput(path, channel);
+            if (in.kind != expected) {
+                throw new IOException("Snapshot holds " + in.kind + ", not " + expected + ": " + path);
+            }
+            if (in.codecId != expectedCodec) {
+                throw new IOException("Snapshot was written with key codec " + in.codecId
+                        + ", not " + expectedCodec + ": " + path);
+            }
+            return in;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    int flags() {
+        return flags;
+    }
+
+    // Number of elements stored in the snapshot, checked against what the caller can hold and
+    // against the payload size: every element takes at least elementBytes bytes, so a corrupt
+    // count is rejected here, before the caller sizes its storage for it
+    int count(int elementBytes) throws IOException {
+        if (count > Integer.MAX_VALUE - 8) {
+            throw new IOException("Snapshot holds too many elements (" + count + "): " + path);
+        }
+        if (count * Math.max(1, elementBytes) > payloadEnd - SnapshotOutput.HEADER_BYTES) {
+            throw new IOException("Corrupt snapshot, " + count + " elements cannot fit in "
+                    + (payloadEnd - SnapshotOutput.HEADER_BYTES) + " payload bytes: " + path);
+        }
+        return (int) count;
+    }
+
+    // Payload bytes not read yet, for checking a length read from the file before allocating for it
+    long remaining() {
+        return buffer.remaining() + payloadEnd - filePosition;
+    }
+
+    public int readByte() throws IOException {
+        ensure(1);
+        return buffer.get() & 0xFF;
+    }
+
+    public int readInt() throws IOException {
+        ensure(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    public long readLong() throws IOException {
+        ensure(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    public void readBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            int n = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.get(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    // Read values[from, to) with bulk copies out of the buffer
+    public void readInts(int[] values, int from, int to) throws IOException {
+        while (from < to) {
+            ensure(Integer.BYTES);
+            int n = Math.min(buffer.remaining() / Integer.BYTES, to - from);
+            buffer.asIntBuffer().get(values, from, n);
+            buffer.position(buffer.position() + n * Integer.BYTES);
+            from += n;
+        }
+    }
+
+    // Make sure the given number of bytes are buffered, reading the next block if needed
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) return;
+        buffer.compact();
+        int start = buffer.position();
+        long wanted = Math.min(buffer.remaining(), payloadEnd - filePosition);
+        buffer.limit(start + (int) wanted);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, filePosition);
+            if (read < 0) break;
+            filePosition += read;
+        }
+        buffer.flip();
+        // Checksum the newly read bytes
+        ByteBuffer fresh = buffer.duplicate();
+        fresh.position(start);
+        crc.update(fresh);
+        if (buffer.remaining() < bytes) {
+            throw new IOException("Snapshot is truncated: " + path);
+        }
+    }
+
+    // Check that the whole payload was consumed and that its checksum matches the trailer
+    void finish() throws IOException {
+        if (buffer.hasRemaining() || filePosition != payloadEnd) {
+            throw new IOException("Snapshot has unexpected trailing data: " + path);
+        }
+        ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (trailer.hasRemaining()) {
+            if (channel.read(trailer, payloadEnd + trailer.position()) < 0) {
+                throw new IOException("Snapshot is truncated: " + path);
+            }
+        }
+        if (trailer.getInt(0) != (int) crc.getValue()) {
+            throw new IOException("Snapshot checksum mismatch: " + path);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
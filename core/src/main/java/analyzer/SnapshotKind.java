@@ -0,0 +1,39 @@
+package analyzer;
+
+// Structure type recorded in a snapshot header, so a file can only be loaded back into the
+// kind of structure that wrote it. The ids are part of the file format and must never change
+public enum SnapshotKind {
+    UNSORTED_ARRAY(1),
+    SORTED_ARRAY(2),
+    UNSORTED_LINKED_LIST(3),
+    SORTED_LINKED_LIST(4),
+    BST(5),
+    IMPLICIT_BST(6),
+    INT_UNSORTED_ARRAY(11),
+    INT_SORTED_ARRAY(12),
+    INT_UNSORTED_LINKED_LIST(13),
+    INT_SORTED_LINKED_LIST(14),
+    INT_BST(15),
+    INT_UNROLLED_LINKED_LIST(16),
+    INT_SORTED_UNROLLED_LINKED_LIST(17);
+
+    private final int id;  // Value stored in the file
+
+    SnapshotKind(int id) {
+        this.id = id;
+    }
+
+    int id() {
+        return id;
+    }
+
+    // Kind with the given file id, or null if there is none
+    static SnapshotKind forId(int id) {
+        for (SnapshotKind kind : values()) {
+            if (kind.id == id) {
+                return kind;
+            }
+        }
+        return null;
+    }
+}
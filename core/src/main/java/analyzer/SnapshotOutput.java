@@ -0,0 +1,124 @@
+package analyzer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+// Writes a structure snapshot. The file layout (all little-endian) is
+//   header:  magic (8 bytes) | version (4) | kind (4) | codec id (4) | flags (4) | count (8)
+//   payload: written by the structure, see its save method
+//   trailer: CRC32C of header and payload (4)
+// Data goes through one large direct buffer and is written with bulk FileChannel writes. The
+// snapshot is written to a temporary file that replaces the target only in commit(), so a
+// failed or interrupted save never leaves a half-written snapshot under the real name
+public final class SnapshotOutput implements Closeable {
+    static final long MAGIC = 0x3150414E53534444L;  // The bytes "DDSSNAP1" read as a little-endian long
+    static final int VERSION = 1;  // Format version, checked on load
+    static final int HEADER_BYTES = 32;
+    static final int BUFFER_BYTES = 1 << 20;  // Size of the I/O buffer
+    static final int CHUNK = BUFFER_BYTES / Integer.BYTES;  // Keys copied per bulk transfer
+
+    private final Path target;  // Final snapshot file
+    private final Path temporary;  // File being written
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+    private boolean closed;
+
+    SnapshotOutput(Path target, SnapshotKind kind, int codecId, int flags, long count) throws IOException {
+        this.target = target;
+        Path directory = target.toAbsolutePath().getParent();
+        this.temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        this.channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putLong(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(kind.id());
+        buffer.putInt(codecId);
+        buffer.putInt(flags);
+        buffer.putLong(count);
+    }
+
+    public void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    public void writeInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    public void writeLong(long value) throws IOException {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    public void writeBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            int count = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, count);
+            offset += count;
+        }
+    }
+
+    // Write values[from, to) as a bulk copy into the buffer
+    public void writeInts(int[] values, int from, int to) throws IOException {
+        while (from < to) {
+            ensure(Integer.BYTES);
+            int count = Math.min(buffer.remaining() / Integer.BYTES, to - from);
+            buffer.asIntBuffer().put(values, from, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            from += count;
+        }
+    }
+
+    // Make room for the given number of bytes
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    // Add the buffered bytes to the checksum and write them out
+    private void flush() throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Finish the file with the checksum trailer and move it into place over the target
+    public void commit() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Snapshot already committed or closed");
+        }
+        flush();
+        buffer.putInt((int) crc.getValue()).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.close();
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        closed = true;
+    }
+
+    // Close without committing: the temporary file is deleted and the target is left untouched
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        channel.close();
+        Files.deleteIfExists(temporary);
+    }
+}
@@ -0,0 +1,558 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+
+public class SortedArray<T extends Comparable<T>> implements SortableCollection<T>, OrderedCollection<T> {
+    static final int SORTED_FLAG = 1;  // Snapshot header flag: the stored elements are in order
+
+    private T[] array;  // Array to store elements of type T (generic type)
+    private int size;  // Current size of the array (number of elements in use)
+    private int sortComparisons; // Counter to track the number of comparisons during sorting
+    private int comparisons;  // Comparisons made by the last search
+    private final double growthFactor;  // Factor the capacity is multiplied by when the array is full
+    private T[] buffer;  // Scratch space for sort(), allocated on first use and reused afterwards
+    private int parallelism = ForkJoinPool.getCommonPoolParallelism();  // Number of worker threads used by parallelSort
+    private int parallelThreshold = ParallelMergeSort.DEFAULT_THRESHOLD;  // Range length parallelSort handles sequentially
+    private boolean sortedInsert;  // When set, every add inserts at its sorted position instead of appending
+    private boolean sorted = true;  // Whether the elements are known to be in order (an empty array is)
+    private SearchStrategy searchStrategy = SearchStrategy.BINARY;  // Algorithm search() uses
+    private T[] eytzingerLayout;  // Breadth-first copy for EYTZINGER, built on first use and dropped on change
+    private T[] blockedLayout;  // Implicit B-tree copy for BLOCKED, built on first use and dropped on change
+    private final Metrics metrics = new Metrics("SortedArray", false, this::size, this::footprintBytes, null);
+
+    // Constructor to initialize the array with a specified initial capacity
+    public SortedArray(int capacity) {
+        this(capacity, ArrayGrowth.DEFAULT_GROWTH_FACTOR);
+    }
+
+    // Constructor to initialize the array with a specified initial capacity and growth factor (must be > 1)
+    @SuppressWarnings("unchecked") // Suppresses warning for casting a generic array
+    public SortedArray(int capacity, double growthFactor) {
+        ArrayGrowth.checkGrowthFactor(growthFactor);
+        // Initialize the array with the given capacity
+        array = (T[]) new Comparable[capacity];
+        size = 0;  // Initially, the size is 0 (array is empty)
+        sortComparisons = 0;  // No comparisons yet
+        this.growthFactor = growthFactor;
+    }
+
+    // Add a value to the array, growing it if it is full. In sorted-insert mode the value is
+    // placed at its sorted position (after any equal values); otherwise it is appended and the
+    // array needs sort() before it can be searched
+    @Override
+    public void add(T value) {
+        long start = metrics.start();
+        int before = sortComparisons;
+        dropLayouts();
+        ensureCapacity(size + 1);
+        if (sortedInsert) {
+            // Binary search for the insertion point, then shift the tail right in one block move
+            int position = upperBound(value);
+            System.arraycopy(array, position, array, position + 1, size - position);
+            array[position] = value;
+            size++;
+        } else {
+            // Add the value at the current position and increment size
+            array[size++] = value;
+            sorted = size == 1;
+        }
+        metrics.record(Metrics.Operation.ADD, 1, sortComparisons - before, start);
+    }
+
+    // Method to add every value of the given array, growing the storage at most once. In
+    // sorted-insert mode the batch is sorted on its own and merged into the array in a single
+    // backward pass, so the existing elements are never re-sorted
+    public void addAll(T[] values) {
+        long start = metrics.start();
+        int before = sortComparisons;
+        dropLayouts();
+        int count = values.length;
+        ensureCapacity(size + count);
+        if (!sortedInsert) {
+            System.arraycopy(values, 0, array, size, count);
+            size += count;
+            sorted = size <= 1;
+        } else if (count > 0) {
+            mergeBatch(values);
+        }
+        metrics.record(Metrics.Operation.ADD, count, sortComparisons - before, start);
+    }
+
+    // Sort a batch on its own and merge it into the sorted array from the back
+    private void mergeBatch(T[] values) {
+        int count = values.length;
+        // Sort the batch in buffer[size, size + count), using the free tail of the array as scratch
+        ensureBuffer();
+        System.arraycopy(values, 0, buffer, size, count);
+        sortComparisons += (int) MergeSort.sort(buffer, array, size, size + count);
+
+        // Merge from the back: the largest remaining element goes to the last free slot.
+        // On ties the batch element is placed first (further back), so it ends up after existing equal values
+        int i = size - 1;  // Last unmerged element of the array
+        int j = size + count - 1;  // Last unmerged element of the batch (in buffer)
+        int k = size + count - 1;  // Next slot to fill
+        while (j >= size) {
+            if (i >= 0) {
+                sortComparisons++;
+                if (array[i].compareTo(buffer[j]) > 0) {
+                    array[k--] = array[i--];
+                    continue;
+                }
+            }
+            array[k--] = buffer[j--];
+        }
+        Arrays.fill(buffer, size, size + count, null);  // Do not keep the batch reachable from the buffer
+        size += count;
+    }
+
+    // Turn sorted-insert mode on or off. Turning it on sorts the current elements if needed
+    public void setSortedInsert(boolean sortedInsert) {
+        if (sortedInsert && !sorted) {
+            sort();
+        }
+        this.sortedInsert = sortedInsert;
+    }
+
+    // Whether add keeps the array sorted
+    public boolean isSortedInsert() {
+        return sortedInsert;
+    }
+
+    // Whether the elements are currently in sorted order (so search gives reliable answers)
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    // Index of the first element greater than value, counting each comparison
+    private int upperBound(T value) {
+        int left = 0, right = size;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            sortComparisons++;
+            if (array[mid].compareTo(value) <= 0) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    // Make sure the scratch buffer is as long as the array
+    @SuppressWarnings("unchecked") // Suppresses warning for casting a generic array
+    private void ensureBuffer() {
+        if (buffer == null || buffer.length < array.length) {
+            buffer = (T[]) new Comparable[array.length];
+        }
+    }
+
+    // Method to make sure the array can hold at least minCapacity elements without growing again
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            array = Arrays.copyOf(array, ArrayGrowth.newCapacity(array.length, minCapacity, growthFactor));
+        }
+    }
+
+    // Method to shrink the storage to the number of elements actually held
+    public void trimToSize() {
+        if (size < array.length) {
+            array = Arrays.copyOf(array, size);
+        }
+        buffer = null;  // Release the sort buffer as well; it is reallocated by the next sort
+    }
+
+    // Method to get the number of elements the array can hold before it has to grow
+    public int capacity() {
+        return array.length;
+    }
+
+    // Sort the array with a natural merge sort (see MergeSort): already sorted runs are detected
+    // and merged, short runs are insertion sorted, and one scratch buffer is reused across merges
+    // and across calls instead of allocating temporary arrays in every merge
+    @Override
+    public void sort() {
+        long start = metrics.start();
+        dropLayouts();
+        ensureBuffer();
+        long sortCost = MergeSort.sort(array, buffer, 0, size);
+        sortComparisons += (int) sortCost;
+        sorted = true;
+        metrics.record(Metrics.Operation.SORT, size, sortCost, start);
+    }
+
+    // Sort the array on a ForkJoinPool (see ParallelMergeSort): ranges up to parallelThreshold
+    // elements are sorted by separate workers and then merged, with large merges also split
+    @Override
+    public void parallelSort() {
+        long start = metrics.start();
+        dropLayouts();
+        ensureBuffer();
+        long sortCost = ParallelMergeSort.sort(array, buffer, 0, size, parallelThreshold, parallelism);
+        sortComparisons += (int) sortCost;
+        sorted = true;
+        metrics.record(Metrics.Operation.SORT, size, sortCost, start);
+    }
+
+    // Set the number of worker threads parallelSort uses (defaults to the common pool's parallelism)
+    public void setParallelism(int parallelism) {
+        ParallelMergeSort.checkSettings(parallelism, parallelThreshold);
+        this.parallelism = parallelism;
+    }
+
+    // Set the range length below which parallelSort stops splitting and sorts sequentially
+    public void setParallelThreshold(int parallelThreshold) {
+        ParallelMergeSort.checkSettings(parallelism, parallelThreshold);
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    // Method to get the element at a specific index in the array
+    public T get(int index) {
+        // Validate the index to avoid ArrayIndexOutOfBoundsException
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return array[index];  // Return the element at the given index
+    }
+
+    // The backing array, for structures built straight from the elements; only [0, size) is in use
+    T[] elements() {
+        return array;
+    }
+
+    // Get the number of elements currently in the array
+    public int size() {
+        return size;  // Return the number of elements added so far
+    }
+
+    // Choose the algorithm search() uses (BINARY by default); see SearchStrategy
+    public void setSearchStrategy(SearchStrategy searchStrategy) {
+        if (searchStrategy == null) {
+            throw new IllegalArgumentException("Search strategy must not be null");
+        }
+        this.searchStrategy = searchStrategy;
+    }
+
+    // Get the algorithm search() uses
+    public SearchStrategy getSearchStrategy() {
+        return searchStrategy;
+    }
+
+    // Search for a value in the sorted array with the selected search strategy
+    @Override
+    public boolean search(T value) {
+        long start = metrics.start();
+        comparisons = 0;  // Each search is counted on its own
+        boolean found;
+        switch (searchStrategy) {
+            case BRANCHLESS:
+                found = branchlessSearch(value);
+                break;
+            case EYTZINGER:
+                found = eytzingerSearch(value);
+                break;
+            case BLOCKED:
+                found = blockedSearch(value);
+                break;
+            case INTERPOLATION:
+                found = interpolationSearch(value);
+                break;
+            default:
+                found = binarySearch(value);
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return found;
+    }
+
+    // Binary search with one compareTo per probe, stopping as soon as the value is found
+    private boolean binarySearch(T value) {
+        int left = 0;  // Start index of the array
+        int right = size - 1;  // End index of the array
+
+        // Perform binary search
+        while (left <= right) {
+            // Find the middle index of the array
+            int mid = (left + right) >>> 1;
+            comparisons++;  // Count the comparison for searching
+
+            int cmp = array[mid].compareTo(value);
+            // Check if the value is found at the middle
+            if (cmp == 0) {
+                return true;  // Return true if the value is found
+            }
+            // Adjust the search range based on the comparison
+            if (cmp < 0) {
+                left = mid + 1;  // Narrow the search to the right half
+            } else {
+                right = mid - 1;  // Narrow the search to the left half
+            }
+        }
+        return false;  // Return false if the value is not found
+    }
+
+    // Binary search without an early exit: the window [base, base + length) always halves, and the
+    // next base is picked with a conditional expression the JIT can turn into a conditional move.
+    // It ends on the last element not greater than the value, which is then checked for equality
+    private boolean branchlessSearch(T value) {
+        if (size == 0) return false;
+        int base = 0;
+        int length = size;
+        while (length > 1) {
+            int half = length >>> 1;
+            comparisons++;
+            base = array[base + half].compareTo(value) <= 0 ? base + half : base;
+            length -= half;
+        }
+        comparisons++;
+        return array[base].compareTo(value) == 0;
+    }
+
+    // Descend the Eytzinger layout to the first element not less than the value. The loop has no
+    // data-dependent exit, and the nodes it touches next are adjacent (2k and 2k + 1)
+    private boolean eytzingerSearch(T value) {
+        if (eytzingerLayout == null) {
+            eytzingerLayout = SearchLayouts.eytzinger(array, size);
+        }
+        T[] layout = eytzingerLayout;
+        int k = 1;
+        while (k <= size) {
+            comparisons++;
+            k = 2 * k + (layout[k].compareTo(value) < 0 ? 1 : 0);
+        }
+        // Undo the right turns taken after the last left turn to get the lower bound (0 if none)
+        k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+        if (k == 0) return false;
+        comparisons++;
+        return layout[k].compareTo(value) == 0;
+    }
+
+    // Walk the implicit B-tree: scan one node's keys until one is not less than the value, then
+    // descend into the child left of it. Empty (null) slots only occur after the last key
+    private boolean blockedSearch(T value) {
+        if (blockedLayout == null) {
+            blockedLayout = SearchLayouts.blocked(array, size);
+        }
+        T[] layout = blockedLayout;
+        int nodes = SearchLayouts.blockCount(size);
+        int k = 0;
+        while (k < nodes) {
+            int base = k * SearchStrategy.BLOCK_SIZE;
+            int i = 0;
+            while (i < SearchStrategy.BLOCK_SIZE && layout[base + i] != null) {
+                comparisons++;
+                int cmp = layout[base + i].compareTo(value);
+                if (cmp == 0) return true;
+                if (cmp > 0) break;
+                i++;
+            }
+            k = SearchLayouts.blockChild(k, i);
+        }
+        return false;
+    }
+
+    // Interpolation search for Number keys: the next probe is placed where the value would sit if
+    // the keys between left and right were evenly spaced. After log2(n) probes without success it
+    // switches to plain bisection, so skewed data costs at most about twice a binary search
+    private boolean interpolationSearch(T value) {
+        if (!(value instanceof Number)) {
+            return binarySearch(value);
+        }
+        double key = ((Number) value).doubleValue();
+        int left = 0;
+        int right = size - 1;
+        int probesLeft = 32 - Integer.numberOfLeadingZeros(size);  // Interpolated probes before bisecting
+        while (left <= right) {
+            int mid;
+            double low = ((Number) array[left]).doubleValue();
+            double high = ((Number) array[right]).doubleValue();
+            if (probesLeft > 0 && high > low) {
+                probesLeft--;
+                double fraction = (key - low) / (high - low);
+                fraction = Math.max(0.0, Math.min(1.0, fraction));
+                mid = left + (int) (fraction * (right - left));
+            } else {
+                mid = (left + right) >>> 1;
+            }
+            comparisons++;
+            int cmp = array[mid].compareTo(value);
+            if (cmp == 0) {
+                return true;
+            }
+            if (cmp < 0) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        return false;
+    }
+
+    // Search for a batch of keys by walking the array once in key order: the keys are visited in
+    // ascending order and each search gallops forward from where the previous one stopped, so the
+    // batch costs O(m log(n / m)) comparisons and touches each part of the array at most once.
+    // Like search, it assumes the array is sorted (isSorted); on an unsorted array the answers are unreliable
+    @Override
+    public SearchResult searchAll(T[] keys) {
+        long start = metrics.start();
+        SearchResult result = new SearchResult(keys.length);
+        int position = 0;  // Lower bound of the previous (smaller or equal) key
+        for (int index : BatchSearch.sortedOrder(keys)) {
+            T key = keys[index];
+            position = BatchSearch.gallop(array, position, size, key, result, index);
+            if (position < size) {
+                result.comparisons[index]++;
+                if (array[position].compareTo(key) == 0) {
+                    result.found.set(index);
+                }
+            }
+        }
+        comparisons = (int) result.getTotalComparisons();  // The batch counts as the last search
+        metrics.record(Metrics.Operation.SEARCH, keys.length, result.getTotalComparisons(), start);
+        return result;
+    }
+
+    // Number of elements smaller than value: the position of its lower bound
+    @Override
+    public int rank(T value) {
+        long start = metrics.start();
+        comparisons = 0;
+        int rank = bound(value, false);
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return rank;
+    }
+
+    // Element with the given rank, read straight from the array without comparisons
+    @Override
+    public T select(int k) {
+        long start = metrics.start();
+        checkSorted();
+        comparisons = 0;
+        T value = get(k);
+        metrics.record(Metrics.Operation.SEARCH, 1, 0, start);
+        return value;
+    }
+
+    // Largest element not greater than value: the one before its upper bound
+    @Override
+    public T floor(T value) {
+        long start = metrics.start();
+        comparisons = 0;
+        int position = bound(value, true);
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return position > 0 ? array[position - 1] : null;
+    }
+
+    // Smallest element not smaller than value: the one at its lower bound
+    @Override
+    public T ceiling(T value) {
+        long start = metrics.start();
+        comparisons = 0;
+        int position = bound(value, false);
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return position < size ? array[position] : null;
+    }
+
+    // Number of elements in [from, to], from two binary searches
+    @Override
+    public int rangeCount(T from, T to) {
+        long start = metrics.start();
+        comparisons = 0;
+        int count = Math.max(0, bound(to, true) - bound(from, false));
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return count;
+    }
+
+    // The elements in [from, to], found with two binary searches and then read in index order
+    @Override
+    public Iterator<T> range(T from, T to) {
+        long start = metrics.start();
+        comparisons = 0;
+        int first = bound(from, false);
+        int end = Math.max(first, bound(to, true));
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return Arrays.asList(array).subList(first, end).iterator();
+    }
+
+    // Lower bound (first element not smaller than value) or, when inclusive, upper bound (first
+    // element greater than value) of value, with one compareTo per halving of the window
+    private int bound(T value, boolean inclusive) {
+        checkSorted();
+        int left = 0;
+        int right = size;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            comparisons++;
+            int cmp = array[mid].compareTo(value);
+            if (cmp < 0 || (inclusive && cmp == 0)) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    // Order queries need the elements in order
+    private void checkSorted() {
+        if (!sorted) {
+            throw new IllegalStateException("The array is not sorted; call sort() first");
+        }
+    }
+
+    // Forget the search layouts; they are rebuilt from the array the next time they are needed
+    private void dropLayouts() {
+        eytzingerLayout = null;
+        blockedLayout = null;
+    }
+
+    // Write the elements to a snapshot file (layout in SnapshotOutput); the payload is the
+    // elements in index order, and header flag SORTED_FLAG records whether they are in order
+    public void save(Path file, KeyCodec<T> codec) throws IOException {
+        int flags = sorted ? SORTED_FLAG : 0;
+        try (SnapshotOutput out = new SnapshotOutput(file, SnapshotKind.SORTED_ARRAY, codec.id(), flags, size)) {
+            codec.writeAll(array, 0, size, out);
+            out.commit();
+        }
+    }
+
+    // Load an array from a snapshot written by save. The elements are copied back as stored, so
+    // a sorted snapshot is searchable at once without sorting or comparing anything
+    public static <T extends Comparable<T>> SortedArray<T> load(Path file, KeyCodec<T> codec) throws IOException {
+        try (SnapshotInput in = SnapshotInput.open(file, SnapshotKind.SORTED_ARRAY, codec.id())) {
+            int count = in.count(codec.minBytes());
+            SortedArray<T> result = new SortedArray<>(count);
+            codec.readAll(result.array, 0, count, in);
+            in.finish();
+            result.size = count;
+            result.sorted = (in.flags() & SORTED_FLAG) != 0 || count < 2;
+            return result;
+        }
+    }
+
+    // Get the number of comparisons made during the last search (sorting is counted separately)
+    @Override
+    public int getComparisons() {
+        return comparisons;
+    }
+
+    // Method to get the counters, timers and footprint of the array
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Estimated bytes held by the array, the sort buffer and the search layouts, not counting the elements
+    private long footprintBytes() {
+        return Footprint.array(array) + Footprint.array(buffer)
+                + Footprint.array(eytzingerLayout) + Footprint.array(blockedLayout);
+    }
+
+    // Method to get the number of comparisons made by sorting, including sorted inserts
+    @Override
+    public int getSortComparisons() {
+        return sortComparisons;  // Return the total number of comparisons during sorting
+    }
+}
@@ -0,0 +1,631 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class SortedLinkedList<T extends Comparable<T>> extends UnsortedLinkedList<T> implements SortableCollection<T>, OrderedCollection<T> {
+    private static final int SKIP_INTERVAL = 32; // Nodes from one skip index entry to the next
+
+    private int sortComparisons; // To count comparisons during sorting
+    private int parallelism; // Number of worker threads used by parallelSort
+    private int parallelThreshold; // Chunk length parallelSort sorts sequentially
+    private boolean sortedInsert; // When set, every add links the node in at its sorted position
+    private boolean sorted = true; // Whether the nodes are known to be in order (an empty list is)
+    private LLNode<T> finger; // Last node linked in by a sorted add, used as a shortcut for the next one
+    private LLNode<T>[] skipIndex; // Nodes at positions 0, SKIP_INTERVAL, 2 * SKIP_INTERVAL, ..., built on first use and dropped on change
+    private int indexedSize; // Number of nodes in the list when the skip index was built
+
+    // Constructor to initialize the sorted linked list and the comparisons counter
+    public SortedLinkedList() {
+        super(); // Call to the parent class constructor (UnsortedLinkedList)
+        sortComparisons = 0; // Initialize sortComparisons to zero
+        parallelism = ForkJoinPool.getCommonPoolParallelism();
+        parallelThreshold = ParallelMergeSort.DEFAULT_THRESHOLD;
+    }
+
+    // Add a value to the list. Outside sorted-insert mode the node goes to the front as in
+    // UnsortedLinkedList. In sorted-insert mode the walk for the insertion point starts at the
+    // previously inserted node when the value is not smaller than it, so ascending or clustered
+    // insertions do not rescan the list from the head every time
+    @Override
+    public void add(T value) {
+        skipIndex = null;
+        if (!sortedInsert) {
+            super.add(value);  // Recorded in the metrics by UnsortedLinkedList
+            sorted = head.getNext() == null;
+            return;
+        }
+        long start = metrics.start();
+        int before = sortComparisons;
+        LLNode<T> newNode = new LLNode<>(value);
+
+        // Pick the node to walk from: the finger if it is not past the value, otherwise the head
+        LLNode<T> current = null;
+        if (finger != null) {
+            sortComparisons++;
+            if (finger.getData().compareTo(value) <= 0) {
+                current = finger;
+            }
+        }
+        if (current == null && head != null) {
+            sortComparisons++;
+            if (head.getData().compareTo(value) <= 0) {
+                current = head;
+            }
+        }
+
+        if (current == null) {
+            // Smaller than every node: the value becomes the new head
+            newNode.setNext(head);
+            head = newNode;
+        } else {
+            // Walk past every node not greater than the value, so equal values keep insertion order
+            while (current.getNext() != null) {
+                sortComparisons++;
+                if (current.getNext().getData().compareTo(value) > 0) {
+                    break;
+                }
+                current = current.getNext();
+            }
+            newNode.setNext(current.getNext());
+            current.setNext(newNode);
+        }
+        finger = newNode;
+        size++;
+        filterAdd(value);
+        metrics.record(Metrics.Operation.ADD, 1, sortComparisons - before, start);
+    }
+
+    // Add every value of the given array. In sorted-insert mode the values are linked into a
+    // chain, sorted on their own and merged into the list in a single pass
+    public void addAll(T[] values) {
+        if (!sortedInsert) {
+            for (T value : values) {
+                add(value);
+            }
+            return;
+        }
+        if (values.length == 0) return;
+        long start = metrics.start();
+        skipIndex = null;
+
+        // Link the new values into a chain in array order
+        LLNode<T> batch = new LLNode<>(values[0]);
+        LLNode<T> tail = batch;
+        for (int i = 1; i < values.length; i++) {
+            LLNode<T> node = new LLNode<>(values[i]);
+            tail.setNext(node);
+            tail = node;
+        }
+
+        // Sort the chain, then merge it in; existing nodes come first on ties
+        Sorter<T> sorter = new Sorter<>();
+        head = sorter.merge(head, sorter.sort(batch));
+        size += values.length;
+        sortComparisons += (int) sorter.comparisons;
+        for (T value : values) {
+            filterAdd(value);
+        }
+        metrics.record(Metrics.Operation.ADD, values.length, sorter.comparisons, start);
+    }
+
+    // Turn sorted-insert mode on or off. Turning it on sorts the current nodes if needed
+    public void setSortedInsert(boolean sortedInsert) {
+        if (sortedInsert && !sorted) {
+            sort();
+        }
+        this.sortedInsert = sortedInsert;
+    }
+
+    // Whether add keeps the list sorted
+    public boolean isSortedInsert() {
+        return sortedInsert;
+    }
+
+    // Whether the nodes are currently in sorted order
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    // Public method to sort the linked list with the bottom-up natural merge sort
+    @Override
+    public void sort() {
+        long start = metrics.start();
+        sorted = true;
+        skipIndex = null;
+        Sorter<T> sorter = new Sorter<>();
+        // If the list is empty or contains only one element, it is already sorted
+        if (head != null && head.getNext() != null) {
+            head = sorter.sort(head);
+            sortComparisons += (int) sorter.comparisons;
+        }
+        metrics.record(Metrics.Operation.SORT, size, sorter.comparisons, start);
+    }
+
+    // Sort with the original top-down merge sort, which finds the middle of every sublist;
+    // kept so the analyzer can compare it against the bottom-up sort
+    public void sortTopDown() {
+        long start = metrics.start();
+        sorted = true;
+        skipIndex = null;
+        Sorter<T> sorter = new Sorter<>();
+        if (head != null && head.getNext() != null) {
+            // Start the merge sort process by calling the recursive mergeSort method
+            head = sorter.mergeSort(head);
+            sortComparisons += (int) sorter.comparisons;
+        }
+        metrics.record(Metrics.Operation.SORT, size, sorter.comparisons, start);
+    }
+
+    // Sort the list on a ForkJoinPool. Instead of finding the middle at every level, the list is
+    // walked once to cut it into chunks of about parallelThreshold nodes; the chunks are sorted by separate workers and merged back pairwise in a tree
+    @Override
+    @SuppressWarnings("unchecked") // Suppresses warning for creating a generic array
+    public void parallelSort() {
+        long start = metrics.start();
+        sorted = true;
+        skipIndex = null;
+        if (head == null || head.getNext() == null) {
+            metrics.record(Metrics.Operation.SORT, size, 0, start);
+            return;
+        }
+
+        int length = size;
+        int chunkCount = (length + parallelThreshold - 1) / parallelThreshold;
+        int chunkLength = (length + chunkCount - 1) / chunkCount;
+
+        // Cut the list into chunks, remembering the first node of each
+        LLNode<T>[] chunks = (LLNode<T>[]) new LLNode[chunkCount];
+        LLNode<T> node = head;
+        for (int c = 0; c < chunkCount; c++) {
+            chunks[c] = node;
+            for (int i = 1; i < chunkLength && node.getNext() != null; i++) {
+                node = node.getNext();
+            }
+            LLNode<T> next = node.getNext();
+            node.setNext(null);
+            node = next;
+        }
+
+        ChunkSortTask<T> task = new ChunkSortTask<>(chunks, 0, chunkCount);
+        head = ParallelMergeSort.invoke(task, parallelism);
+        sortComparisons += (int) task.comparisons;
+        metrics.record(Metrics.Operation.SORT, length, task.comparisons, start);
+    }
+
+    // Set the number of worker threads parallelSort uses (defaults to the common pool's parallelism)
+    public void setParallelism(int parallelism) {
+        ParallelMergeSort.checkSettings(parallelism, parallelThreshold);
+        this.parallelism = parallelism;
+    }
+
+    // Set the chunk length below which parallelSort stops splitting and sorts sequentially
+    public void setParallelThreshold(int parallelThreshold) {
+        ParallelMergeSort.checkSettings(parallelism, parallelThreshold);
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    // Search for a batch of keys in the sorted list with a single walk: the keys are visited in
+    // ascending order and the walk resumes at the node where the previous key stopped, so the
+    // batch costs O(n + m) comparisons instead of one walk from the head per key. The walk relies
+    // on the order, so a list that has had adds since its last sort uses UnsortedLinkedList's
+    // hash table instead, and answers the same as search
+    @Override
+    public SearchResult searchAll(T[] keys) {
+        if (!sorted) {
+            return super.searchAll(keys);
+        }
+        long start = metrics.start();
+        SearchResult result = new SearchResult(keys.length);
+        LLNode<T> node = head;  // First node not smaller than the previous key
+        for (int index : BatchSearch.sortedOrder(keys)) {
+            T key = keys[index];
+            while (node != null) {
+                result.comparisons[index]++;
+                int cmp = node.getData().compareTo(key);
+                if (cmp >= 0) {
+                    if (cmp == 0) {
+                        result.found.set(index);
+                    }
+                    break;
+                }
+                node = node.getNext();
+            }
+        }
+        comparisons = (int) result.getTotalComparisons(); // The batch counts as the last search
+        metrics.record(Metrics.Operation.SEARCH, keys.length, result.getTotalComparisons(), start);
+        return result;
+    }
+
+    // Number of values smaller than value: the position of its lower bound (see bound)
+    @Override
+    public int rank(T value) {
+        long start = metrics.start();
+        comparisons = 0;
+        int rank = bound(value, false);
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return rank;
+    }
+
+    // Value with the given rank: jump to the skip index entry before it and walk the rest, with
+    // no comparisons
+    @Override
+    public T select(int k) {
+        long start = metrics.start();
+        ensureSkipIndex();
+        if (k < 0 || k >= indexedSize) {
+            throw new IndexOutOfBoundsException("Invalid rank: " + k);
+        }
+        comparisons = 0;
+        T value = nodeAt(k).getData();
+        metrics.record(Metrics.Operation.SEARCH, 1, 0, start);
+        return value;
+    }
+
+    // Largest value not greater than value: the node before its upper bound
+    @Override
+    public T floor(T value) {
+        long start = metrics.start();
+        comparisons = 0;
+        int position = bound(value, true);
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return position > 0 ? nodeAt(position - 1).getData() : null;
+    }
+
+    // Smallest value not smaller than value: the node at its lower bound
+    @Override
+    public T ceiling(T value) {
+        long start = metrics.start();
+        comparisons = 0;
+        int position = bound(value, false);
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return position < indexedSize ? nodeAt(position).getData() : null;
+    }
+
+    // Number of values in [from, to], from the positions of the two bounds
+    @Override
+    public int rangeCount(T from, T to) {
+        long start = metrics.start();
+        comparisons = 0;
+        int count = Math.max(0, bound(to, true) - bound(from, false));
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return count;
+    }
+
+    // The values in [from, to] in list order. Both bounds are found first, so the iterator just
+    // follows the links for the known number of nodes
+    @Override
+    public Iterator<T> range(T from, T to) {
+        long start = metrics.start();
+        comparisons = 0;
+        int first = bound(from, false);
+        int count = Math.max(0, bound(to, true) - first);
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        LLNode<T> firstNode = count > 0 ? nodeAt(first) : null;
+        return new Iterator<T>() {
+            private LLNode<T> node = firstNode;
+            private int remaining = count;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public T next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                T value = node.getData();
+                node = node.getNext();
+                return value;
+            }
+        };
+    }
+
+    // Position of the lower bound (first node not smaller than value) or, when inclusive, the
+    // upper bound (first node greater than value). A binary search over the skip index finds the
+    // entry block holding the bound, then at most SKIP_INTERVAL - 1 nodes of that block are
+    // walked: O(log(n / SKIP_INTERVAL) + SKIP_INTERVAL) comparisons instead of a walk from the head
+    private int bound(T value, boolean inclusive) {
+        ensureSkipIndex();
+        int entries = (indexedSize + SKIP_INTERVAL - 1) / SKIP_INTERVAL;
+        int left = 0;
+        int right = entries;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            comparisons++;
+            int cmp = skipIndex[mid].getData().compareTo(value);
+            if (cmp < 0 || (inclusive && cmp == 0)) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        if (left == 0) {
+            return 0;  // Even the head is past the bound
+        }
+        // Entry left - 1 is before the bound and entry left (if any) is not, so walk between them
+        int position = (left - 1) * SKIP_INTERVAL + 1;
+        LLNode<T> node = skipIndex[left - 1].getNext();
+        while (node != null && position % SKIP_INTERVAL != 0) {
+            comparisons++;
+            int cmp = node.getData().compareTo(value);
+            if (cmp > 0 || (!inclusive && cmp == 0)) {
+                break;
+            }
+            position++;
+            node = node.getNext();
+        }
+        return position;
+    }
+
+    // Node at the given position, reached from the skip index entry before it
+    private LLNode<T> nodeAt(int position) {
+        LLNode<T> node = skipIndex[position / SKIP_INTERVAL];
+        for (int i = position % SKIP_INTERVAL; i > 0; i--) {
+            node = node.getNext();
+        }
+        return node;
+    }
+
+    // Build the skip index with one walk over the list if it was dropped since the last query.
+    // Order queries need the nodes in order
+    @SuppressWarnings("unchecked") // Suppresses warning for creating a generic array
+    private void ensureSkipIndex() {
+        if (!sorted) {
+            throw new IllegalStateException("The list is not sorted; call sort() first");
+        }
+        if (skipIndex != null) {
+            return;
+        }
+        LLNode<T>[] entries = (LLNode<T>[]) new LLNode[16];
+        int count = 0;
+        for (LLNode<T> node = head; node != null; node = node.getNext()) {
+            if (count % SKIP_INTERVAL == 0) {
+                int entry = count / SKIP_INTERVAL;
+                if (entry == entries.length) {
+                    entries = Arrays.copyOf(entries, entry * 2);
+                }
+                entries[entry] = node;
+            }
+            count++;
+        }
+        skipIndex = entries;
+        indexedSize = count;
+    }
+
+    // Estimated bytes held by the nodes and the skip index, not counting the values
+    @Override
+    protected long footprintBytes() {
+        return super.footprintBytes() + Footprint.array(skipIndex);
+    }
+
+    // Method to get the number of comparisons made during the sorting process
+    @Override
+    public int getSortComparisons() {
+        return sortComparisons; // Return the count of comparisons made during sorting
+    }
+
+    // Write the list to a snapshot file (layout in SnapshotOutput); the payload is the values in
+    // list order, and header flag SORTED_FLAG records whether they are in order
+    @Override
+    public void save(Path file, KeyCodec<T> codec) throws IOException {
+        int count = size;
+        int flags = sorted ? SortedArray.SORTED_FLAG : 0;
+        try (SnapshotOutput out = new SnapshotOutput(file, SnapshotKind.SORTED_LINKED_LIST, codec.id(), flags, count)) {
+            writeNodes(out, codec, count);
+            out.commit();
+        }
+    }
+
+    // Load a list from a snapshot written by save, in the same order and without sorting
+    public static <T extends Comparable<T>> SortedLinkedList<T> load(Path file, KeyCodec<T> codec) throws IOException {
+        try (SnapshotInput in = SnapshotInput.open(file, SnapshotKind.SORTED_LINKED_LIST, codec.id())) {
+            SortedLinkedList<T> result = new SortedLinkedList<>();
+            int count = in.count(codec.minBytes());
+            result.readNodes(in, codec, count);
+            in.finish();
+            result.sorted = (in.flags() & SortedArray.SORTED_FLAG) != 0 || count < 2;
+            return result;
+        }
+    }
+
+    // Sorts chunks[lo, hi): a single chunk is merge sorted, a longer range is split in two and the
+    // sorted halves are merged. Each task keeps its own comparison count, added up on join
+    private static final class ChunkSortTask<T extends Comparable<T>> extends RecursiveTask<LLNode<T>> {
+        private final LLNode<T>[] chunks;
+        private final int lo, hi;
+        private long comparisons; // Comparisons made by this task and its subtasks
+
+        ChunkSortTask(LLNode<T>[] chunks, int lo, int hi) {
+            this.chunks = chunks;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected LLNode<T> compute() {
+            Sorter<T> sorter = new Sorter<>();
+            if (hi - lo == 1) {
+                LLNode<T> sorted = sorter.sort(chunks[lo]);
+                comparisons = sorter.comparisons;
+                return sorted;
+            }
+            int mid = (lo + hi) >>> 1;
+            ChunkSortTask<T> left = new ChunkSortTask<>(chunks, lo, mid);
+            ChunkSortTask<T> right = new ChunkSortTask<>(chunks, mid, hi);
+            left.fork();
+            LLNode<T> rightSorted = right.compute();
+            LLNode<T> leftSorted = left.join();
+            LLNode<T> merged = sorter.merge(leftSorted, rightSorted);
+            comparisons = left.comparisons + right.comparisons + sorter.comparisons;
+            return merged;
+        }
+    }
+
+    // Merge sort over LLNode chains. Each sort (or parallel task) uses its own Sorter so
+    // comparisons are counted without sharing a field between threads
+    private static final class Sorter<T extends Comparable<T>> {
+        private static final int MAX_PENDING = 64; // More pending levels than a list can ever need (2^64 runs)
+
+        private long comparisons; // Comparisons made by this sorter
+
+        // Bottom-up natural merge sort. The list is consumed front to back one natural run at a
+        // time (strictly descending runs are reversed), and runs are combined like a binary
+        // counter: pending[i] is either empty or a sorted list built from 2^i runs. No middle
+        // finding, no recursion, no node allocation, and a fixed 64-slot array of extra space.
+        // Already sorted input is a single run and costs n - 1 comparisons
+        @SuppressWarnings("unchecked") // Suppresses warning for creating a generic array
+        LLNode<T> sort(LLNode<T> list) {
+            LLNode<T>[] pending = (LLNode<T>[]) new LLNode[MAX_PENDING];
+            int levels = 0; // Number of pending slots in use (the highest non-empty slot + 1)
+            LLNode<T> rest = list; // Part of the list not yet cut into runs
+
+            while (rest != null) {
+                // Cut the next natural run off the front of the list
+                LLNode<T> run = rest;
+                LLNode<T> last = rest.getNext(); // Last node of the run so far
+                if (last == null) {
+                    rest = null;
+                } else {
+                    comparisons++;
+                    boolean descending = last.getData().compareTo(run.getData()) < 0;
+                    LLNode<T> next = last.getNext();
+                    while (next != null) {
+                        comparisons++;
+                        int cmp = next.getData().compareTo(last.getData());
+                        if (descending ? cmp >= 0 : cmp < 0) {
+                            break; // The run ends before next
+                        }
+                        last = next;
+                        next = next.getNext();
+                    }
+                    last.setNext(null);
+                    rest = next;
+                    if (descending) {
+                        run = reverse(run);
+                    }
+                }
+
+                // Carry the run up through the occupied slots, merging as it goes (earlier runs on the left)
+                int level = 0;
+                while (level < levels && pending[level] != null) {
+                    run = merge(pending[level], run);
+                    pending[level] = null;
+                    level++;
+                }
+                pending[level] = run;
+                if (level == levels) {
+                    levels++;
+                }
+            }
+
+            // Merge what is left in the slots; higher slots hold earlier runs
+            LLNode<T> result = null;
+            for (int level = 0; level < levels; level++) {
+                if (pending[level] != null) {
+                    result = result == null ? pending[level] : merge(pending[level], result);
+                }
+            }
+            return result;
+        }
+
+        // Reverse a null-terminated chain in place and return its new first node
+        private LLNode<T> reverse(LLNode<T> node) {
+            LLNode<T> reversed = null;
+            while (node != null) {
+                LLNode<T> next = node.getNext();
+                node.setNext(reversed);
+                reversed = node;
+                node = next;
+            }
+            return reversed;
+        }
+
+        // Recursive method to perform merge sort on the linked list
+        LLNode<T> mergeSort(LLNode<T> node) {
+            // Base case: if the list is empty or has only one element, return the node (no sorting needed)
+            if (node == null || node.getNext() == null) {
+                return node;
+            }
+
+            // Split the list into two halves by finding the middle node
+            LLNode<T> middle = getMiddle(node); // Find the middle of the list
+            LLNode<T> nextToMiddle = middle.getNext(); // Get the node after the middle
+            middle.setNext(null); // Break the list into two halves
+
+            // Recursively sort both halves of the list
+            LLNode<T> left = mergeSort(node); // Sort the left half
+            LLNode<T> right = mergeSort(nextToMiddle); // Sort the right half
+
+            // Merge the two sorted halves and return the merged list
+            return merge(left, right);
+        }
+
+        // Method to merge two sorted linked lists into one sorted list
+        LLNode<T> merge(LLNode<T> left, LLNode<T> right) {
+            if (left == null) return right;
+            if (right == null) return left;
+
+            // Pick the first node up front instead of hanging the merged list off a dummy node
+            LLNode<T> first;
+            comparisons++;
+            if (left.getData().compareTo(right.getData()) <= 0) {
+                first = left;
+                left = left.getNext();
+            } else {
+                first = right;
+                right = right.getNext();
+            }
+            LLNode<T> current = first; // Pointer to the last node in the merged list
+
+            // Compare elements from both left and right lists and merge them in sorted order
+            while (left != null && right != null) {
+                comparisons++; // Count the comparison made during the merge process
+                if (left.getData().compareTo(right.getData()) <= 0) {
+                    // If left node's data is less than or equal to right node's data, add left to merged list
+                    current.setNext(left);
+                    left = left.getNext(); // Move to the next node in the left list
+                } else {
+                    // Otherwise, add right node to the merged list
+                    current.setNext(right);
+                    right = right.getNext(); // Move to the next node in the right list
+                }
+                current = current.getNext(); // Move the current pointer to the newly added node
+            }
+
+            // Append any remaining nodes from left or right list
+            if (left != null) {
+                current.setNext(left); // Append the remaining nodes from the left list
+            } else {
+                current.setNext(right); // Append the remaining nodes from the right list
+            }
+
+            return first; // Return the first node of the merged list
+        }
+
+        // Helper method to find the middle node of the linked list
+        private LLNode<T> getMiddle(LLNode<T> node) {
+            if (node == null) return null; // Return null if the list is empty
+
+            LLNode<T> slow = node; // Slow pointer starts at the head
+            LLNode<T> fast = node.getNext(); // Fast pointer starts one step ahead
+
+            // Move slow pointer by one step and fast pointer by two steps
+            while (fast != null && fast.getNext() != null) {
+                slow = slow.getNext(); // Move slow by one step
+                fast = fast.getNext().getNext(); // Move fast by two steps
+            }
+
+            // When fast reaches the end, slow will be at the middle of the list
+            return slow;
+        }
+    }
+}
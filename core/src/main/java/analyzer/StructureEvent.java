@@ -0,0 +1,41 @@
+package analyzer;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+
+// Periodic JFR event with the state of every structure registered through Metrics.register
+@Name("analyzer.Structure")
+@Label("Structure Statistics")
+@Category("Data Structures Analyzer")
+@Description("Size, footprint and operation totals of a registered analyzer data structure")
+@Period("1 s")
+class StructureEvent extends jdk.jfr.Event {
+    @Label("Structure")
+    String structure;
+
+    @Label("Size")
+    int size;
+
+    @Label("Footprint")
+    @DataAmount
+    long footprint;
+
+    @Label("Adds")
+    long adds;
+
+    @Label("Searches")
+    long searches;
+
+    @Label("Search Comparisons")
+    long searchComparisons;
+
+    @Label("Sorts")
+    long sorts;
+
+    @Label("Deletes")
+    long deletes;
+}
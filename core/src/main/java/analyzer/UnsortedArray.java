@@ -0,0 +1,301 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class UnsortedArray<T extends Comparable<T>> implements SearchableCollection<T> {
+    private T[] array; // Array to hold the elements
+    private int size; // Current size of the array (number of elements)
+    private int comparisons; // Counter to keep track of the number of comparisons made during search operations
+    private final double growthFactor; // Factor the capacity is multiplied by when the array is full
+    private int[] batchTable; // Hash table over the elements for searchAll, built on first use and dropped on change
+    private HashIndex index; // Hash index kept up to date while hash-indexed mode is on, else null
+    private BloomFilter filter; // Membership filter checked before every search while filtering is on, else null
+    private double filterFalsePositiveRate = BloomFilter.DEFAULT_FALSE_POSITIVE_RATE; // Rate the filter is sized for
+    private final Metrics metrics = new Metrics("UnsortedArray", false, this::size, this::footprintBytes, null);
+
+    // Constructor to initialize the array with a given initial capacity
+    public UnsortedArray(int capacity) {
+        this(capacity, ArrayGrowth.DEFAULT_GROWTH_FACTOR);
+    }
+
+    // Constructor to initialize the array with a given initial capacity and growth factor (must be > 1)
+    @SuppressWarnings("unchecked") // Suppresses warning for casting a generic array
+    public UnsortedArray(int capacity, double growthFactor) {
+        ArrayGrowth.checkGrowthFactor(growthFactor);
+        // Create a new array of Comparable objects with the specified capacity
+        array = (T[]) new Comparable[capacity];
+        size = 0; // Initialize size to 0 (array is empty initially)
+        comparisons = 0; // Initialize comparisons counter to 0
+        this.growthFactor = growthFactor;
+    }
+
+    // Method to add a value to the array, growing it if it is full
+    @Override
+    public void add(T value) {
+        long start = metrics.start();
+        batchTable = null;
+        ensureCapacity(size + 1);
+        array[size++] = value;
+        if (index != null) {
+            index.add(array, size - 1);
+        }
+        filterAdd(value);
+        metrics.record(Metrics.Operation.ADD, 1, 0, start);
+    }
+
+    // Method to add every value of the given array, growing the storage at most once
+    public void addAll(T[] values) {
+        long start = metrics.start();
+        batchTable = null;
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, array, size, values.length);
+        size += values.length;
+        if (index != null) {
+            for (int i = size - values.length; i < size; i++) {
+                index.add(array, i);
+            }
+        }
+        for (T value : values) {
+            filterAdd(value);
+        }
+        metrics.record(Metrics.Operation.ADD, values.length, 0, start);
+    }
+
+    // Method to make sure the array can hold at least minCapacity elements without growing again
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            array = Arrays.copyOf(array, ArrayGrowth.newCapacity(array.length, minCapacity, growthFactor));
+        }
+    }
+
+    // Method to shrink the storage to the number of elements actually held
+    public void trimToSize() {
+        if (size < array.length) {
+            array = Arrays.copyOf(array, size);
+        }
+    }
+
+    // Method to get the number of elements the array can hold before it has to grow
+    public int capacity() {
+        return array.length;
+    }
+
+    // Method to get the element at the specified index
+    public T get(int index) {
+        // Check if the provided index is valid (within the current size of the array)
+        if (index < 0 || index >= size) {
+            // If index is out of bounds, throw an exception
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return array[index]; // Return the element at the given index
+    }
+
+    // Method to get the number of elements currently in the array
+    public int size() {
+        return size; // Return the number of elements added so far
+    }
+
+    // Turn the hash index on or off. While it is on, a hash table over the elements is updated
+    // by every change (see HashIndex), search answers from it in O(1) expected probes and
+    // getComparisons reports the probes; the array itself and its order are not affected
+    public void setHashIndexed(boolean hashIndexed) {
+        if (!hashIndexed) {
+            index = null;
+        } else if (index == null) {
+            index = new HashIndex(array, size);
+        }
+    }
+
+    // Whether search uses the hash index
+    public boolean isHashIndexed() {
+        return index != null;
+    }
+
+    // Turn the membership filter on or off. While it is on, a blocked Bloom filter over the
+    // elements (see BloomFilter) is updated by every add and checked first by search, so most
+    // searches for absent values end without a scan and with no comparisons. getMetrics()
+    // counts the filter's hits, rejects and false positives
+    public void setFiltered(boolean filtered) {
+        if (!filtered) {
+            filter = null;
+        } else if (filter == null) {
+            rebuildFilter();
+        }
+    }
+
+    // Whether search checks the membership filter first
+    public boolean isFiltered() {
+        return filter != null;
+    }
+
+    // Set the false positive rate the filter is sized for (0.01 by default), rebuilding it if it is on
+    public void setFilterFalsePositiveRate(double falsePositiveRate) {
+        BloomFilter.checkFalsePositiveRate(falsePositiveRate);
+        filterFalsePositiveRate = falsePositiveRate;
+        if (filter != null) {
+            rebuildFilter();
+        }
+    }
+
+    // Record an added value in the filter, rebuilding it twice as large once it is full
+    private void filterAdd(T value) {
+        if (filter != null) {
+            filter.add(value);
+            if (filter.isFull()) {
+                rebuildFilter();
+            }
+        }
+    }
+
+    // Replace the filter with one sized for twice the current elements, holding all of them
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(2 * size, filterFalsePositiveRate);
+        for (int i = 0; i < size; i++) {
+            rebuilt.add(array[i]);
+        }
+        filter = rebuilt;
+    }
+
+    // Method to search for a value in the array, after the membership filter and through the
+    // hash index when they are on
+    @Override
+    public boolean search(T value) {
+        long start = metrics.start();
+        comparisons = 0; // Reset comparisons counter at the start of each search
+        boolean found = false;
+        if (filter != null && !filter.mightContain(value)) {
+            metrics.recordFilter(false, false);  // Certainly absent: no comparisons at all
+            metrics.record(Metrics.Operation.SEARCH, 1, 0, start);
+            return false;
+        }
+        if (index != null) {
+            found = index.find(array, value) >= 0;
+            comparisons = index.getProbes(); // One comparison per occupied slot probed
+        } else {
+            // Iterate through the array to find the value
+            for (int i = 0; i < size; i++) {
+                comparisons++; // Increment comparison count for each iteration
+                // Check if the current element is equal to the search value
+                if (array[i].equals(value)) {
+                    found = true; // Stop as soon as the value is found
+                    break;
+                }
+            }
+        }
+        if (filter != null) {
+            metrics.recordFilter(true, found);
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return found;
+    }
+
+    // Method to search for a batch of keys. Instead of a linear scan per key, every key is
+    // answered from a hash table: the hash index when it is on, otherwise an open-addressing
+    // table built once (kept until the array changes); a key is charged one comparison per
+    // element it is checked against
+    @Override
+    public SearchResult searchAll(T[] keys) {
+        long start = metrics.start();
+        SearchResult result = new SearchResult(keys.length);
+        if (index != null) {
+            for (int i = 0; i < keys.length; i++) {
+                if (index.find(array, keys[i]) >= 0) {
+                    result.found.set(i);
+                }
+                result.comparisons[i] = index.getProbes();
+            }
+        } else {
+            if (batchTable == null) {
+                batchTable = BatchSearch.hashTable(array, size);
+            }
+            for (int i = 0; i < keys.length; i++) {
+                if (BatchSearch.hashLookup(batchTable, array, keys[i], result, i)) {
+                    result.found.set(i);
+                }
+            }
+        }
+        comparisons = (int) result.getTotalComparisons(); // The batch counts as the last search
+        metrics.record(Metrics.Operation.SEARCH, keys.length, result.getTotalComparisons(), start);
+        return result;
+    }
+
+    // Method to get the number of comparisons made during the last search operation
+    @Override
+    public int getComparisons() {
+        return comparisons; // Return the count of comparisons made during search
+    }
+
+    // Method to get the counters, timers and footprint of the array
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Remove the first element equal to value, keeping the order of the others; returns false
+    // if there is none. One comparison is counted per element checked while looking for it
+    public boolean delete(T value) {
+        long start = metrics.start();
+        int position = -1;
+        int cost = 0;
+        for (int i = 0; i < size; i++) {
+            cost++;
+            if (array[i].equals(value)) {
+                position = i;
+                break;
+            }
+        }
+        if (position >= 0) {
+            batchTable = null;
+            T removed = array[position];
+            System.arraycopy(array, position + 1, array, position, size - position - 1);
+            array[--size] = null; // Do not keep the last element reachable twice
+            if (index != null) {
+                index.remove(removed, position, array, size);
+            }
+        }
+        metrics.record(Metrics.Operation.DELETE, 1, cost, start);
+        return position >= 0;
+    }
+
+    // Estimated bytes held by the array, the hash tables and the filter, not counting the elements
+    private long footprintBytes() {
+        return Footprint.array(array) + Footprint.array(batchTable) + (index == null ? 0 : index.footprintBytes())
+                + (filter == null ? 0 : filter.footprintBytes());
+    }
+
+    // New method to clear the array and reset its state
+    public void clear() {
+        size = 0; // Reset size to 0, effectively clearing the array
+        batchTable = null;
+        if (index != null) {
+            index = new HashIndex(array, 0);
+        }
+        if (filter != null) {
+            rebuildFilter();
+        }
+        comparisons = 0; // Reset comparisons count
+    }
+
+    // Write the elements to a snapshot file (layout in SnapshotOutput); the payload is the
+    // elements in index order, encoded by the codec
+    public void save(Path file, KeyCodec<T> codec) throws IOException {
+        try (SnapshotOutput out = new SnapshotOutput(file, SnapshotKind.UNSORTED_ARRAY, codec.id(), 0, size)) {
+            codec.writeAll(array, 0, size, out);
+            out.commit();
+        }
+    }
+
+    // Load an array from a snapshot written by save, with capacity for exactly the stored elements
+    public static <T extends Comparable<T>> UnsortedArray<T> load(Path file, KeyCodec<T> codec) throws IOException {
+        try (SnapshotInput in = SnapshotInput.open(file, SnapshotKind.UNSORTED_ARRAY, codec.id())) {
+            int count = in.count(codec.minBytes());
+            UnsortedArray<T> result = new UnsortedArray<>(count);
+            codec.readAll(result.array, 0, count, in);
+            in.finish();
+            result.size = count;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package analyzer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class UnsortedLinkedList<T extends Comparable<T>> implements SearchableCollection<T> {
+    protected LLNode<T> head; // Head of the linked list (points to the first node)
+    protected int size; // Number of nodes, kept up to date by every change so nothing has to walk the list to count it
+    protected int comparisons; // To count the number of comparisons made during search operations
+    protected final Metrics metrics = new Metrics(getClass().getSimpleName(), false, this::size, this::footprintBytes, null);
+    private BloomFilter filter; // Membership filter checked before every search while filtering is on, else null
+    private double filterFalsePositiveRate = BloomFilter.DEFAULT_FALSE_POSITIVE_RATE; // Rate the filter is sized for
+
+    // Constructor to initialize the linked list
+    public UnsortedLinkedList() {
+        head = null; // Initially, the list is empty, so head is null
+        size = 0;
+        comparisons = 0; // Initialize comparisons counter to 0
+    }
+
+    // Method to add a value to the linked list
+    @Override
+    public void add(T value) {
+        long start = metrics.start();
+        // Create a new node with the given value
+        LLNode<T> newNode = new LLNode<>(value);
+
+        // Set the next pointer of the new node to the current head of the list
+        newNode.setNext(head);
+
+        // Update the head of the list to the new node (it becomes the first node)
+        head = newNode;
+        size++;
+        filterAdd(value);
+        metrics.record(Metrics.Operation.ADD, 1, 0, start);
+    }
+
+    // Method to get the number of nodes in the list
+    public int size() {
+        return size;
+    }
+
+    // Method to get the first node of the list (null if the list is empty)
+    public LLNode<T> getHead() {
+        return head; // Return the head node so callers can walk the list
+    }
+
+    // Turn the membership filter on or off. While it is on, a blocked Bloom filter over the
+    // values (see BloomFilter) is updated by every add and checked first by search, so most
+    // searches for absent values end without walking the list. getMetrics() counts the
+    // filter's hits, rejects and false positives
+    public void setFiltered(boolean filtered) {
+        if (!filtered) {
+            filter = null;
+        } else if (filter == null) {
+            rebuildFilter();
+        }
+    }
+
+    // Whether search checks the membership filter first
+    public boolean isFiltered() {
+        return filter != null;
+    }
+
+    // Set the false positive rate the filter is sized for (0.01 by default), rebuilding it if it is on
+    public void setFilterFalsePositiveRate(double falsePositiveRate) {
+        BloomFilter.checkFalsePositiveRate(falsePositiveRate);
+        filterFalsePositiveRate = falsePositiveRate;
+        if (filter != null) {
+            rebuildFilter();
+        }
+    }
+
+    // Record a value just linked into the list in the filter, rebuilding it twice as large once it is full
+    protected void filterAdd(T value) {
+        if (filter != null) {
+            filter.add(value);
+            if (filter.isFull()) {
+                rebuildFilter();
+            }
+        }
+    }
+
+    // Replace the filter with one sized for twice the current nodes, holding all of their values
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(2 * size, filterFalsePositiveRate);
+        for (LLNode<T> node = head; node != null; node = node.getNext()) {
+            rebuilt.add(node.getData());
+        }
+        filter = rebuilt;
+    }
+
+    // Method to search for a value in the linked list, after the membership filter when it is on
+    @Override
+    public boolean search(T value) {
+        long start = metrics.start();
+        comparisons = 0; // Reset comparisons counter before the search
+        if (filter != null && !filter.mightContain(value)) {
+            metrics.recordFilter(false, false);  // Certainly absent: no comparisons at all
+            metrics.record(Metrics.Operation.SEARCH, 1, 0, start);
+            return false;
+        }
+        LLNode<T> current = head; // Start with the head of the list
+        boolean found = false;
+
+        // Traverse the list to find the value
+        while (current != null) {
+            comparisons++; // Increment comparison count for each node checked
+            // Check if the current node's data equals the search value
+            if (current.getData().equals(value)) {
+                found = true; // Stop as soon as the value is found
+                break;
+            }
+            current = current.getNext(); // Move to the next node in the list
+        }
+        if (filter != null) {
+            metrics.recordFilter(true, found);
+        }
+        metrics.record(Metrics.Operation.SEARCH, 1, comparisons, start);
+        return found;
+    }
+
+    // Method to search for a batch of keys. The list is walked once to hash its values into an
+    // open-addressing table, and every key is answered from the table instead of walking the
+    // list again; a key is charged one comparison per value it is checked against
+    @Override
+    @SuppressWarnings("unchecked") // Suppresses warning for casting a generic array
+    public SearchResult searchAll(T[] keys) {
+        long start = metrics.start();
+        int count = size;
+        T[] elements = (T[]) new Comparable[count];
+        int i = 0;
+        for (LLNode<T> node = head; node != null; node = node.getNext()) {
+            elements[i++] = node.getData();
+        }
+        int[] table = BatchSearch.hashTable(elements, count);
+
+        SearchResult result = new SearchResult(keys.length);
+        for (int k = 0; k < keys.length; k++) {
+            if (BatchSearch.hashLookup(table, elements, keys[k], result, k)) {
+                result.found.set(k);
+            }
+        }
+        comparisons = (int) result.getTotalComparisons(); // The batch counts as the last search
+        metrics.record(Metrics.Operation.SEARCH, keys.length, result.getTotalComparisons(), start);
+        return result;
+    }
+
+    // Method to get the number of comparisons made during the last search operation
+    @Override
+    public int getComparisons() {
+        return comparisons; // Return the count of comparisons made during the search
+    }
+
+    // Method to get the counters, timers and footprint of the list
+    @Override
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Estimated bytes held by the nodes (data and next references) and the filter, not counting the values
+    protected long footprintBytes() {
+        return size * Footprint.object(2 * Footprint.REFERENCE) + (filter == null ? 0 : filter.footprintBytes());
+    }
+
+    // Write the list to a snapshot file (layout in SnapshotOutput); the payload is the values in list order
+    public void save(Path file, KeyCodec<T> codec) throws IOException {
+        int count = size;
+        try (SnapshotOutput out = new SnapshotOutput(file, SnapshotKind.UNSORTED_LINKED_LIST, codec.id(), 0, count)) {
+            writeNodes(out, codec, count);
+            out.commit();
+        }
+    }
+
+    // Load a list from a snapshot written by save, in the same order
+    public static <T extends Comparable<T>> UnsortedLinkedList<T> load(Path file, KeyCodec<T> codec) throws IOException {
+        try (SnapshotInput in = SnapshotInput.open(file, SnapshotKind.UNSORTED_LINKED_LIST, codec.id())) {
+            UnsortedLinkedList<T> result = new UnsortedLinkedList<>();
+            result.readNodes(in, codec, in.count(codec.minBytes()));
+            in.finish();
+            return result;
+        }
+    }
+
+    // Write the count node values in list order, gathered a chunk at a time so the codec can copy them in bulk
+    @SuppressWarnings("unchecked") // Suppresses warning for casting a generic array
+    void writeNodes(SnapshotOutput out, KeyCodec<T> codec, int count) throws IOException {
+        T[] chunk = (T[]) new Comparable[Math.min(count, SnapshotOutput.CHUNK)];
+        int filled = 0;
+        for (LLNode<T> node = head; node != null; node = node.getNext()) {
+            chunk[filled++] = node.getData();
+            if (filled == chunk.length) {
+                codec.writeAll(chunk, 0, filled, out);
+                filled = 0;
+            }
+        }
+        codec.writeAll(chunk, 0, filled, out);
+    }
+
+    // Replace the contents with count values read from a snapshot, linked in the order they were written
+    @SuppressWarnings("unchecked") // Suppresses warning for casting a generic array
+    void readNodes(SnapshotInput in, KeyCodec<T> codec, int count) throws IOException {
+        T[] chunk = (T[]) new Comparable[Math.min(count, SnapshotOutput.CHUNK)];
+        head = null;
+        LLNode<T> tail = null;  // Last node linked so far
+        for (int start = 0; start < count; start += chunk.length) {
+            int n = Math.min(chunk.length, count - start);
+            codec.readAll(chunk, 0, n, in);
+            for (int i = 0; i < n; i++) {
+                LLNode<T> node = new LLNode<>(chunk[i]);
+                if (tail == null) {
+                    head = node;
+                } else {
+                    tail.setNext(node);
+                }
+                tail = node;
+            }
+        }
+        size = count;
+    }
+}
@@ -0,0 +1,143 @@
+package analyzer;
+
+import java.util.Arrays;
+
+// Xor filter for a structure that never changes once built (see ImplicitBST): smaller and
+// faster than a Bloom filter, but it can only be built from the complete set of values. Every
+// value maps to three slots, one in each third of the table, and the table is filled so that
+// the three slots' fingerprints xor to the value's own fingerprint. A lookup reads three slots
+// and compares; an absent value matches by chance with probability 2^-f for f-bit fingerprints,
+// and f is picked from the requested rate. Fingerprints are stored in 16-bit slots, about
+// 1.23 * 16 bits per value. Values are identified by the same 64-bit hash as BloomFilter
+final class XorFilter {
+    private static final int MAX_ATTEMPTS = 100;  // Seeds tried before giving up (each fails with probability < 0.2 for large sets)
+
+    private final short[] fingerprints;  // Three segments of segmentLength slots
+    private final int segmentLength;  // Slots per segment
+    private final int mask;  // Low f bits
+    private final long seed;  // Seed the table was built with
+
+    private XorFilter(short[] fingerprints, int segmentLength, int mask, long seed) {
+        this.fingerprints = fingerprints;
+        this.segmentLength = segmentLength;
+        this.mask = mask;
+        this.seed = seed;
+    }
+
+    // Build a filter over values[from, to) with about the given false positive rate
+    static XorFilter build(Object[] values, int from, int to, double falsePositiveRate) {
+        BloomFilter.checkFalsePositiveRate(falsePositiveRate);
+        int bits = (int) Math.max(1, Math.min(16, Math.ceil(-Math.log(falsePositiveRate) / Math.log(2))));
+        int mask = (1 << bits) - 1;
+
+        // Equal values give equal hashes, and the construction needs every key to be distinct
+        long[] keys = new long[to - from];
+        for (int i = from; i < to; i++) {
+            keys[i - from] = BloomFilter.hash(values[i]);
+        }
+        Arrays.sort(keys);
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                keys[n++] = keys[i];
+            }
+        }
+
+        int segmentLength = (int) Math.ceil(1.23 * n / 3) + 11;
+        int slots = 3 * segmentLength;
+        long[] xors = new long[slots];  // Xor of the keys mapped to each slot
+        int[] counts = new int[slots];  // Number of keys mapped to each slot
+        long[] stackKeys = new long[n];  // Peeled keys, in peeling order
+        int[] stackSlots = new int[n];  // Slot each peeled key was assigned
+        int[] queue = new int[slots];
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++, seed = seed * 0x5851F42D4C957F2DL + 0x14057B7EF767814FL) {
+            Arrays.fill(xors, 0);
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                long h = mix(keys[i], seed);
+                for (int j = 0; j < 3; j++) {
+                    int slot = slot(h, j, segmentLength);
+                    xors[slot] ^= keys[i];
+                    counts[slot]++;
+                }
+            }
+
+            // Peel: a slot with a single key can hold that key's fingerprint, so take the key out
+            // of its other two slots, which may leave them with a single key in turn
+            int queued = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                if (counts[slot] == 1) {
+                    queue[queued++] = slot;
+                }
+            }
+            int peeled = 0;
+            while (queued > 0) {
+                int slot = queue[--queued];
+                if (counts[slot] != 1) {
+                    continue;  // Emptied by an earlier peel
+                }
+                long key = xors[slot];
+                stackKeys[peeled] = key;
+                stackSlots[peeled++] = slot;
+                long h = mix(key, seed);
+                for (int j = 0; j < 3; j++) {
+                    int other = slot(h, j, segmentLength);
+                    xors[other] ^= key;
+                    if (--counts[other] == 1) {
+                        queue[queued++] = other;
+                    }
+                }
+            }
+            if (peeled < n) {
+                continue;  // A cycle is left; try another seed
+            }
+
+            // Assign in reverse peeling order: each key's slot is set last among its three
+            short[] fingerprints = new short[slots];
+            for (int i = peeled - 1; i >= 0; i--) {
+                long key = stackKeys[i];
+                long h = mix(key, seed);
+                int value = fingerprint(h, mask);
+                for (int j = 0; j < 3; j++) {
+                    value ^= fingerprints[slot(h, j, segmentLength)];
+                }
+                fingerprints[stackSlots[i]] = (short) (value ^ fingerprints[stackSlots[i]]);
+            }
+            return new XorFilter(fingerprints, segmentLength, mask, seed);
+        }
+        throw new IllegalStateException("Could not build an xor filter over " + n + " values");
+    }
+
+    // False if the value is certainly not in the set; true if it may be
+    boolean mightContain(Object value) {
+        long h = mix(BloomFilter.hash(value), seed);
+        int xor = fingerprints[slot(h, 0, segmentLength)] ^ fingerprints[slot(h, 1, segmentLength)]
+                ^ fingerprints[slot(h, 2, segmentLength)];
+        return (xor & mask) == fingerprint(h, mask);
+    }
+
+    // Estimated bytes held by the table
+    long footprintBytes() {
+        return Footprint.array(fingerprints);
+    }
+
+    // Rehash a key with the seed of the current attempt
+    private static long mix(long key, long seed) {
+        long h = (key + seed) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    // Slot of a hash in segment j: a different 21-bit rotation of the hash per segment,
+    // mapped onto the segment with multiply-shift
+    private static int slot(long h, int j, int segmentLength) {
+        long r = Long.rotateLeft(h, 21 * j) & 0xFFFFFFFFL;
+        return (int) ((r * segmentLength) >>> 32) + j * segmentLength;
+    }
+
+    // f-bit fingerprint of a hash
+    private static int fingerprint(long h, int mask) {
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
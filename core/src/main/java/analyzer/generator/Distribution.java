@@ -0,0 +1,14 @@
+package analyzer.generator;
+
+// Shape of the keys a KeyGenerator produces. Every distribution keeps its keys in
+// [0, keyRange), where the key range defaults to the number of keys generated
+public enum Distribution {
+    UNIFORM,         // Every key equally likely, the general case
+    ZIPFIAN,         // Key k with probability proportional to 1 / (k + 1)^exponent: a few hot keys, a long cold tail
+    NORMAL,          // Bell curve around the middle of the range: dense in the center, sparse at the edges
+    SORTED,          // Ascending, spread evenly over the range; the worst case for an unbalanced BST
+    REVERSE_SORTED,  // Descending, spread evenly over the range
+    NEARLY_SORTED,   // Ascending with a number of random pairs swapped
+    SAWTOOTH,        // Ascending runs of a fixed period that each cover the whole range
+    DUPLICATES       // One key repeated n times
+}
@@ -0,0 +1,183 @@
+package analyzer.generator;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Generates keys with a chosen Distribution. The output is split into fixed chunks of CHUNK
+// keys, each filled from its own random stream seeded by the generator seed and the chunk
+// index, so the chunks can be filled in parallel and the same settings always produce the
+// same keys, whatever the number of threads. Nothing is allocated besides the result array
+// (and the Integer objects of generateBoxed), so even 100M keys take a fraction of a second
+// per core.
+//
+// new KeyGenerator(Distribution.ZIPFIAN).setKeyRange(1000).setSeed(7).generate(512)
+public class KeyGenerator {
+    static final int CHUNK = 1 << 16;  // Keys per chunk; fixed, so the keys do not depend on the thread count
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;  // Spreads chunk indices over the seed space
+
+    private final Distribution distribution;
+    private long seed = 42;  // Seed of every random choice
+    private int keyRange;  // Keys fall in [0, keyRange); 0 means "the number of keys generated"
+    private double zipfExponent = 0.99;  // Skew of ZIPFIAN (larger is more skewed)
+    private double standardDeviation;  // Spread of NORMAL; 0 means an eighth of the key range
+    private int swaps = -1;  // Pairs NEARLY_SORTED swaps; -1 means one per hundred keys
+    private int period;  // Run length of SAWTOOTH; 0 means the square root of the number of keys
+    private boolean parallel = true;  // Fill the chunks on the common fork/join pool
+
+    public KeyGenerator(Distribution distribution) {
+        if (distribution == null) {
+            throw new IllegalArgumentException("Distribution must not be null");
+        }
+        this.distribution = distribution;
+    }
+
+    public Distribution getDistribution() {
+        return distribution;
+    }
+
+    public KeyGenerator setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public KeyGenerator setKeyRange(int keyRange) {
+        if (keyRange < 0) {
+            throw new IllegalArgumentException("Key range must not be negative: " + keyRange);
+        }
+        this.keyRange = keyRange;
+        return this;
+    }
+
+    public KeyGenerator setZipfExponent(double zipfExponent) {
+        if (!(zipfExponent > 0)) {
+            throw new IllegalArgumentException("Zipf exponent must be positive: " + zipfExponent);
+        }
+        this.zipfExponent = zipfExponent;
+        return this;
+    }
+
+    public KeyGenerator setStandardDeviation(double standardDeviation) {
+        if (!(standardDeviation >= 0)) {
+            throw new IllegalArgumentException("Standard deviation must not be negative: " + standardDeviation);
+        }
+        this.standardDeviation = standardDeviation;
+        return this;
+    }
+
+    public KeyGenerator setSwaps(int swaps) {
+        if (swaps < 0) {
+            throw new IllegalArgumentException("Swaps must not be negative: " + swaps);
+        }
+        this.swaps = swaps;
+        return this;
+    }
+
+    public KeyGenerator setPeriod(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1: " + period);
+        }
+        this.period = period;
+        return this;
+    }
+
+    public KeyGenerator setParallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    // Generate n keys
+    public int[] generate(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Key count must not be negative: " + n);
+        }
+        int[] keys = new int[n];
+        int range = keyRange > 0 ? keyRange : Math.max(n, 1);
+        ZipfSampler sampler = distribution == Distribution.ZIPFIAN ? new ZipfSampler(range, zipfExponent) : null;
+        int duplicate = new SplittableRandom(seed).nextInt(range);  // The key of DUPLICATES
+        int runLength = period > 0 ? period : Math.max(1, (int) Math.sqrt(n));
+        double deviation = standardDeviation > 0 ? standardDeviation : range / 8.0;
+        chunks(n).forEach(chunk -> {
+            int from = chunk * CHUNK;
+            int to = (int) Math.min(n, (long) from + CHUNK);
+            SplittableRandom random = new SplittableRandom(seed + (chunk + 1) * GOLDEN);
+            switch (distribution) {
+                case UNIFORM:
+                    for (int i = from; i < to; i++) {
+                        keys[i] = random.nextInt(range);
+                    }
+                    break;
+                case ZIPFIAN:
+                    for (int i = from; i < to; i++) {
+                        keys[i] = sampler.sample(random) - 1;
+                    }
+                    break;
+                case NORMAL:
+                    double mean = range / 2.0;
+                    for (int i = from; i < to; i++) {
+                        long key = Math.round(mean + deviation * random.nextGaussian());
+                        keys[i] = (int) Math.max(0, Math.min(range - 1, key));
+                    }
+                    break;
+                case SORTED:
+                case NEARLY_SORTED:
+                    for (int i = from; i < to; i++) {
+                        keys[i] = (int) ((long) i * range / n);
+                    }
+                    break;
+                case REVERSE_SORTED:
+                    for (int i = from; i < to; i++) {
+                        keys[i] = (int) ((long) (n - 1 - i) * range / n);
+                    }
+                    break;
+                case SAWTOOTH:
+                    for (int i = from; i < to; i++) {
+                        keys[i] = (int) ((long) (i % runLength) * range / runLength);
+                    }
+                    break;
+                case DUPLICATES:
+                    for (int i = from; i < to; i++) {
+                        keys[i] = duplicate;
+                    }
+                    break;
+            }
+        });
+        if (distribution == Distribution.NEARLY_SORTED && n > 1) {
+            // The swaps touch random places across the whole array, so they run on one thread
+            SplittableRandom random = new SplittableRandom(seed);
+            int count = swaps >= 0 ? swaps : Math.max(1, n / 100);
+            for (int s = 0; s < count; s++) {
+                int i = random.nextInt(n);
+                int j = random.nextInt(n);
+                int key = keys[i];
+                keys[i] = keys[j];
+                keys[j] = key;
+            }
+        }
+        return keys;
+    }
+
+    // Generate n keys boxed up front, so boxing is not part of a measured operation
+    public Integer[] generateBoxed(int n) {
+        int[] keys = generate(n);
+        Integer[] boxed = new Integer[n];
+        chunks(n).forEach(chunk -> {
+            int to = (int) Math.min(n, (long) chunk * CHUNK + CHUNK);
+            for (int i = chunk * CHUNK; i < to; i++) {
+                boxed[i] = keys[i];
+            }
+        });
+        return boxed;
+    }
+
+    // Indices of the chunks covering n keys, in parallel when enabled and there is more than one
+    private IntStream chunks(int n) {
+        int count = (int) (((long) n + CHUNK - 1) / CHUNK);
+        IntStream chunks = IntStream.range(0, count);
+        return parallel && count > 1 ? chunks.parallel() : chunks;
+    }
+
+    @Override
+    public String toString() {
+        return distribution + " (seed " + seed + (keyRange > 0 ? ", keys in [0, " + keyRange + ")" : "") + ")";
+    }
+}
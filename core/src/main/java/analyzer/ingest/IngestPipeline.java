@@ -0,0 +1,215 @@
+package analyzer.ingest;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Streams a key file into one or more structures. The calling thread reads and parses the file
+// into batches and hands every batch to all targets; each target has its own thread, so the
+// structures fill in parallel. There is a fixed pool of batches: a batch goes back to the pool
+// once every target has taken its keys, and the reader has to wait for a free batch when the
+// pool is empty. That wait is the back-pressure that stops a fast reader from running ahead of
+// slow targets, and it keeps the pipeline's memory at batches * batchSize ints however large
+// the file is
+public class IngestPipeline {
+    private static final int DEFAULT_BATCH_SIZE = 8192;  // Keys per batch
+    private static final int DEFAULT_BATCHES = 4;  // Batches in the pool
+
+    private final Path file;
+    private final KeyFormat format;
+    private int column;  // Key field of a TEXT row
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int batches = DEFAULT_BATCHES;
+    private final List<String> names = new ArrayList<>();  // Target names, for the result
+    private final List<KeySink> sinks = new ArrayList<>();  // Targets, in the order they were added
+
+    // A block of keys on its way to the targets
+    private static final class Batch {
+        final int[] keys;
+        int count;  // Keys in use
+        final AtomicInteger pending = new AtomicInteger();  // Targets that still have to take the batch
+
+        Batch(int size) {
+            keys = new int[size];
+        }
+    }
+
+    private static final Batch END = new Batch(0);  // Tells a target thread that the file is done
+
+    // Pipeline for the given file, with the format guessed from its name
+    public IngestPipeline(Path file) {
+        this(file, KeyFormat.forFile(file));
+    }
+
+    public IngestPipeline(Path file, KeyFormat format) {
+        if (file == null || format == null) {
+            throw new IllegalArgumentException("File and format must not be null");
+        }
+        this.file = file;
+        this.format = format;
+    }
+
+    // Use the given field of each TEXT row as the key (0 by default)
+    public IngestPipeline setColumn(int column) {
+        if (column < 0) {
+            throw new IllegalArgumentException("Column must not be negative: " + column);
+        }
+        this.column = column;
+        return this;
+    }
+
+    public IngestPipeline setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    // Number of batches in the pool, which bounds how far the reader can run ahead of the targets
+    public IngestPipeline setBatches(int batches) {
+        if (batches < 1) {
+            throw new IllegalArgumentException("Batches must be at least 1: " + batches);
+        }
+        this.batches = batches;
+        return this;
+    }
+
+    // Add a structure to fill; every target receives every key
+    public IngestPipeline addTarget(String name, KeySink sink) {
+        names.add(name);
+        sinks.add(sink);
+        return this;
+    }
+
+    // Read the whole file into the targets and wait until they have taken every key. If the
+    // file cannot be read or parsed, or a target throws, the targets stop where they are and
+    // the error is thrown from here
+    public IngestResult run() throws IOException {
+        if (sinks.isEmpty()) {
+            throw new IllegalStateException("No targets to ingest into");
+        }
+        BlockingQueue<Batch> free = new ArrayBlockingQueue<>(batches);
+        for (int i = 0; i < batches; i++) {
+            free.add(new Batch(batchSize));
+        }
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        int targets = sinks.size();
+        List<BlockingQueue<Batch>> queues = new ArrayList<>();
+        long[] busyNanos = new long[targets];  // Written by each target thread, read after join
+        Thread[] threads = new Thread[targets];
+        for (int t = 0; t < targets; t++) {
+            BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(batches + 1);  // Room for every batch and END
+            queues.add(queue);
+            KeySink sink = sinks.get(t);
+            int target = t;
+            threads[t] = new Thread(() -> consume(queue, free, sink, failure, busyNanos, target),
+                    "ingest-" + names.get(t));
+            threads[t].setDaemon(true);
+            threads[t].start();
+        }
+
+        long start = System.nanoTime();
+        long keys = 0;
+        long bytes = 0;
+        long waitNanos = 0;  // Time the reader spent waiting for the targets
+        try (KeyReader reader = KeyReader.open(file, format, column)) {
+            while (failure.get() == null) {
+                long waitStart = System.nanoTime();
+                Batch batch = free.take();
+                waitNanos += System.nanoTime() - waitStart;
+                batch.count = reader.read(batch.keys);
+                if (batch.count == 0) {
+                    break;
+                }
+                batch.pending.set(targets);
+                for (BlockingQueue<Batch> queue : queues) {
+                    queue.add(batch);  // Never full: a queue holds at most every batch plus END
+                }
+                keys += batch.count;
+            }
+            bytes = reader.getBytesRead();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Ingest of " + file + " was interrupted");
+        } finally {
+            for (BlockingQueue<Batch> queue : queues) {
+                queue.add(END);
+            }
+            for (Thread thread : threads) {
+                joinUninterruptibly(thread);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Throwable error = failure.get();
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        } else if (error instanceof IOException) {
+            throw (IOException) error;
+        } else if (error instanceof InterruptedException) {
+            // A target thread was interrupted before it took every batch, so the ingest is partial
+            InterruptedIOException interrupted = new InterruptedIOException("Ingest of " + file + " was interrupted");
+            interrupted.initCause(error);
+            throw interrupted;
+        } else if (error != null) {
+            throw new IOException("Ingest of " + file + " failed", error);  // Any other checked exception
+        }
+        return new IngestResult(file, format, keys, bytes, elapsed, waitNanos, names, busyNanos);
+    }
+
+    // Body of a target thread: feed each batch to the sink and hand it back to the pool once
+    // every target is done with it. After a failure the batches are still passed on (without
+    // being applied) so the reader is never left waiting
+    private static void consume(BlockingQueue<Batch> queue, BlockingQueue<Batch> free, KeySink sink,
+                                AtomicReference<Throwable> failure, long[] busyNanos, int target) {
+        long busy = 0;
+        while (true) {
+            Batch batch;
+            try {
+                batch = queue.take();
+            } catch (InterruptedException e) {
+                failure.compareAndSet(null, e);
+                continue;  // Keep draining: END always arrives
+            }
+            if (batch == END) break;
+            if (failure.get() == null) {
+                long batchStart = System.nanoTime();
+                try {
+                    sink.accept(batch.keys, batch.count);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+                busy += System.nanoTime() - batchStart;
+            }
+            if (batch.pending.decrementAndGet() == 0) {
+                free.add(batch);
+            }
+        }
+        busyNanos[target] = busy;
+    }
+
+    // Wait for a thread to finish even if this thread is interrupted meanwhile
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package analyzer.ingest;
+
+import java.nio.file.Path;
+import java.util.List;
+
+// What one IngestPipeline run measured: keys and bytes read, wall time, how long the reader
+// was held back by the targets, and how long each target spent adding keys
+public class IngestResult {
+    private final Path file;
+    private final KeyFormat format;
+    private final long keys;  // Keys read from the file (every target received all of them)
+    private final long bytes;  // Bytes read from the file
+    private final long elapsedNanos;  // Time from opening the file until the last target finished
+    private final long readerWaitNanos;  // Time the reader waited for a free batch (back-pressure)
+    private final List<String> targets;  // Target names, in the order they were added
+    private final long[] targetBusyNanos;  // Time each target spent adding keys
+
+    IngestResult(Path file, KeyFormat format, long keys, long bytes, long elapsedNanos, long readerWaitNanos,
+                 List<String> targets, long[] targetBusyNanos) {
+        this.file = file;
+        this.format = format;
+        this.keys = keys;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+        this.readerWaitNanos = readerWaitNanos;
+        this.targets = List.copyOf(targets);
+        this.targetBusyNanos = targetBusyNanos.clone();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public KeyFormat getFormat() {
+        return format;
+    }
+
+    public long getKeys() {
+        return keys;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getReaderWaitNanos() {
+        return readerWaitNanos;
+    }
+
+    public List<String> getTargets() {
+        return targets;
+    }
+
+    // Time the target at the given index spent adding keys
+    public long getTargetBusyNanos(int index) {
+        return targetBusyNanos[index];
+    }
+
+    // Keys read per second over the whole run
+    public double getKeysPerSecond() {
+        return keys * 1e9 / elapsedNanos;
+    }
+
+    // Multi-line report of the run
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        double seconds = elapsedNanos / 1e9;
+        report.append(String.format("%s (%s): %,d keys, %.1f MB in %.2f s (%,.0f keys/s, %.1f MB/s)%n",
+                file.getFileName(), format, keys, bytes / 1e6, seconds, getKeysPerSecond(), bytes / 1e6 / seconds));
+        report.append(String.format("  reader waited %.2f s for the targets to catch up%n", readerWaitNanos / 1e9));
+        for (int i = 0; i < targets.size(); i++) {
+            report.append(String.format("  %-22s busy %.2f s%n", targets.get(i), targetBusyNanos[i] / 1e9));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
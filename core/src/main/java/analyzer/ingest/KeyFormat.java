@@ -0,0 +1,18 @@
+package analyzer.ingest;
+
+import java.nio.file.Path;
+
+// Layout of a key file read by KeyReader
+public enum KeyFormat {
+    TEXT,    // Decimal integers, one row per line; rows may be CSV with the key in one column
+    BINARY;  // Raw 4-byte little-endian ints, no header
+
+    // Guess the format from the file name: .bin, .dat and .raw files are BINARY, the rest TEXT
+    public static KeyFormat forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".bin") || name.endsWith(".dat") || name.endsWith(".raw")) {
+            return BINARY;
+        }
+        return TEXT;
+    }
+}
@@ -0,0 +1,190 @@
+package analyzer.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Streams the keys of a file into caller-supplied int arrays. The file is read through one
+// fixed NIO buffer, so memory use does not depend on the file size. TEXT is parsed byte by
+// byte with the state of the current field kept between calls: no line is ever turned into a
+// String, and a number split across two buffer loads is simply continued.
+//
+// TEXT rules: rows end with '\n' ('\r' is ignored), fields are separated by ',', and the key is
+// the field at the chosen column. Spaces, tabs and double quotes around a number are ignored,
+// rows with an empty key field are skipped, and a non-numeric key field is an error except on
+// the first row, which is taken to be a header
+public class KeyReader implements Closeable {
+    static final int BUFFER_BYTES = 1 << 16;  // Size of the read buffer
+    private static final long INT_LIMIT = 1L << 31;  // Magnitude beyond which a value cannot be an int
+
+    private final Path file;
+    private final FileChannel channel;
+    private final KeyFormat format;
+    private final int column;  // Index of the key field in a TEXT row
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private long bytesRead;  // Bytes read from the file so far
+    private boolean endOfFile;  // The channel has no more data
+
+    // State of the TEXT parser, kept between read calls
+    private long line = 1;  // Current row, counted from 1
+    private int field;  // Index of the current field in the row
+    private long value;  // Magnitude of the number read so far in the key field
+    private int digits;  // Digits seen in the key field
+    private boolean negative;  // A '-' sign was seen
+    private boolean signed;  // A sign was seen
+    private boolean ended;  // Whitespace followed the digits, so no more digits may come
+    private boolean invalid;  // The key field holds something that is not an int
+
+    private KeyReader(Path file, FileChannel channel, KeyFormat format, int column) {
+        this.file = file;
+        this.channel = channel;
+        this.format = format;
+        this.column = column;
+        buffer.limit(0);
+    }
+
+    // Open a key file; column is the key field for TEXT rows (0 for the first or only field)
+    public static KeyReader open(Path file, KeyFormat format, int column) throws IOException {
+        if (column < 0) {
+            throw new IllegalArgumentException("Column must not be negative: " + column);
+        }
+        return new KeyReader(file, FileChannel.open(file, StandardOpenOption.READ), format, column);
+    }
+
+    // Fill keys from the front with the next keys of the file; returns how many were stored,
+    // which is less than keys.length only at the end of the file (0 once it is exhausted)
+    public int read(int[] keys) throws IOException {
+        return format == KeyFormat.BINARY ? readBinary(keys) : readText(keys);
+    }
+
+    // Number of file bytes read so far
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    // Copy whole ints out of the buffer in bulk, reloading it as it runs dry
+    private int readBinary(int[] keys) throws IOException {
+        int count = 0;
+        while (count < keys.length) {
+            if (buffer.remaining() < Integer.BYTES && !fill()) {
+                if (buffer.hasRemaining()) {
+                    throw new IOException("Binary key file length is not a multiple of 4: " + file);
+                }
+                break;
+            }
+            int n = Math.min(buffer.remaining() / Integer.BYTES, keys.length - count);
+            buffer.asIntBuffer().get(keys, count, n);
+            buffer.position(buffer.position() + n * Integer.BYTES);
+            count += n;
+        }
+        return count;
+    }
+
+    // Run the TEXT state machine over the buffered bytes until keys is full or the file ends
+    private int readText(int[] keys) throws IOException {
+        int count = 0;
+        byte[] bytes = buffer.array();
+        while (count < keys.length) {
+            if (!buffer.hasRemaining() && !fill()) {
+                // A last row without a trailing newline still counts
+                if (field == column && hasKey()) {
+                    count = finishKey(keys, count);
+                }
+                resetField();
+                field = 0;
+                break;
+            }
+            int position = buffer.position();
+            int limit = buffer.limit();
+            while (position < limit && count < keys.length) {
+                byte b = bytes[position++];
+                if (b == '\n') {
+                    if (field == column) {
+                        count = finishKey(keys, count);
+                    }
+                    field = 0;
+                    line++;
+                } else if (b == ',') {
+                    if (field == column) {
+                        count = finishKey(keys, count);
+                    }
+                    field++;
+                } else if (field != column || invalid) {
+                    // Other fields are skipped, and so is the rest of a key field already known to be bad
+                } else if (b >= '0' && b <= '9') {
+                    if (ended || digits >= 10 && value * 10 + (b - '0') > INT_LIMIT) {
+                        invalid = true;
+                    } else {
+                        value = value * 10 + (b - '0');
+                        digits++;
+                    }
+                } else if (b == ' ' || b == '\t' || b == '\r' || b == '"') {
+                    ended = digits > 0 || signed;
+                } else if ((b == '-' || b == '+') && digits == 0 && !signed) {
+                    signed = true;
+                    negative = b == '-';
+                } else {
+                    invalid = true;
+                }
+            }
+            buffer.position(position);
+        }
+        return count;
+    }
+
+    // Whether the key field holds anything at all
+    private boolean hasKey() {
+        return digits > 0 || signed || invalid;
+    }
+
+    // End the key field: store its value, skip it if it is empty or a header, or reject it
+    private int finishKey(int[] keys, int count) throws IOException {
+        if (hasKey()) {
+            long key = negative ? -value : value;
+            if (invalid || digits == 0 || key < Integer.MIN_VALUE || key > Integer.MAX_VALUE) {
+                if (line != 1) {
+                    throw new IOException("Line " + line + " of " + file + ": key in column " + column
+                            + " is not an int");
+                }
+                // First row: a header, skip it
+            } else {
+                keys[count++] = (int) key;
+            }
+        }
+        resetField();
+        return count;
+    }
+
+    // Clear the parser state for the next field
+    private void resetField() {
+        value = 0;
+        digits = 0;
+        negative = false;
+        signed = false;
+        ended = false;
+        invalid = false;
+    }
+
+    // Keep the unread bytes and read more behind them; returns false once the file has no more data
+    private boolean fill() throws IOException {
+        if (endOfFile) return false;
+        buffer.compact();
+        int read = channel.read(buffer);
+        buffer.flip();
+        if (read < 0) {
+            endOfFile = true;
+            return false;
+        }
+        bytesRead += read;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,30 @@
+package analyzer.ingest;
+
+import analyzer.IntSearchableCollection;
+import analyzer.SearchableCollection;
+
+// Receives the keys of an ingest, one batch at a time. Each sink is only ever called from its
+// own pipeline thread, so the structure behind it does not need to be thread-safe
+@FunctionalInterface
+public interface KeySink {
+    // Take keys[0, count); the array is reused once this returns, so it must not be kept
+    void accept(int[] keys, int count);
+
+    // Sink that adds every key to a structure of boxed Integers
+    static KeySink of(SearchableCollection<Integer> structure) {
+        return (keys, count) -> {
+            for (int i = 0; i < count; i++) {
+                structure.add(keys[i]);
+            }
+        };
+    }
+
+    // Sink that adds every key to a primitive int structure
+    static KeySink of(IntSearchableCollection structure) {
+        return (keys, count) -> {
+            for (int i = 0; i < count; i++) {
+                structure.add(keys[i]);
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package analyzer.workload;
+
+import java.util.SplittableRandom;
+
+import analyzer.generator.ZipfSampler;
+
+// How a workload picks the keys it searches for and adds. Every worker thread gets its own
+// KeySource, so key generation never synchronizes between threads
+public enum KeyPattern {
+    // Every key in [0, keyRange) is equally likely
+    UNIFORM,
+    // Key k is chosen with probability proportional to 1 / (k + 1)^exponent: a few small keys are
+    // hot and most keys are cold, as in typical production traffic
+    ZIPFIAN,
+    // Each thread walks the key range in order from its own starting point, wrapping around
+    SEQUENTIAL;
+
+    // Create the key source for one worker thread
+    KeySource newSource(int keyRange, double zipfExponent, int thread, int threads, long seed) {
+        SplittableRandom random = new SplittableRandom(seed + thread * 0x9E3779B97F4A7C15L);
+        switch (this) {
+            case ZIPFIAN:
+                ZipfSampler sampler = new ZipfSampler(keyRange, zipfExponent);
+                return () -> sampler.sample(random) - 1;
+            case SEQUENTIAL:
+                int[] next = {(int) ((long) keyRange * thread / threads)};
+                return () -> {
+                    int key = next[0];
+                    next[0] = key + 1 == keyRange ? 0 : key + 1;
+                    return key;
+                };
+            default:
+                return () -> random.nextInt(keyRange);
+        }
+    }
+
+    // Supplies the keys for one worker thread
+    interface KeySource {
+        int nextKey();
+    }
+}
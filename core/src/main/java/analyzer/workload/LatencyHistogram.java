@@ -0,0 +1,92 @@
+package analyzer.workload;
+
+// Latency histogram in the style of HdrHistogram: values below 128 ns get their own bucket, larger
+// values share buckets whose width grows with their magnitude (64 buckets per power of two), so
+// every recorded value is kept to within 1/64 (about 1.6%) of its real size with a fixed, small
+// array and no allocation per record. Each worker thread records into its own histogram and the
+// runner adds them together at the end, so recording needs no synchronization
+public class LatencyHistogram {
+    private static final int SUB_BITS = 7;  // Values below 2^SUB_BITS are exact
+    private static final int SUB_COUNT = 1 << SUB_BITS;  // Exact buckets
+    private static final int HALF = SUB_COUNT / 2;  // Buckets per power of two above the exact range
+    private static final int BUCKETS = SUB_COUNT + HALF * (64 - SUB_BITS);
+
+    private final long[] counts = new long[BUCKETS];  // Number of values recorded in each bucket
+    private long totalCount;  // Number of values recorded
+    private long totalSum;  // Sum of the values recorded, for the mean
+    private long min = Long.MAX_VALUE;  // Smallest value recorded
+    private long max;  // Largest value recorded
+
+    // Record one value (negative values are counted as 0)
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts[bucketOf(value)]++;
+        totalCount++;
+        totalSum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    // Add every value recorded by another histogram to this one
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        totalSum += other.totalSum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    // Value at the given percentile (0 < percentile <= 100): the highest value that falls in the
+    // same bucket as the recorded value at that rank, and never more than the largest value recorded
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, highestValueIn(i));
+            }
+        }
+        return max;
+    }
+
+    // Number of values recorded
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    // Mean of the values recorded (0 if there are none)
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) totalSum / totalCount;
+    }
+
+    // Smallest value recorded (0 if there are none)
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    // Largest value recorded
+    public long getMax() {
+        return max;
+    }
+
+    // Bucket holding value: exact below SUB_COUNT, otherwise keyed by the top SUB_BITS - 1 bits
+    // after the leading one and by how far they had to be shifted
+    private static int bucketOf(long value) {
+        if (value < SUB_COUNT) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BITS - 1);
+        int mantissa = (int) (value >>> shift);  // In [HALF, SUB_COUNT)
+        return SUB_COUNT + (shift - 1) * HALF + (mantissa - HALF);
+    }
+
+    // Largest value that maps to the given bucket
+    private static long highestValueIn(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+        int shift = (bucket - SUB_COUNT) / HALF + 1;
+        long mantissa = (bucket - SUB_COUNT) % HALF + HALF;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,127 @@
+package analyzer.workload;
+
+// Settings for one WorkloadRunner run. The defaults describe a read-heavy uniform workload on
+// one platform thread per core over 65536 keys, half of them present at the start
+public class WorkloadConfig {
+    private int threads = Runtime.getRuntime().availableProcessors();  // Number of load generator threads
+    private boolean virtualThreads;  // Use virtual threads instead of platform threads
+    private double readRatio = 0.9;  // Fraction of operations that are searches; the rest are adds
+    private KeyPattern keyPattern = KeyPattern.UNIFORM;  // How keys are picked
+    private double zipfExponent = 0.99;  // Skew of the ZIPFIAN pattern (larger is more skewed)
+    private int keyRange = 65536;  // Keys are drawn from [0, keyRange)
+    private int prefill = 32768;  // Number of random keys added before the run starts
+    private long warmupMillis = 1000;  // Time the threads run before recording starts
+    private long durationMillis = 5000;  // Time the threads run while recording
+    private long seed = 42;  // Seed for the prefill and every thread's key source
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be at least 1: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public double getReadRatio() {
+        return readRatio;
+    }
+
+    public void setReadRatio(double readRatio) {
+        if (!(readRatio >= 0 && readRatio <= 1)) {
+            throw new IllegalArgumentException("Read ratio must be between 0 and 1: " + readRatio);
+        }
+        this.readRatio = readRatio;
+    }
+
+    public KeyPattern getKeyPattern() {
+        return keyPattern;
+    }
+
+    public void setKeyPattern(KeyPattern keyPattern) {
+        if (keyPattern == null) {
+            throw new IllegalArgumentException("Key pattern must not be null");
+        }
+        this.keyPattern = keyPattern;
+    }
+
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    public void setZipfExponent(double zipfExponent) {
+        if (!(zipfExponent > 0)) {
+            throw new IllegalArgumentException("Zipf exponent must be greater than 0: " + zipfExponent);
+        }
+        this.zipfExponent = zipfExponent;
+    }
+
+    public int getKeyRange() {
+        return keyRange;
+    }
+
+    public void setKeyRange(int keyRange) {
+        if (keyRange < 1) {
+            throw new IllegalArgumentException("Key range must be at least 1: " + keyRange);
+        }
+        this.keyRange = keyRange;
+    }
+
+    public int getPrefill() {
+        return prefill;
+    }
+
+    public void setPrefill(int prefill) {
+        if (prefill < 0) {
+            throw new IllegalArgumentException("Prefill must not be negative: " + prefill);
+        }
+        this.prefill = prefill;
+    }
+
+    public long getWarmupMillis() {
+        return warmupMillis;
+    }
+
+    public void setWarmupMillis(long warmupMillis) {
+        if (warmupMillis < 0) {
+            throw new IllegalArgumentException("Warmup must not be negative: " + warmupMillis);
+        }
+        this.warmupMillis = warmupMillis;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        if (durationMillis < 1) {
+            throw new IllegalArgumentException("Duration must be at least 1 ms: " + durationMillis);
+        }
+        this.durationMillis = durationMillis;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d %s threads, %.0f%% reads, %s keys in [0, %d), prefill %d, %d ms (+%d ms warmup)",
+                threads, virtualThreads ? "virtual" : "platform", readRatio * 100, keyPattern, keyRange, prefill,
+                durationMillis, warmupMillis);
+    }
+}
@@ -0,0 +1,113 @@
+package analyzer.workload;
+
+// What one WorkloadRunner run measured: operation counts and latency histograms for searches
+// and adds, plus contention statistics. For structures the runner guards with a lock these are
+// the acquisitions that found the lock taken and the time spent waiting for it; for
+// ConcurrentSortedArray they are the optimistic reads a writer invalidated
+public class WorkloadResult {
+    private final String structure;  // Name of the structure that was driven
+    private final WorkloadConfig config;  // Settings of the run
+    private final long elapsedNanos;  // Length of the recorded part of the run
+    private final LatencyHistogram reads;  // Latency of every search, in nanoseconds
+    private final LatencyHistogram writes;  // Latency of every add, in nanoseconds
+    private final long lockAcquisitions;  // Operations that took the runner's lock (0 for thread-safe structures)
+    private final long contendedAcquisitions;  // Acquisitions that had to wait for another thread
+    private final long lockWaitNanos;  // Total time spent waiting for the lock
+    private final long optimisticFailures;  // Optimistic reads that had to be retried under a read lock
+
+    WorkloadResult(String structure, WorkloadConfig config, long elapsedNanos, LatencyHistogram reads,
+                   LatencyHistogram writes, long lockAcquisitions, long contendedAcquisitions,
+                   long lockWaitNanos, long optimisticFailures) {
+        this.structure = structure;
+        this.config = config;
+        this.elapsedNanos = elapsedNanos;
+        this.reads = reads;
+        this.writes = writes;
+        this.lockAcquisitions = lockAcquisitions;
+        this.contendedAcquisitions = contendedAcquisitions;
+        this.lockWaitNanos = lockWaitNanos;
+        this.optimisticFailures = optimisticFailures;
+    }
+
+    public String getStructure() {
+        return structure;
+    }
+
+    public WorkloadConfig getConfig() {
+        return config;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public LatencyHistogram getReads() {
+        return reads;
+    }
+
+    public LatencyHistogram getWrites() {
+        return writes;
+    }
+
+    // Total number of operations completed while recording
+    public long getOperations() {
+        return reads.getTotalCount() + writes.getTotalCount();
+    }
+
+    // Completed operations per second over the recorded part of the run
+    public double getOpsPerSecond() {
+        return getOperations() * 1e9 / elapsedNanos;
+    }
+
+    public long getLockAcquisitions() {
+        return lockAcquisitions;
+    }
+
+    public long getContendedAcquisitions() {
+        return contendedAcquisitions;
+    }
+
+    public long getLockWaitNanos() {
+        return lockWaitNanos;
+    }
+
+    public long getOptimisticFailures() {
+        return optimisticFailures;
+    }
+
+    // Multi-line report of the run
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append(structure).append(": ").append(config).append('\n');
+        report.append(String.format("  throughput  %,.0f ops/s (%,d ops in %.2f s)%n",
+                getOpsPerSecond(), getOperations(), elapsedNanos / 1e9));
+        appendLatency(report, "search", reads);
+        appendLatency(report, "add", writes);
+        if (lockAcquisitions > 0) {
+            report.append(String.format("  contention  %.1f%% of %,d lock acquisitions waited, %.1f ms waiting in total%n",
+                    100.0 * contendedAcquisitions / lockAcquisitions, lockAcquisitions, lockWaitNanos / 1e6));
+        }
+        if (optimisticFailures > 0) {
+            report.append(String.format("  contention  %,d optimistic reads retried under the read lock%n",
+                    optimisticFailures));
+        }
+        return report.toString();
+    }
+
+    // One line of latency percentiles, in microseconds
+    private static void appendLatency(StringBuilder report, String label, LatencyHistogram histogram) {
+        if (histogram.getTotalCount() == 0) return;
+        report.append(String.format("  %-10s  p50 %.2f us  p99 %.2f us  p99.9 %.2f us  max %.2f us  (%,d ops)%n",
+                label,
+                histogram.getValueAtPercentile(50) / 1e3,
+                histogram.getValueAtPercentile(99) / 1e3,
+                histogram.getValueAtPercentile(99.9) / 1e3,
+                histogram.getMax() / 1e3,
+                histogram.getTotalCount()));
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
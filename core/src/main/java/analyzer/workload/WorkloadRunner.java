@@ -0,0 +1,265 @@
+package analyzer.workload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
+
+import analyzer.ConcurrentSortedArray;
+import analyzer.SearchableCollection;
+import analyzer.generator.Distribution;
+import analyzer.generator.KeyGenerator;
+
+// Drives a mixed search/add workload against one structure from many threads at once and
+// reports throughput, latency percentiles and contention (see WorkloadResult).
+// Each thread runs a closed loop: pick a key, pick search or add by the read ratio, time the
+// operation, repeat until the deadline. Structures that are not thread-safe are guarded by one
+// ReentrantLock, and the time an operation spends waiting for it is part of its latency, as it
+// would be for a request thread. Histograms and counters are per thread and merged at the end
+public class WorkloadRunner {
+    private static final int DEADLINE_CHECK_MASK = 63;  // Check the clock every 64 operations
+    private static final int VIRTUAL_YIELD_MASK = 15;  // Virtual threads yield every 16 operations
+
+    private WorkloadRunner() {
+    }
+
+    // Build the structure with config.getPrefill() random keys, then run the workload on it
+    public static WorkloadResult run(WorkloadStructure kind, WorkloadConfig config) {
+        int[] keys = new KeyGenerator(Distribution.UNIFORM)
+                .setKeyRange(config.getKeyRange())
+                .setSeed(config.getSeed())
+                .generate(config.getPrefill());
+        return run(kind.name(), kind.build(keys), !kind.isThreadSafe(), config);
+    }
+
+    // Run the workload on an existing structure; with locked set, every operation holds one shared lock
+    public static WorkloadResult run(String name, SearchableCollection<Integer> structure, boolean locked,
+                                     WorkloadConfig config) {
+        int threads = config.getThreads();
+        ReentrantLock lock = locked ? new ReentrantLock() : null;
+        Worker[] workers = new Worker[threads];
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        long optimisticBefore = structure instanceof ConcurrentSortedArray<?> array ? array.getOptimisticFailures() : 0;
+
+        List<Thread> started = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Worker(structure, lock, config, t, ready, start);
+            Thread.Builder builder = config.isVirtualThreads() ? Thread.ofVirtual() : Thread.ofPlatform();
+            started.add(builder.name("workload-", t).start(workers[t]));
+        }
+
+        // Release every thread at once with shared warmup and recording deadlines
+        awaitUninterruptibly(ready);
+        long now = System.nanoTime();
+        long recordFrom = now + config.getWarmupMillis() * 1_000_000L;
+        long recordUntil = recordFrom + config.getDurationMillis() * 1_000_000L;
+        for (Worker worker : workers) {
+            worker.recordFrom = recordFrom;
+            worker.recordUntil = recordUntil;
+        }
+        start.countDown();
+        for (Thread thread : started) {
+            joinUninterruptibly(thread);
+        }
+
+        // Merge the per-thread results
+        LatencyHistogram reads = new LatencyHistogram();
+        LatencyHistogram writes = new LatencyHistogram();
+        long acquisitions = 0, contended = 0, waitNanos = 0;
+        for (Worker worker : workers) {
+            if (worker.failure != null) {
+                throw new IllegalStateException("Workload thread failed", worker.failure);
+            }
+            reads.add(worker.reads);
+            writes.add(worker.writes);
+            acquisitions += worker.acquisitions;
+            contended += worker.contended;
+            waitNanos += worker.waitNanos;
+        }
+        long optimisticFailures = structure instanceof ConcurrentSortedArray<?> array
+                ? array.getOptimisticFailures() - optimisticBefore : 0;
+        return new WorkloadResult(name, config, recordUntil - recordFrom, reads, writes, acquisitions,
+                contended, waitNanos, optimisticFailures);
+    }
+
+    // One load generator thread
+    private static final class Worker implements Runnable {
+        private final SearchableCollection<Integer> structure;
+        private final ReentrantLock lock;  // Null for thread-safe structures
+        private final KeyPattern.KeySource keys;
+        private final SplittableRandom random;  // Decides between search and add
+        private final double readRatio;
+        private final boolean virtual;
+        private final CountDownLatch ready, start;
+        private volatile long recordFrom, recordUntil;  // Set by the runner before start is released
+
+        final LatencyHistogram reads = new LatencyHistogram();
+        final LatencyHistogram writes = new LatencyHistogram();
+        long acquisitions, contended, waitNanos;  // Lock statistics while recording
+        Throwable failure;  // Set if the worker died
+
+        Worker(SearchableCollection<Integer> structure, ReentrantLock lock, WorkloadConfig config, int index,
+               CountDownLatch ready, CountDownLatch start) {
+            this.structure = structure;
+            this.lock = lock;
+            this.keys = config.getKeyPattern().newSource(config.getKeyRange(), config.getZipfExponent(), index,
+                    config.getThreads(), config.getSeed());
+            this.random = new SplittableRandom(config.getSeed() ^ (index + 1) * 0xBF58476D1CE4E5B9L);
+            this.readRatio = config.getReadRatio();
+            this.virtual = config.isVirtualThreads();
+            this.ready = ready;
+            this.start = start;
+        }
+
+        @Override
+        public void run() {
+            try {
+                ready.countDown();
+                awaitUninterruptibly(start);
+                long from = recordFrom, until = recordUntil;
+                boolean recording = false;
+                for (long i = 0; ; i++) {
+                    if ((i & DEADLINE_CHECK_MASK) == 0) {
+                        long now = System.nanoTime();
+                        if (now >= until) break;
+                        recording = now >= from;
+                    }
+                    Integer key = keys.nextKey();
+                    boolean read = random.nextDouble() < readRatio;
+
+                    long begin = System.nanoTime();
+                    if (lock != null) {
+                        acquire(recording);
+                        try {
+                            perform(read, key);
+                        } finally {
+                            lock.unlock();
+                        }
+                    } else {
+                        perform(read, key);
+                    }
+                    long latency = System.nanoTime() - begin;
+                    if (recording) {
+                        (read ? reads : writes).record(latency);
+                    }
+
+                    // Virtual threads doing pure CPU work are never unmounted, so without this the
+                    // first carrier-count threads would run to the deadline before the rest start
+                    if (virtual && (i & VIRTUAL_YIELD_MASK) == 0) {
+                        Thread.yield();
+                    }
+                }
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+
+        private void perform(boolean read, Integer key) {
+            if (read) {
+                structure.search(key);
+            } else {
+                structure.add(key);
+            }
+        }
+
+        // Take the lock, counting whether it had to be waited for and for how long
+        private void acquire(boolean recording) {
+            if (lock.tryLock()) {
+                if (recording) acquisitions++;
+                return;
+            }
+            long begin = System.nanoTime();
+            lock.lock();
+            if (recording) {
+                acquisitions++;
+                contended++;
+                waitNanos += System.nanoTime() - begin;
+            }
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Command line entry point. Options (all optional):
+    //   --structure=NAME[,NAME...]  WorkloadStructure names, or ALL (default SORTED_ARRAY)
+    //   --threads=N  --virtual  --read-ratio=R  --keys=UNIFORM|ZIPFIAN|SEQUENTIAL  --zipf=S
+    //   --key-range=N  --prefill=N  --warmup=MS  --duration=MS  --seed=N
+    public static void main(String[] args) {
+        WorkloadConfig config = new WorkloadConfig();
+        List<WorkloadStructure> structures = new ArrayList<>();
+        for (String arg : args) {
+            String name = arg;
+            String value = null;
+            int equals = arg.indexOf('=');
+            if (equals >= 0) {
+                name = arg.substring(0, equals);
+                value = arg.substring(equals + 1);
+            }
+            switch (name) {
+                case "--structure":
+                    for (String structure : value.split(",")) {
+                        if (structure.equalsIgnoreCase("ALL")) {
+                            structures.addAll(List.of(WorkloadStructure.values()));
+                        } else {
+                            structures.add(WorkloadStructure.valueOf(structure.toUpperCase()));
+                        }
+                    }
+                    break;
+                case "--threads":
+                    config.setThreads(Integer.parseInt(value));
+                    break;
+                case "--virtual":
+                    config.setVirtualThreads(value == null || Boolean.parseBoolean(value));
+                    break;
+                case "--read-ratio":
+                    config.setReadRatio(Double.parseDouble(value));
+                    break;
+                case "--keys":
+                    config.setKeyPattern(KeyPattern.valueOf(value.toUpperCase()));
+                    break;
+                case "--zipf":
+                    config.setZipfExponent(Double.parseDouble(value));
+                    break;
+                case "--key-range":
+                    config.setKeyRange(Integer.parseInt(value));
+                    break;
+                case "--prefill":
+                    config.setPrefill(Integer.parseInt(value));
+                    break;
+                case "--warmup":
+                    config.setWarmupMillis(Long.parseLong(value));
+                    break;
+                case "--duration":
+                    config.setDurationMillis(Long.parseLong(value));
+                    break;
+                case "--seed":
+                    config.setSeed(Long.parseLong(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (structures.isEmpty()) {
+            structures.add(WorkloadStructure.SORTED_ARRAY);
+        }
+        for (WorkloadStructure structure : structures) {
+            System.out.print(run(structure, config).format());
+        }
+    }
+}
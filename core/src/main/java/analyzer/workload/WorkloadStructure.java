@@ -0,0 +1,105 @@
+package analyzer.workload;
+
+import java.util.Arrays;
+
+import analyzer.BST;
+import analyzer.BST.Balance;
+import analyzer.ConcurrentSkipList;
+import analyzer.ConcurrentSortedArray;
+import analyzer.ConcurrentSortedLinkedList;
+import analyzer.SearchableCollection;
+import analyzer.SortedArray;
+import analyzer.SortedLinkedList;
+import analyzer.UnsortedArray;
+import analyzer.UnsortedLinkedList;
+
+// The structures a workload can run against. The sorted structures are used in sorted-insert
+// mode, since reads and writes interleave and there is no point at which to call sort().
+// The single-threaded structures are marked as needing a lock: even their searches write the
+// comparison counter, so the runner serializes every operation on them
+public enum WorkloadStructure {
+    UNSORTED_ARRAY(false),
+    UNSORTED_LINKED_LIST(false),
+    SORTED_ARRAY(false),
+    SORTED_LINKED_LIST(false),
+    BST(false),
+    BST_AVL(false),
+    BST_RED_BLACK(false),
+    CONCURRENT_SORTED_ARRAY(true),
+    CONCURRENT_SORTED_LINKED_LIST(true),
+    CONCURRENT_SKIP_LIST(true);
+
+    private final boolean threadSafe;  // Whether the structure may be used without an external lock
+
+    WorkloadStructure(boolean threadSafe) {
+        this.threadSafe = threadSafe;
+    }
+
+    // Whether the structure can be shared between threads without a lock
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
+
+    // Create the structure holding the given keys, inserted in whatever order is cheapest for it
+    public SearchableCollection<Integer> build(int[] keys) {
+        Integer[] boxed = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            boxed[i] = keys[i];
+        }
+        switch (this) {
+            case UNSORTED_ARRAY: {
+                UnsortedArray<Integer> array = new UnsortedArray<>(Math.max(16, keys.length));
+                array.addAll(boxed);
+                return array;
+            }
+            case UNSORTED_LINKED_LIST: {
+                UnsortedLinkedList<Integer> list = new UnsortedLinkedList<>();
+                for (Integer key : boxed) {
+                    list.add(key);
+                }
+                return list;
+            }
+            case SORTED_ARRAY: {
+                SortedArray<Integer> array = new SortedArray<>(Math.max(16, keys.length));
+                array.setSortedInsert(true);
+                array.addAll(boxed);  // Sorted once and merged in
+                return array;
+            }
+            case SORTED_LINKED_LIST: {
+                SortedLinkedList<Integer> list = new SortedLinkedList<>();
+                list.setSortedInsert(true);
+                list.addAll(boxed);
+                return list;
+            }
+            case CONCURRENT_SORTED_ARRAY: {
+                ConcurrentSortedArray<Integer> array = new ConcurrentSortedArray<>(Math.max(16, keys.length));
+                array.addAll(boxed);
+                return array;
+            }
+            case CONCURRENT_SORTED_LINKED_LIST: {
+                // Largest first: each insert then lands at the front instead of walking the list
+                ConcurrentSortedLinkedList<Integer> list = new ConcurrentSortedLinkedList<>();
+                Arrays.sort(boxed);
+                for (int i = boxed.length - 1; i >= 0; i--) {
+                    list.add(boxed[i]);
+                }
+                return list;
+            }
+            case CONCURRENT_SKIP_LIST: {
+                ConcurrentSkipList<Integer> skipList = new ConcurrentSkipList<>();
+                for (Integer key : boxed) {
+                    skipList.add(key);
+                }
+                return skipList;
+            }
+            default: {
+                BST<Integer> tree = new BST<>(this == BST_AVL ? Balance.AVL
+                        : this == BST_RED_BLACK ? Balance.RED_BLACK : Balance.NONE);
+                for (Integer key : boxed) {
+                    tree.add(key);
+                }
+                return tree;
+            }
+        }
+    }
+}
@@ -0,0 +1,409 @@
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.paint.Color;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import analyzer.BST;
+import analyzer.ImplicitBST;
+import analyzer.Metrics;
+import analyzer.SearchResult;
+import analyzer.SearchStrategy;
+import analyzer.SortedArray;
+import analyzer.SortedLinkedList;
+import analyzer.UnsortedArray;
+import analyzer.UnsortedLinkedList;
+import analyzer.generator.Distribution;
+import analyzer.generator.KeyGenerator;
+import analyzer.gui.TextRenderer;
+import analyzer.gui.TreeRenderer;
+import analyzer.ingest.IngestPipeline;
+import analyzer.ingest.IngestResult;
+import analyzer.ingest.KeySink;
+import analyzer.workload.KeyPattern;
+import analyzer.workload.WorkloadConfig;
+import analyzer.workload.WorkloadRunner;
+import analyzer.workload.WorkloadStructure;
+
+public class Main extends Application {
+    private static final int STRATEGY_REPEATS = 10000;  // Lookups timed per search strategy in the performance analysis
+    private static final long WORKLOAD_MILLIS = 1000;  // Recorded time per structure for the concurrent workload
+    private static final int GENERATED_KEYS = 512;  // Keys added by "Generate Unsorted Data"
+    private static final int GENERATED_RANGE = 1000;  // Generated keys fall in [0, GENERATED_RANGE)
+
+    // Data structures for different types of lists and a binary search tree (BST)
+    private UnsortedArray<Integer> unsortedArray = new UnsortedArray<>(512);
+    private UnsortedLinkedList<Integer> unsortedLinkedList = new UnsortedLinkedList<>();
+    private SortedArray<Integer> sortedArray = new SortedArray<>(512);
+    private SortedLinkedList<Integer> sortedLinkedList = new SortedLinkedList<>();
+    private BST<Integer> bst = new BST<>();
+    // Self-balancing trees built from the same values, shown next to the plain BST
+    private BST<Integer> avlTree = new BST<>(BST.Balance.AVL);
+    private BST<Integer> redBlackTree = new BST<>(BST.Balance.RED_BLACK);
+
+    // Canvas and GraphicsContext for drawing the BST structure visually
+    private Canvas bstCanvas = new Canvas(800, 600);
+    private GraphicsContext gc = bstCanvas.getGraphicsContext2D();
+
+    public static void main(String[] args) {
+        launch(args);  // Launch the JavaFX application
+    }
+
+    @Override
+    public void start(Stage primaryStage) {
+        Random random = new Random();  // Picks a fresh generator seed for every click
+
+        // Create buttons with styled appearance and drop shadow effect
+        Button generateUnsortedButton = createStyledButton("Generate Unsorted Data");
+        Button generateSortedButton = createStyledButton("Generate Sorted Data");
+        Button loadFileButton = createStyledButton("Load Key File");
+        Button buildBSTButton = createStyledButton("Build and Display BST");
+        Button searchButton = createStyledButton("Search");
+        Button performanceButton = createStyledButton("Performance Analysis");
+        Button workloadButton = createStyledButton("Run Concurrent Workload");
+
+        // Exit button to close the application
+        Button exitButton = new Button("Exit");
+        exitButton.setStyle("-fx-font-family: 'Arial'; -fx-font-size: 14px; -fx-background-color: #ff6f61; -fx-text-fill: white;");
+        exitButton.setPrefWidth(200);  // Set preferred width and height
+        exitButton.setPrefHeight(40);
+        exitButton.setOnAction(event -> primaryStage.close());  // Close the application when clicked
+
+        // TextArea for displaying output messages and results
+        TextArea outputArea = new TextArea();
+        outputArea.setPrefWidth(600);
+        outputArea.setPrefHeight(200);
+        outputArea.setEditable(false);  // Make it read-only
+        outputArea.setWrapText(true);  // Enable text wrapping
+        outputArea.setStyle("-fx-font-family: 'Arial'; -fx-font-size: 14px;");
+
+        // Choice of key distribution for the generated data
+        ComboBox<Distribution> distributionBox = new ComboBox<>();
+        distributionBox.getItems().addAll(Distribution.values());
+        distributionBox.setValue(Distribution.UNIFORM);
+        distributionBox.setPrefWidth(200);
+        distributionBox.setStyle("-fx-font-family: 'Arial'; -fx-font-size: 14px;");
+
+        // TextField for taking search input
+        TextField searchField = new TextField();
+        searchField.setPromptText("Enter value to search (or several, separated by commas)...");
+        searchField.setStyle("-fx-font-family: 'Arial'; -fx-font-size: 14px;");
+
+        // Set up layout for the data generation buttons
+        VBox dataGenerationLayout = new VBox(10, distributionBox, generateUnsortedButton, generateSortedButton, loadFileButton, buildBSTButton, searchButton, performanceButton, workloadButton, exitButton);
+        dataGenerationLayout.setAlignment(Pos.CENTER);  // Center the buttons
+        dataGenerationLayout.setPadding(new Insets(10));
+
+        // ScrollPane to display the canvas with the BST drawing
+        ScrollPane scrollPane = new ScrollPane();
+        scrollPane.setContent(bstCanvas);  // Set the canvas content
+        scrollPane.setFitToWidth(true);
+        scrollPane.setPrefViewportWidth(800);  // Set the viewport width and height
+        scrollPane.setPrefViewportHeight(300);
+
+        // Button actions - what happens when each button is clicked
+        generateUnsortedButton.setOnAction(event -> {
+            outputArea.clear();  // Clear previous output
+            KeyGenerator generator = new KeyGenerator(distributionBox.getValue())
+                    .setKeyRange(GENERATED_RANGE)
+                    .setSeed(random.nextLong());
+            for (int value : generator.generate(GENERATED_KEYS)) {
+                unsortedArray.add(value);  // Add value to unsorted data structures
+                unsortedLinkedList.add(value);
+                sortedArray.add(value);  // Add value to sorted data structures
+                sortedLinkedList.add(value);
+            }
+            // Display the generated data structures in the output area
+            outputArea.appendText("Unsorted Array: \n");
+            TextRenderer.display(unsortedArray, outputArea);
+            outputArea.appendText("\nUnsorted Linked List: \n");
+            TextRenderer.display(unsortedLinkedList, outputArea);
+        });
+
+        // Generate sorted data and display in output area
+        generateSortedButton.setOnAction(event -> {
+            outputArea.clear();  // Clear previous output
+            sortedArray.sort();  // Sort the array
+            sortedLinkedList.sort();  // Sort the linked list
+            outputArea.appendText("Sorted Array: \n");
+            TextRenderer.display(sortedArray, outputArea);
+            outputArea.appendText("\nSorted Linked List: \n");
+            TextRenderer.display(sortedLinkedList, outputArea);
+        });
+
+        // Load keys from a text (CSV or one per line) or binary key file instead of generating them.
+        // The file is streamed into fresh structures on a background thread, and they replace the
+        // current ones once every key is in
+        loadFileButton.setOnAction(event -> {
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Load Key File");
+            File file = chooser.showOpenDialog(primaryStage);
+            if (file == null) return;
+            loadFileButton.setDisable(true);
+            outputArea.clear();
+            outputArea.appendText("Loading " + file.getName() + "...\n");
+            Thread loader = new Thread(() -> {
+                UnsortedArray<Integer> array = new UnsortedArray<>(512);
+                UnsortedLinkedList<Integer> list = new UnsortedLinkedList<>();
+                SortedArray<Integer> sorted = new SortedArray<>(512);
+                SortedLinkedList<Integer> sortedList = new SortedLinkedList<>();
+                String report;
+                boolean loaded = false;
+                try {
+                    IngestResult result = new IngestPipeline(file.toPath())
+                            .addTarget("Unsorted Array", KeySink.of(array))
+                            .addTarget("Unsorted Linked List", KeySink.of(list))
+                            .addTarget("Sorted Array", KeySink.of(sorted))
+                            .addTarget("Sorted Linked List", KeySink.of(sortedList))
+                            .run();
+                    report = result.format();
+                    loaded = true;
+                } catch (IOException | RuntimeException e) {
+                    report = "Could not load " + file.getName() + ": " + e.getMessage() + "\n";
+                }
+                String text = report;
+                boolean replace = loaded;
+                Platform.runLater(() -> {
+                    if (replace) {
+                        unsortedArray = array;
+                        unsortedLinkedList = list;
+                        sortedArray = sorted;
+                        sortedLinkedList = sortedList;
+                    }
+                    outputArea.appendText(text);
+                    loadFileButton.setDisable(false);
+                });
+            }, "key-file-loader");
+            loader.setDaemon(true);  // Do not keep the application alive after the window closes
+            loader.start();
+        });
+
+        // Build and display the Binary Search Tree (BST)
+        buildBSTButton.setOnAction(event -> {
+            outputArea.clear();
+            // Add first 20 elements from the unsorted array to the BST
+            for (int i = 0; i < 20; i++) {
+                Integer value = unsortedArray.get(i);
+                if (value != null) {
+                    bst.add(value);
+                    avlTree.add(value);
+                    redBlackTree.add(value);
+                }
+            }
+
+            // Calculate and display the height of the BST
+            int totalLayers = bst.calculateHeight(bst.getRoot());
+            outputArea.appendText("Total Visible Layers of the BST: " + totalLayers + "\n");
+            outputArea.appendText("Height of the same values in an AVL tree: " + avlTree.calculateHeight(avlTree.getRoot())
+                    + ", in a red-black tree: " + redBlackTree.calculateHeight(redBlackTree.getRoot()) + "\n");
+            if (sortedArray.isSorted() && sortedArray.size() > 0) {
+                // Build a balanced tree straight from the sorted array, without comparing keys
+                BST<Integer> balancedTree = new BST<>(BST.Balance.RED_BLACK);
+                balancedTree.buildFrom(sortedArray);
+                outputArea.appendText("Height of a tree built from all " + balancedTree.size() + " sorted values: "
+                        + balancedTree.calculateHeight(balancedTree.getRoot()) + "\n");
+            }
+
+            // If there are more layers, display a message
+            if (totalLayers > 0) {
+                outputArea.appendText("Remaining layers not printed to keep the Binary Search Tree visually intact");
+            }
+
+            // Draw the tree on the canvas
+            gc.clearRect(0, 0, bstCanvas.getWidth(), bstCanvas.getHeight());
+            TreeRenderer.draw(bst, gc);  // Draw the BST structure onto the canvas
+        });
+
+        // Search button action - performs search across all data structures
+        searchButton.setOnAction(event -> {
+            String searchText = searchField.getText().trim();  // Get the value from the search field
+            if (searchText.contains(",") || searchText.contains(" ")) {
+                searchBatch(searchText.split("[,\\s]+"), outputArea);  // Several keys: one batch search per structure
+            } else if (!searchText.isEmpty()) {
+                int searchValue = Integer.parseInt(searchText);
+                outputArea.clear();  // Clear previous output
+                outputArea.appendText("Searching for: " + searchValue + "\n");
+
+                // Perform search in all data structures and display results
+                outputArea.appendText("Unsorted Array:\n");
+                outputArea.appendText("Found: " + unsortedArray.search(searchValue) + "\n");
+
+                outputArea.appendText("Unsorted Linked List:\n");
+                outputArea.appendText("Found: " + unsortedLinkedList.search(searchValue) + "\n");
+
+                outputArea.appendText("Sorted Array:\n");
+                outputArea.appendText("Found: " + sortedArray.search(searchValue) + "\n");
+
+                outputArea.appendText("Sorted Linked List:\n");
+                outputArea.appendText("Found: " + sortedLinkedList.search(searchValue) + "\n");
+
+                outputArea.appendText("BST:\n");
+                outputArea.appendText("Found: " + bst.search(searchValue) + "\n");
+
+                outputArea.appendText("AVL Tree:\n");
+                outputArea.appendText("Found: " + avlTree.search(searchValue) + "\n");
+
+                outputArea.appendText("Red-Black Tree:\n");
+                outputArea.appendText("Found: " + redBlackTree.search(searchValue) + "\n");
+            }
+        });
+
+        // Performance analysis button action - displays number of comparisons for each data structure
+        performanceButton.setOnAction(event -> {
+            String searchText = searchField.getText();  // Get the value from the search field
+            if (!searchText.isEmpty()) {
+                outputArea.clear();  // Clear previous output
+                outputArea.appendText("Performance analysis: \n");
+
+                // Display performance (comparisons) for each data structure
+                outputArea.appendText("\nUnsorted Array:\n");
+                outputArea.appendText("Comparisons: " + unsortedArray.getComparisons() + "\n");
+
+                outputArea.appendText("\nUnsorted Linked List:\n");
+                outputArea.appendText("Comparisons: " + unsortedLinkedList.getComparisons() + "\n");
+
+                outputArea.appendText("\nSorted Array:\n");
+                outputArea.appendText("Comparisons: " + sortedArray.getComparisons() + "\n");
+
+                // Repeat the lookup with every search strategy to get comparisons and ns per lookup
+                int searchValue = Integer.parseInt(searchText);
+                SearchStrategy previous = sortedArray.getSearchStrategy();
+                for (SearchStrategy strategy : SearchStrategy.values()) {
+                    sortedArray.setSearchStrategy(strategy);
+                    sortedArray.search(searchValue);  // Builds the strategy's layout outside the timing
+                    long before = sortedArray.getMetrics().getComparisons(Metrics.Operation.SEARCH);
+                    long start = System.nanoTime();
+                    for (int i = 0; i < STRATEGY_REPEATS; i++) {
+                        sortedArray.search(searchValue);
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    outputArea.appendText(String.format("  %-13s %6.1f comparisons, %8.1f ns/lookup%n", strategy,
+                            (sortedArray.getMetrics().getComparisons(Metrics.Operation.SEARCH) - before)
+                                    / (double) STRATEGY_REPEATS,
+                            elapsed / (double) STRATEGY_REPEATS));
+                }
+                sortedArray.setSearchStrategy(previous);
+
+                // The same lookup through a hash index over the unsorted array, counted in probes.
+                // The index is dropped again and the linear search repeated, so the unsorted array
+                // keeps reporting its scan
+                unsortedArray.setHashIndexed(true);
+                unsortedArray.search(searchValue);
+                int probes = unsortedArray.getComparisons();
+                unsortedArray.setHashIndexed(false);
+                unsortedArray.search(searchValue);
+                outputArea.appendText(String.format("  %-13s %6d probes (hash index over the unsorted array)%n",
+                        "HASH", probes));
+
+                outputArea.appendText("\nSorted Linked List:\n");
+                outputArea.appendText("Comparisons: " + sortedLinkedList.getComparisons() + "\n");
+
+                outputArea.appendText("\nBST:\n");
+                outputArea.appendText("Comparisons: " + bst.getComparisons() + "\n");
+
+                outputArea.appendText("\nAVL Tree:\n");
+                outputArea.appendText("Comparisons: " + avlTree.getComparisons() + "\n");
+
+                outputArea.appendText("\nRed-Black Tree:\n");
+                outputArea.appendText("Comparisons: " + redBlackTree.getComparisons() + "\n");
+
+                // The same values as the BST, laid out in a flat array without node objects
+                ImplicitBST<Integer> implicitTree = ImplicitBST.from(bst);
+                implicitTree.search(searchValue);
+                outputArea.appendText("\nImplicit (array) BST:\n");
+                outputArea.appendText("Comparisons: " + implicitTree.getComparisons() + "\n");
+            }
+        });
+
+        // Workload button action - drives every structure with mixed concurrent traffic instead of a
+        // single search, on a background thread so the window stays responsive
+        workloadButton.setOnAction(event -> {
+            workloadButton.setDisable(true);
+            outputArea.clear();
+            WorkloadConfig config = new WorkloadConfig();
+            config.setKeyPattern(KeyPattern.ZIPFIAN);  // A few hot keys, like real request traffic
+            config.setKeyRange(1000);  // Same value range as the generated data
+            config.setPrefill(512);
+            config.setWarmupMillis(200);
+            config.setDurationMillis(WORKLOAD_MILLIS);
+            outputArea.appendText("Workload: " + config + "\n\n");
+            Thread runner = new Thread(() -> {
+                try {
+                    for (WorkloadStructure structure : WorkloadStructure.values()) {
+                        String report = WorkloadRunner.run(structure, config).format();
+                        Platform.runLater(() -> outputArea.appendText(report + "\n"));
+                    }
+                } catch (RuntimeException e) {
+                    String error = "Workload failed: " + e.getMessage() + "\n";
+                    Platform.runLater(() -> outputArea.appendText(error));
+                } finally {
+                    Platform.runLater(() -> workloadButton.setDisable(false));  // Usable again even after a failure
+                }
+            }, "workload-runner");
+            runner.setDaemon(true);  // Do not keep the application alive after the window closes
+            runner.start();
+        });
+
+        // Layout setup for the entire user interface
+        VBox layout = new VBox(20, dataGenerationLayout, searchField, outputArea, scrollPane);
+        layout.setPadding(new Insets(10));
+        layout.setAlignment(Pos.CENTER);
+
+        // Set up the scene and stage
+        Scene scene = new Scene(layout, 900, 700);
+        primaryStage.setTitle("CS401 Project GUI");  // Set window title
+        primaryStage.setScene(scene);
+        primaryStage.show();  // Display the stage
+    }
+
+    // Search every structure for a batch of keys at once with searchAll, and show how many were
+    // found and what the whole batch cost in comparisons
+    private void searchBatch(String[] tokens, TextArea outputArea) {
+        Integer[] keys = new Integer[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            keys[i] = Integer.parseInt(tokens[i]);
+        }
+        outputArea.clear();
+        outputArea.appendText("Batch search for " + keys.length + " keys\n");
+        appendBatchResult("Unsorted Array", unsortedArray.searchAll(keys), outputArea);
+        appendBatchResult("Unsorted Linked List", unsortedLinkedList.searchAll(keys), outputArea);
+        appendBatchResult("Sorted Array", sortedArray.searchAll(keys), outputArea);
+        appendBatchResult("Sorted Linked List", sortedLinkedList.searchAll(keys), outputArea);
+        appendBatchResult("BST", bst.searchAll(keys), outputArea);
+        appendBatchResult("AVL Tree", avlTree.searchAll(keys), outputArea);
+        appendBatchResult("Red-Black Tree", redBlackTree.searchAll(keys), outputArea);
+    }
+
+    private void appendBatchResult(String name, SearchResult result, TextArea outputArea) {
+        outputArea.appendText(name + ":\n");
+        outputArea.appendText("Found: " + result.getFoundCount() + " of " + result.size()
+                + ", comparisons: " + result.getTotalComparisons() + "\n");
+    }
+
+    // Helper method to create buttons with styled appearance and shadow effect
+    private Button createStyledButton(String text) {
+        Button button = new Button(text);
+        button.setStyle("-fx-font-family: 'Arial'; -fx-font-size: 14px; -fx-background-color: #b1eef9; -fx-text-fill: black;");
+        button.setPrefWidth(200);
+        button.setPrefHeight(40);
+        DropShadow shadow = new DropShadow();  // Drop shadow effect for button
+        shadow.setRadius(5);
+        shadow.setOffsetX(2);
+        shadow.setOffsetY(2);
+        button.setEffect(shadow);
+        button.setOnMouseEntered(event -> button.setStyle("-fx-font-family: 'Arial'; -fx-font-size: 14px; -fx-background-color: #1e90ff; -fx-text-fill: white;"));
+        button.setOnMouseExited(event -> button.setStyle("-fx-font-family: 'Arial'; -fx-font-size: 14px; -fx-background-color: #b1eef9; -fx-text-fill: black;"));
+        return button;
+    }
+}
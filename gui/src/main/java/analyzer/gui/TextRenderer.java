@@ -0,0 +1,77 @@
+package analyzer.gui;
+
+import analyzer.BST;
+import analyzer.LLNode;
+import analyzer.SortedArray;
+import analyzer.UnsortedArray;
+import analyzer.UnsortedLinkedList;
+import javafx.scene.control.TextArea;
+
+// Renders the contents of the data structures as text in a TextArea
+public final class TextRenderer {
+    private static final int VALUES_PER_LINE = 20;  // Number of values printed before a line break
+
+    private TextRenderer() {
+    }
+
+    // Display the elements of an unsorted array in a TextArea
+    public static <T extends Comparable<T>> void display(UnsortedArray<T> array, TextArea outputArea) {
+        // Iterate through the array and append each element to the output area
+        for (int i = 0; i < array.size(); i++) {
+            appendValue(outputArea, array.get(i), i + 1);
+        }
+        // Append a final newline after displaying all elements
+        outputArea.appendText("\n");
+    }
+
+    // Display the elements of a sorted array in a TextArea
+    public static <T extends Comparable<T>> void display(SortedArray<T> array, TextArea outputArea) {
+        // Iterate through the array and append each element to the output area
+        for (int i = 0; i < array.size(); i++) {
+            appendValue(outputArea, array.get(i), i + 1);
+        }
+        outputArea.appendText("\n");  // Add a final line break after the full array is displayed
+    }
+
+    // Display the elements of a linked list (sorted or unsorted) in a TextArea
+    public static <T extends Comparable<T>> void display(UnsortedLinkedList<T> list, TextArea outputArea) {
+        LLNode<T> current = list.getHead(); // Start from the head of the list
+        int count = 0; // Counter to keep track of the number of elements displayed
+
+        // Traverse the list and display each element
+        while (current != null) {
+            appendValue(outputArea, current.getData(), ++count);
+            current = current.getNext(); // Move to the next node
+        }
+        outputArea.appendText("\n"); // Append a final newline after displaying all elements
+    }
+
+    // Display the tree structure in a TextArea (or in a simple string format)
+    public static <T extends Comparable<T>> void display(BST<T> tree, TextArea outputArea) {
+        StringBuilder sb = new StringBuilder();  // StringBuilder for building the tree representation
+        displayRecursive(tree.getRoot(), sb, "", "");  // Start the recursive display operation
+        outputArea.appendText(sb.toString());  // Output the tree representation to the TextArea
+    }
+
+    // Append one value, adding a newline after every VALUES_PER_LINE values for better readability
+    private static void appendValue(TextArea outputArea, Object value, int count) {
+        outputArea.appendText(value + " ");
+        if (count % VALUES_PER_LINE == 0) {
+            outputArea.appendText("\n");
+        }
+    }
+
+    // Recursive helper method to generate a string representation of the tree
+    private static <T extends Comparable<T>> void displayRecursive(BST<T>.Node node, StringBuilder sb, String prefix, String childrenPrefix) {
+        if (node != null) {
+            sb.append(prefix);  // Append the prefix for the current level
+            sb.append(node.getValue());  // Append the value of the current node
+            sb.append("\n");  // Add a newline for the next node
+
+            // Recurse for the left child with updated prefixes for proper tree formatting
+            displayRecursive(node.getLeft(), sb, childrenPrefix + "├── ", childrenPrefix + "│   ");
+            // Recurse for the right child with updated prefixes for proper tree formatting
+            displayRecursive(node.getRight(), sb, childrenPrefix + "└── ", childrenPrefix + "    ");
+        }
+    }
+}
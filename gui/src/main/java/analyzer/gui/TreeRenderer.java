@@ -0,0 +1,53 @@
+package analyzer.gui;
+
+import analyzer.BST;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+// Draws a BST onto a Canvas through its GraphicsContext
+public final class TreeRenderer {
+    private TreeRenderer() {
+    }
+
+    // Method to draw the BST on the GraphicsContext (from Canvas)
+    public static <T extends Comparable<T>> void draw(BST<T> tree, GraphicsContext gc) {
+        // Calculate the tree's maximum width and height to determine canvas size
+        int maxWidth = tree.calculateMaxWidth(tree.getRoot());
+        int height = tree.calculateHeight(tree.getRoot());
+
+        // Dynamically adjust the canvas size based on the tree's dimensions
+        gc.getCanvas().setWidth(maxWidth * 200);  // Adjust width multiplier for spacing between nodes
+        gc.getCanvas().setHeight(height * 200);  // Adjust height multiplier to allow space for depth
+
+        // Start drawing the tree, starting from the root node
+        drawRecursive(gc, tree.getRoot(), gc.getCanvas().getWidth() / 2, 100, 500 , height);
+    }
+
+    // Recursively draw the tree on the canvas using GraphicsContext
+    private static <T extends Comparable<T>> void drawRecursive(GraphicsContext gc, BST<T>.Node node, double x, double y, double offset, int height) {
+        if (node == null) {
+            return;  // If the node is null, there's nothing to draw
+        }
+
+        // Draw the current node as an oval with its value inside (red nodes of a red-black tree in red)
+        gc.setStroke(node.isRed() ? Color.RED : Color.BLACK);
+        gc.strokeOval(x - 20, y - 20, 40, 40);  // Draw oval with center at (x, y)
+        gc.strokeText(node.getValue().toString(), x - 10, y + 5);  // Draw node's value inside the oval
+        gc.setStroke(Color.BLACK);  // Edges are always drawn in black
+
+        // Decrease the offset for the next level of the tree
+        double newOffset = offset / 2;
+
+        // Check if there is a left child and draw the left subtree recursively
+        if (node.getLeft() != null) {
+            gc.strokeLine(x, y, x - newOffset, y + 60);  // Draw a line to the left child
+            drawRecursive(gc, node.getLeft(), x - newOffset, y + 60, newOffset, height + 1);  // Recursively draw left subtree
+        }
+
+        // Check if there is a right child and draw the right subtree recursively
+        if (node.getRight() != null) {
+            gc.strokeLine(x, y, x + newOffset, y + 60);  // Draw a line to the right child
+            drawRecursive(gc, node.getRight(), x + newOffset, y + 60, newOffset, height + 1);  // Recursively draw right subtree
+        }
+    }
+}